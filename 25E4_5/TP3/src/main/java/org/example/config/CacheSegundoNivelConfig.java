@@ -0,0 +1,48 @@
+package org.example.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Perfil "cache": registra periodicamente os acertos e faltas do cache de segundo nível
+ * (região "produtos") e do cache de consultas, a partir das estatísticas do Hibernate.
+ */
+@Configuration(proxyBeanMethods = false)
+@Profile("cache")
+@EnableScheduling
+public class CacheSegundoNivelConfig {
+
+    public static final String REGIAO_PRODUTOS = "produtos";
+
+    private static final Logger log = LoggerFactory.getLogger(CacheSegundoNivelConfig.class);
+
+    private final Statistics estatisticas;
+
+    public CacheSegundoNivelConfig(EntityManagerFactory entityManagerFactory) {
+        this.estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Scheduled(fixedDelayString = "${catalogo.cache.estatisticas.intervalo-ms:60000}",
+            initialDelayString = "${catalogo.cache.estatisticas.intervalo-ms:60000}")
+    public void registrarEstatisticas() {
+        CacheRegionStatistics produtos = estatisticas.getDomainDataRegionStatistics(REGIAO_PRODUTOS);
+        log.info("Cache L2 produtos: {} acertos, {} faltas ({}) | consultas: {} acertos, {} faltas ({})",
+                produtos.getHitCount(), produtos.getMissCount(),
+                percentual(produtos.getHitCount(), produtos.getMissCount()),
+                estatisticas.getQueryCacheHitCount(), estatisticas.getQueryCacheMissCount(),
+                percentual(estatisticas.getQueryCacheHitCount(), estatisticas.getQueryCacheMissCount()));
+    }
+
+    static String percentual(long acertos, long faltas) {
+        long total = acertos + faltas;
+        return (total == 0) ? "-" : String.format("%.1f%%", 100.0 * acertos / total);
+    }
+}
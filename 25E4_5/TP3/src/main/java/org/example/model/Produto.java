@@ -2,11 +2,19 @@ package org.example.model;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
+/**
+ * Com o perfil "cache", as instâncias ficam no cache de segundo nível (região "produtos");
+ * sem ele, as anotações de cache não têm efeito.
+ */
 @Entity
 @Table(name = "produtos")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "produtos")
 public class Produto {
 
     @Id
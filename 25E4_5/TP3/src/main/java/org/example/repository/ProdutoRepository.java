@@ -1,8 +1,11 @@
 package org.example.repository;
 
+import jakarta.persistence.QueryHint;
 import org.example.model.Produto;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -12,6 +15,13 @@ import java.util.List;
 @Repository
 public interface ProdutoRepository extends JpaRepository<Produto, Long> {
 
+    // Listagem e busca por nome vão para o cache de consultas quando o perfil "cache" o habilita;
+    // qualquer gravação em produtos invalida esses resultados.
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Produto> findAll();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Produto> findByNomeContainingIgnoreCase(String nome);
 
     List<Produto> findByPrecoBetween(BigDecimal min, BigDecimal max);
@@ -0,0 +1,148 @@
+package org.example.benchmark;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.example.Main;
+import org.example.model.Produto;
+import org.example.repository.ProdutoRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compara a aplicação com e sem o perfil "cache" sob a mesma carga HTTP, no estilo do
+ * {@code ProdutoCrudIntegrationTest}: 70% detalhe, 15% busca por nome, 10% listagem e
+ * 5% edição, sobre um catálogo de {@value #TAMANHO_CATALOGO} produtos.
+ * Fica fora do {@code mvn test} (o nome não termina em "Test"); para rodar:
+ * {@code mvn test -Dtest=CacheSegundoNivelBenchmark}.
+ */
+@DisplayName("Benchmark — cache de segundo nível")
+class CacheSegundoNivelBenchmark {
+
+    private static final int TAMANHO_CATALOGO = 200;
+    private static final int AQUECIMENTO = 1_000;
+    private static final int REQUISICOES = 5_000;
+    private static final String[] TERMOS = {"teclado", "mouse", "monitor", "cabo", "webcam"};
+    private static final String[] NOMES = {"Teclado", "Mouse", "Monitor", "Cabo HDMI", "Webcam"};
+
+    private final HttpClient http = HttpClient.newHttpClient();
+
+    @Test
+    @DisplayName("Mesma carga com e sem o perfil cache")
+    void compararPerfis() throws Exception {
+        Resultado semCache = executar(false);
+        Resultado comCache = executar(true);
+
+        System.out.println(semCache.formatar("sem cache"));
+        System.out.println(comCache.formatar("com cache"));
+
+        assertThat(comCache.consultasPorRequisicao()).isLessThan(semCache.consultasPorRequisicao());
+    }
+
+    private Resultado executar(boolean perfilCache) throws Exception {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(Main.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:bench" + perfilCache + ";DB_CLOSE_DELAY=-1",
+                        "spring.h2.console.enabled=false",
+                        "spring.jpa.properties.hibernate.generate_statistics=true",
+                        "logging.level.root=WARN",
+                        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN");
+        if (perfilCache) {
+            builder.profiles("cache");
+        }
+        try (ConfigurableApplicationContext contexto = builder.run()) {
+            ProdutoRepository repository = contexto.getBean(ProdutoRepository.class);
+            repository.saveAll(IntStream.rangeClosed(1, TAMANHO_CATALOGO).mapToObj(this::produto).toList());
+            long menorId = repository.findAll().stream().mapToLong(Produto::getId).min().orElseThrow();
+
+            String base = "http://localhost:" + ((WebServerApplicationContext) contexto).getWebServer().getPort();
+            Statistics estatisticas = contexto.getBean(EntityManagerFactory.class)
+                    .unwrap(SessionFactory.class).getStatistics();
+
+            Random aleatorio = new Random(42);
+            for (int i = 0; i < AQUECIMENTO; i++) {
+                requisitar(base, menorId, aleatorio);
+            }
+            estatisticas.clear();
+
+            long inicio = System.nanoTime();
+            for (int i = 0; i < REQUISICOES; i++) {
+                requisitar(base, menorId, aleatorio);
+            }
+            long decorrido = System.nanoTime() - inicio;
+
+            return new Resultado(
+                    REQUISICOES * 1_000_000_000.0 / decorrido,
+                    (double) estatisticas.getPrepareStatementCount() / REQUISICOES,
+                    estatisticas.getSecondLevelCacheHitCount(),
+                    estatisticas.getSecondLevelCacheMissCount(),
+                    estatisticas.getQueryCacheHitCount(),
+                    estatisticas.getQueryCacheMissCount());
+        }
+    }
+
+    private void requisitar(String base, long menorId, Random aleatorio) throws Exception {
+        long id = menorId + aleatorio.nextInt(TAMANHO_CATALOGO);
+        int sorteio = aleatorio.nextInt(100);
+        HttpRequest requisicao;
+        if (sorteio < 70) {
+            requisicao = HttpRequest.newBuilder(URI.create(base + "/produtos/" + id)).build();
+        } else if (sorteio < 85) {
+            String termo = TERMOS[aleatorio.nextInt(TERMOS.length)];
+            requisicao = HttpRequest.newBuilder(URI.create(base + "/produtos?busca=" + termo)).build();
+        } else if (sorteio < 95) {
+            requisicao = HttpRequest.newBuilder(URI.create(base + "/produtos")).build();
+        } else {
+            String formulario = "nome=" + codificar("Produto editado " + id)
+                    + "&descricao=" + codificar("Editado no benchmark")
+                    + "&preco=" + (10 + aleatorio.nextInt(990)) + ".00"
+                    + "&estoque=" + aleatorio.nextInt(1000);
+            requisicao = HttpRequest.newBuilder(URI.create(base + "/produtos/" + id + "/editar"))
+                    .header("Content-Type", "application/x-www-form-urlencoded")
+                    .POST(HttpRequest.BodyPublishers.ofString(formulario))
+                    .build();
+        }
+        HttpResponse<Void> resposta = http.send(requisicao, HttpResponse.BodyHandlers.discarding());
+        assertThat(resposta.statusCode()).isLessThan(400);
+    }
+
+    private Produto produto(int i) {
+        String nome = NOMES[i % NOMES.length] + " " + i;
+        return new Produto(nome, "Produto sintético " + i, BigDecimal.valueOf(1000 + i, 2), i % 500);
+    }
+
+    private static String codificar(String valor) {
+        return URLEncoder.encode(valor, StandardCharsets.UTF_8);
+    }
+
+    private record Resultado(double requisicoesPorSegundo, double consultasPorRequisicao,
+                             long acertosL2, long faltasL2, long acertosConsultas, long faltasConsultas) {
+
+        String formatar(String rotulo) {
+            return String.format("%-10s %8.0f req/s | %5.2f comandos SQL/req | L2 %s | consultas %s",
+                    rotulo, requisicoesPorSegundo, consultasPorRequisicao,
+                    taxa(acertosL2, faltasL2), taxa(acertosConsultas, faltasConsultas));
+        }
+
+        private static String taxa(long acertos, long faltas) {
+            long total = acertos + faltas;
+            return (total == 0) ? "-" : String.format("%d/%d (%.1f%%)", acertos, total, 100.0 * acertos / total);
+        }
+    }
+}
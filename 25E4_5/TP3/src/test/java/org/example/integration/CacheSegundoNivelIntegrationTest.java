@@ -0,0 +1,127 @@
+package org.example.integration;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.example.config.CacheSegundoNivelConfig;
+import org.example.model.Produto;
+import org.example.repository.ProdutoRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Perfil "cache": leituras repetidas saem do cache de segundo nível e do cache de consultas,
+ * e gravações pelo formulário nunca deixam a tela mostrar dado antigo.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("cache")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@DisplayName("Cache de segundo nível — Integração")
+class CacheSegundoNivelIntegrationTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ProdutoRepository repository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CacheSegundoNivelConfig cacheConfig;
+
+    private Statistics estatisticas;
+
+    @BeforeEach
+    void setUp() {
+        estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    @DisplayName("Depois da primeira leitura, o detalhe do produto é servido pelo cache de segundo nível")
+    void detalheRepetido_acertaCacheL2() throws Exception {
+        Produto produto = repository.save(new Produto("Notebook", "Alta performance", new BigDecimal("3500.00"), 5));
+        mvc.perform(get("/produtos/{id}", produto.getId())).andExpect(status().isOk());
+        estatisticas.clear();
+
+        for (int i = 0; i < 5; i++) {
+            mvc.perform(get("/produtos/{id}", produto.getId())).andExpect(status().isOk());
+        }
+
+        assertThat(regiaoProdutos().getHitCount()).isEqualTo(5);
+        assertThat(regiaoProdutos().getMissCount()).isZero();
+        assertThat(estatisticas.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Listagem e busca repetidas saem do cache de consultas até a próxima gravação")
+    void consultasRepetidas_acertamAteGravacao() throws Exception {
+        repository.save(new Produto("Mouse Gamer", null, new BigDecimal("150.00"), 3));
+        repository.save(new Produto("Teclado", null, new BigDecimal("200.00"), 2));
+        estatisticas.clear();
+
+        mvc.perform(get("/produtos")).andExpect(status().isOk());
+        mvc.perform(get("/produtos")).andExpect(status().isOk());
+        mvc.perform(get("/produtos").param("busca", "mouse")).andExpect(status().isOk());
+        mvc.perform(get("/produtos").param("busca", "mouse")).andExpect(status().isOk());
+
+        assertThat(estatisticas.getQueryCacheMissCount()).isEqualTo(2);
+        assertThat(estatisticas.getQueryCacheHitCount()).isEqualTo(2);
+
+        mvc.perform(post("/produtos/novo")
+                        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                        .param("nome", "Mouse Sem Fio").param("preco", "99.90").param("estoque", "1"))
+                .andExpect(status().is3xxRedirection());
+
+        mvc.perform(get("/produtos").param("busca", "mouse"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("Mouse Sem Fio")));
+        assertThat(estatisticas.getQueryCacheMissCount()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Edição pelo formulário atualiza o cache: detalhe e listagem mostram o valor novo")
+    void edicao_semDadoAntigo() throws Exception {
+        Produto produto = repository.save(new Produto("Monitor", null, new BigDecimal("900.00"), 4));
+        mvc.perform(get("/produtos/{id}", produto.getId())).andExpect(status().isOk());
+        mvc.perform(get("/produtos")).andExpect(status().isOk());
+
+        mvc.perform(post("/produtos/{id}/editar", produto.getId())
+                        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                        .param("nome", "Monitor UltraWide").param("preco", "1200.00").param("estoque", "4"))
+                .andExpect(status().is3xxRedirection());
+
+        mvc.perform(get("/produtos/{id}", produto.getId()))
+                .andExpect(content().string(containsString("Monitor UltraWide")));
+        mvc.perform(get("/produtos"))
+                .andExpect(content().string(containsString("Monitor UltraWide")))
+                .andExpect(content().string(not(containsString(">Monitor<"))));
+
+        cacheConfig.registrarEstatisticas();
+    }
+
+    private CacheRegionStatistics regiaoProdutos() {
+        return estatisticas.getDomainDataRegionStatistics(CacheSegundoNivelConfig.REGIAO_PRODUTOS);
+    }
+}
@@ -0,0 +1,75 @@
+package org.example.carga;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.random.RandomGenerator;
+
+/**
+ * Monta e envia a requisicao de cada {@link Operacao} contra o servidor embarcado.
+ * Ids sao sorteados no catalogo carregado antes da rodada; corpos sao descartados.
+ */
+final class ClienteCarga {
+
+    private static final Duration TEMPO_LIMITE = Duration.ofSeconds(30);
+    private static final String FORMULARIO = "application/x-www-form-urlencoded";
+
+    private final HttpClient http;
+    private final String baseUrl;
+    private final int tamanhoCatalogo;
+
+    ClienteCarga(String baseUrl, int tamanhoCatalogo) {
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        this.baseUrl = baseUrl;
+        this.tamanhoCatalogo = tamanhoCatalogo;
+    }
+
+    int enviar(Operacao operacao, RandomGenerator aleatorio) throws IOException, InterruptedException {
+        return http.send(montar(operacao, aleatorio).timeout(TEMPO_LIMITE).build(),
+                HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private HttpRequest.Builder montar(Operacao operacao, RandomGenerator aleatorio) {
+        long id = aleatorio.nextLong(1, tamanhoCatalogo + 1);
+        int sufixo = aleatorio.nextInt(1_000_000);
+        return switch (operacao) {
+            case MVC_LISTAGEM -> get("/produtos?pagina=" + aleatorio.nextInt(1, 6));
+            case MVC_DETALHE -> get("/produtos/" + id);
+            case MVC_CADASTRO -> formulario("/produtos/novo", "Carga MVC " + sufixo);
+            case MVC_EDICAO -> formulario("/produtos/" + id + "/editar", "Carga editado " + sufixo);
+            case API_PAGINA -> get("/api/produtos?limit=50&after=" + aleatorio.nextLong(tamanhoCatalogo));
+            case API_DETALHE -> get("/api/produtos/" + id);
+            case API_CADASTRO -> json("/api/produtos", "POST", """
+                    {"nome": "Carga API %d", "descricao": "Gerado pelo teste de carga", "preco": 19.90, "estoque": 3}
+                    """.formatted(sufixo));
+            case API_ESTOQUE -> json("/api/produtos/" + id + "/estoque", "PATCH", "{\"delta\": 1}");
+        };
+    }
+
+    private HttpRequest.Builder get(String caminho) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + caminho)).GET();
+    }
+
+    private HttpRequest.Builder formulario(String caminho, String nome) {
+        String corpo = "nome=" + URLEncoder.encode(nome, StandardCharsets.UTF_8)
+                + "&descricao=" + URLEncoder.encode("Gerado pelo teste de carga", StandardCharsets.UTF_8)
+                + "&preco=49.90&estoque=7";
+        return HttpRequest.newBuilder(URI.create(baseUrl + caminho))
+                .header("Content-Type", FORMULARIO)
+                .POST(HttpRequest.BodyPublishers.ofString(corpo));
+    }
+
+    private HttpRequest.Builder json(String caminho, String metodo, String corpo) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + caminho))
+                .header("Content-Type", "application/json")
+                .method(metodo, HttpRequest.BodyPublishers.ofString(corpo));
+    }
+}
@@ -0,0 +1,73 @@
+package org.example.carga;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Parametros de uma rodada, lidos das propriedades {@code carga.*} da JVM
+ * (no Gradle: {@code gradle testeCarga -Pcarga.duracao=2m -Pcarga.concorrencia=64}).
+ * Com {@code taxaAlvo} zero cada cliente dispara a proxima requisicao assim que a anterior
+ * volta (malha fechada); acima de zero as requisicoes seguem uma agenda fixa e a latencia
+ * conta a partir do horario agendado, incluindo o atraso quando o servidor nao acompanha.
+ */
+record ConfiguracaoCarga(Duration duracao,
+                         Duration aquecimento,
+                         int concorrencia,
+                         double taxaAlvo,
+                         double fracaoEscrita,
+                         double fracaoMvc,
+                         int tamanhoCatalogo,
+                         List<String> perfis,
+                         boolean admissao,
+                         double limiteTaxaErro,
+                         Duration limiteP99,
+                         double limiteVazaoMinima,
+                         Path relatorio) {
+
+    ConfiguracaoCarga {
+        exigir(!duracao.isNegative() && !duracao.isZero(), "carga.duracao deve ser positiva.");
+        exigir(!aquecimento.isNegative(), "carga.aquecimento nao pode ser negativo.");
+        exigir(concorrencia > 0, "carga.concorrencia deve ser maior que zero.");
+        exigir(taxaAlvo >= 0, "carga.taxa-alvo nao pode ser negativa.");
+        exigir(fracaoEscrita >= 0 && fracaoEscrita <= 1, "carga.fracao-escrita deve estar entre 0 e 1.");
+        exigir(fracaoMvc >= 0 && fracaoMvc <= 1, "carga.fracao-mvc deve estar entre 0 e 1.");
+        exigir(tamanhoCatalogo > 0, "carga.catalogo deve ser maior que zero.");
+        exigir(limiteTaxaErro >= 0 && limiteTaxaErro <= 1, "carga.limite.taxa-erro deve estar entre 0 e 1.");
+        perfis = List.copyOf(perfis);
+    }
+
+    static ConfiguracaoCarga de(Properties propriedades) {
+        return new ConfiguracaoCarga(
+                duracao(propriedades, "carga.duracao", "30s"),
+                duracao(propriedades, "carga.aquecimento", "10s"),
+                Integer.parseInt(propriedades.getProperty("carga.concorrencia", "32")),
+                Double.parseDouble(propriedades.getProperty("carga.taxa-alvo", "0")),
+                Double.parseDouble(propriedades.getProperty("carga.fracao-escrita", "0.2")),
+                Double.parseDouble(propriedades.getProperty("carga.fracao-mvc", "0.5")),
+                Integer.parseInt(propriedades.getProperty("carga.catalogo", "10000")),
+                Arrays.stream(propriedades.getProperty("carga.perfis", "").split(","))
+                        .map(String::trim)
+                        .filter(perfil -> !perfil.isEmpty())
+                        .toList(),
+                Boolean.parseBoolean(propriedades.getProperty("carga.admissao", "false")),
+                Double.parseDouble(propriedades.getProperty("carga.limite.taxa-erro", "0.01")),
+                duracao(propriedades, "carga.limite.p99", "1s"),
+                Double.parseDouble(propriedades.getProperty("carga.limite.vazao-minima", "0")),
+                Path.of(propriedades.getProperty("carga.relatorio", "build/reports/carga/resultado.json")));
+    }
+
+    private static Duration duracao(Properties propriedades, String chave, String padrao) {
+        return DurationStyle.detectAndParse(propriedades.getProperty(chave, padrao));
+    }
+
+    private static void exigir(boolean condicao, String mensagem) {
+        if (!condicao) {
+            throw new IllegalArgumentException(mensagem);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package org.example.carga;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.Main;
+import org.example.model.Produto;
+import org.example.service.importacao.ImportadorProdutos;
+import org.example.service.importacao.LinhaImportacao;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.IntStream;
+
+/**
+ * Teste de carga do TP4: sobe a aplicacao num Tomcat embarcado (porta aleatoria, H2 em
+ * memoria), carrega um catalogo sintetico e dispara {@code carga.concorrencia} clientes
+ * com o mix de {@link Operacao} durante o aquecimento e a janela medida. Imprime o
+ * {@link RelatorioCarga}, grava o JSON e sai com codigo 1 se algum limite for violado,
+ * para servir de gate de release. Ex.: {@code gradle testeCarga -Pcarga.duracao=1m}.
+ */
+public final class GeradorCarga {
+
+    private static final String[] NOMES = {"Teclado", "Mouse", "Monitor", "Cabo HDMI", "Headset", "Webcam"};
+
+    private GeradorCarga() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        ConfiguracaoCarga config = ConfiguracaoCarga.de(System.getProperties());
+        List<String> violacoes;
+        try (ConfigurableApplicationContext contexto = subirServidor(config)) {
+            contexto.getBean(ImportadorProdutos.class).importar(catalogoSintetico(config.tamanhoCatalogo()));
+            ClienteCarga cliente = new ClienteCarga(
+                    "http://localhost:" + contexto.getEnvironment().getProperty("local.server.port"),
+                    config.tamanhoCatalogo());
+
+            if (!config.aquecimento().isZero()) {
+                executar(config, cliente, config.aquecimento());
+            }
+            Medicoes medicoes = executar(config, cliente, config.duracao());
+
+            RelatorioCarga relatorio = RelatorioCarga.de(config, medicoes, config.duracao());
+            System.out.print(relatorio.formatar());
+            relatorio.gravar(contexto.getBean(ObjectMapper.class));
+            System.out.println("Relatorio: " + config.relatorio().toAbsolutePath());
+            violacoes = relatorio.violacoes();
+        }
+        if (!violacoes.isEmpty()) {
+            violacoes.forEach(v -> System.err.println("Limite violado: " + v));
+            System.exit(1);
+        }
+        System.exit(0);
+    }
+
+    // Argumentos de linha de comando, para valer sobre o application.properties.
+    private static ConfigurableApplicationContext subirServidor(ConfiguracaoCarga config) {
+        return new SpringApplicationBuilder(Main.class)
+                .profiles(config.perfis().toArray(String[]::new))
+                .run("--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:carga;DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.h2.console.enabled=false",
+                        "--catalogo.admissao.habilitada=" + config.admissao(),
+                        "--logging.level.root=WARN");
+    }
+
+    // Cada cliente roda em uma thread propria ate o prazo; as medicoes so sao somadas no fim.
+    private static Medicoes executar(ConfiguracaoCarga config, ClienteCarga cliente, Duration duracao)
+            throws Exception {
+        long inicio = System.nanoTime();
+        long prazo = inicio + duracao.toNanos();
+        long intervalo = (config.taxaAlvo() > 0)
+                ? (long) (config.concorrencia() * 1_000_000_000.0 / config.taxaAlvo())
+                : 0;
+        SplittableRandom semente = new SplittableRandom();
+        ExecutorService executor = Executors.newFixedThreadPool(config.concorrencia());
+        try {
+            List<Future<Medicoes>> clientes = new ArrayList<>();
+            for (int i = 0; i < config.concorrencia(); i++) {
+                SplittableRandom aleatorio = semente.split();
+                long primeiro = inicio + intervalo * i / config.concorrencia();
+                clientes.add(executor.submit(() -> rodarCliente(config, cliente, aleatorio, primeiro, intervalo, prazo)));
+            }
+            Medicoes total = new Medicoes();
+            for (Future<Medicoes> medicoes : clientes) {
+                total.somar(medicoes.get());
+            }
+            return total;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Medicoes rodarCliente(ConfiguracaoCarga config, ClienteCarga cliente, SplittableRandom aleatorio,
+                                         long primeiro, long intervalo, long prazo) throws InterruptedException {
+        Medicoes medicoes = new Medicoes();
+        long agendado = primeiro;
+        while (agendado < prazo) {
+            long agora = System.nanoTime();
+            if (agora >= prazo) {
+                break;
+            }
+            if (intervalo > 0 && agendado > agora) {
+                LockSupport.parkNanos(agendado - agora);
+            }
+            // Com taxa alvo a latencia conta do horario agendado, nao do envio real.
+            long inicio = (intervalo > 0) ? agendado : System.nanoTime();
+            Operacao operacao = Operacao.sortear(config, aleatorio);
+            try {
+                int status = cliente.enviar(operacao, aleatorio);
+                medicoes.registrar(operacao, status, System.nanoTime() - inicio);
+            } catch (IOException e) {
+                medicoes.registrarFalha(operacao, System.nanoTime() - inicio);
+            }
+            agendado = (intervalo > 0) ? agendado + intervalo : System.nanoTime();
+        }
+        return medicoes;
+    }
+
+    private static Iterator<LinhaImportacao> catalogoSintetico(int tamanho) {
+        return IntStream.rangeClosed(1, tamanho)
+                .mapToObj(i -> LinhaImportacao.valida(i, new Produto(
+                        NOMES[i % NOMES.length] + " " + i,
+                        "Produto sintético " + i,
+                        BigDecimal.valueOf(100 + (i % 100_000), 2),
+                        i % 1000)))
+                .iterator();
+    }
+}
@@ -0,0 +1,70 @@
+package org.example.carga;
+
+import org.HdrHistogram.Histogram;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Latencias e desfechos de um cliente de carga. Cada cliente tem a sua instancia (sem
+ * contencao no caminho medido) e as instancias sao somadas no fim da rodada.
+ * {@code 429} da admissao de escritas conta como recusa, nao como erro.
+ */
+final class Medicoes {
+
+    private static final int DIGITOS_SIGNIFICATIVOS = 3;
+
+    private final Map<Operacao, Histogram> latencias = new EnumMap<>(Operacao.class);
+    private final long[] sucessos = new long[Operacao.values().length];
+    private final long[] recusas = new long[Operacao.values().length];
+    private final long[] erros = new long[Operacao.values().length];
+
+    Medicoes() {
+        for (Operacao operacao : Operacao.values()) {
+            latencias.put(operacao, new Histogram(DIGITOS_SIGNIFICATIVOS));
+        }
+    }
+
+    void registrar(Operacao operacao, int status, long latenciaNanos) {
+        latencias.get(operacao).recordValue(latenciaNanos);
+        if (status == operacao.statusEsperado()) {
+            sucessos[operacao.ordinal()]++;
+        } else if (status == 429) {
+            recusas[operacao.ordinal()]++;
+        } else {
+            erros[operacao.ordinal()]++;
+        }
+    }
+
+    // Falha de rede ou tempo esgotado: sem status, mas a latencia ate a falha entra no histograma.
+    void registrarFalha(Operacao operacao, long latenciaNanos) {
+        latencias.get(operacao).recordValue(latenciaNanos);
+        erros[operacao.ordinal()]++;
+    }
+
+    void somar(Medicoes outra) {
+        for (Operacao operacao : Operacao.values()) {
+            int i = operacao.ordinal();
+            latencias.get(operacao).add(outra.latencias.get(operacao));
+            sucessos[i] += outra.sucessos[i];
+            recusas[i] += outra.recusas[i];
+            erros[i] += outra.erros[i];
+        }
+    }
+
+    Histogram latencias(Operacao operacao) {
+        return latencias.get(operacao);
+    }
+
+    long sucessos(Operacao operacao) {
+        return sucessos[operacao.ordinal()];
+    }
+
+    long recusas(Operacao operacao) {
+        return recusas[operacao.ordinal()];
+    }
+
+    long erros(Operacao operacao) {
+        return erros[operacao.ordinal()];
+    }
+}
@@ -0,0 +1,61 @@
+package org.example.carga;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * Requisicoes do mix, as mesmas que {@code SistemasIntegradosConsistencyTest} e
+ * {@code ProdutoCrudIntegrationTest} exercitam: telas e formularios em {@code /produtos}
+ * e JSON em {@code /api/produtos}. Cada uma sabe o status que conta como sucesso.
+ */
+enum Operacao {
+
+    MVC_LISTAGEM(true, false, 200),
+    MVC_DETALHE(true, false, 200),
+    MVC_CADASTRO(true, true, 302),
+    MVC_EDICAO(true, true, 302),
+    API_PAGINA(false, false, 200),
+    API_DETALHE(false, false, 200),
+    API_CADASTRO(false, true, 201),
+    API_ESTOQUE(false, true, 200);
+
+    private static final List<Operacao> MVC_LEITURAS = filtrar(true, false);
+    private static final List<Operacao> MVC_ESCRITAS = filtrar(true, true);
+    private static final List<Operacao> API_LEITURAS = filtrar(false, false);
+    private static final List<Operacao> API_ESCRITAS = filtrar(false, true);
+
+    private final boolean mvc;
+    private final boolean escrita;
+    private final int statusEsperado;
+
+    Operacao(boolean mvc, boolean escrita, int statusEsperado) {
+        this.mvc = mvc;
+        this.escrita = escrita;
+        this.statusEsperado = statusEsperado;
+    }
+
+    boolean escrita() {
+        return escrita;
+    }
+
+    int statusEsperado() {
+        return statusEsperado;
+    }
+
+    // Primeiro canal e leitura/escrita pelas fracoes configuradas; dentro do grupo, sorteio uniforme.
+    static Operacao sortear(ConfiguracaoCarga config, RandomGenerator aleatorio) {
+        boolean mvc = aleatorio.nextDouble() < config.fracaoMvc();
+        boolean escrita = aleatorio.nextDouble() < config.fracaoEscrita();
+        List<Operacao> grupo = mvc
+                ? (escrita ? MVC_ESCRITAS : MVC_LEITURAS)
+                : (escrita ? API_ESCRITAS : API_LEITURAS);
+        return grupo.get(aleatorio.nextInt(grupo.size()));
+    }
+
+    private static List<Operacao> filtrar(boolean mvc, boolean escrita) {
+        return Arrays.stream(values())
+                .filter(op -> op.mvc == mvc && op.escrita == escrita)
+                .toList();
+    }
+}
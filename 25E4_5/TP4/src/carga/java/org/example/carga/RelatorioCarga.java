@@ -0,0 +1,140 @@
+package org.example.carga;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Resultado da janela medida: vazao, taxa de erro e percentis de latencia por operacao e
+ * no total. {@link #violacoes()} compara com os limites {@code carga.limite.*}; qualquer
+ * violacao faz o {@link GeradorCarga} sair com codigo diferente de zero.
+ */
+record RelatorioCarga(ConfiguracaoCarga config, Duration janela, List<Linha> linhas, Linha total) {
+
+    private static final double NANOS_POR_MS = 1_000_000.0;
+
+    record Linha(String operacao, long requisicoes, long sucessos, long recusas, long erros,
+                 double p50Ms, double p90Ms, double p99Ms, double p999Ms, double maximoMs) {
+
+        static Linha de(String operacao, Histogram latencias, long sucessos, long recusas, long erros) {
+            return new Linha(operacao, latencias.getTotalCount(), sucessos, recusas, erros,
+                    ms(latencias.getValueAtPercentile(50)),
+                    ms(latencias.getValueAtPercentile(90)),
+                    ms(latencias.getValueAtPercentile(99)),
+                    ms(latencias.getValueAtPercentile(99.9)),
+                    ms(latencias.getMaxValue()));
+        }
+
+        double taxaErro() {
+            return (requisicoes == 0) ? 0 : (double) erros / requisicoes;
+        }
+    }
+
+    static RelatorioCarga de(ConfiguracaoCarga config, Medicoes medicoes, Duration janela) {
+        List<Linha> linhas = new ArrayList<>();
+        Histogram todas = new Histogram(3);
+        long sucessos = 0;
+        long recusas = 0;
+        long erros = 0;
+        for (Operacao operacao : Operacao.values()) {
+            Histogram latencias = medicoes.latencias(operacao);
+            if (latencias.getTotalCount() == 0) {
+                continue;
+            }
+            linhas.add(Linha.de(operacao.name(), latencias,
+                    medicoes.sucessos(operacao), medicoes.recusas(operacao), medicoes.erros(operacao)));
+            todas.add(latencias);
+            sucessos += medicoes.sucessos(operacao);
+            recusas += medicoes.recusas(operacao);
+            erros += medicoes.erros(operacao);
+        }
+        return new RelatorioCarga(config, janela, List.copyOf(linhas),
+                Linha.de("TOTAL", todas, sucessos, recusas, erros));
+    }
+
+    double vazao() {
+        return total.requisicoes() * 1_000_000_000.0 / janela.toNanos();
+    }
+
+    List<String> violacoes() {
+        List<String> violacoes = new ArrayList<>();
+        if (total.requisicoes() == 0) {
+            violacoes.add("nenhuma requisicao concluida na janela medida");
+            return violacoes;
+        }
+        if (total.taxaErro() > config.limiteTaxaErro()) {
+            violacoes.add(String.format(Locale.ROOT, "taxa de erro %.2f%% acima do limite de %.2f%%",
+                    100 * total.taxaErro(), 100 * config.limiteTaxaErro()));
+        }
+        double limiteP99Ms = config.limiteP99().toNanos() / NANOS_POR_MS;
+        if (total.p99Ms() > limiteP99Ms) {
+            violacoes.add(String.format(Locale.ROOT, "p99 de %.1f ms acima do limite de %.1f ms",
+                    total.p99Ms(), limiteP99Ms));
+        }
+        if (vazao() < config.limiteVazaoMinima()) {
+            violacoes.add(String.format(Locale.ROOT, "vazao de %.1f req/s abaixo do minimo de %.1f req/s",
+                    vazao(), config.limiteVazaoMinima()));
+        }
+        return violacoes;
+    }
+
+    String formatar() {
+        StringBuilder saida = new StringBuilder();
+        saida.append(String.format(Locale.ROOT,
+                "Carga: %d clientes, %s, %.0f%% escritas, %.0f%% MVC, janela de %ds, catalogo de %d produtos%n",
+                config.concorrencia(),
+                config.taxaAlvo() > 0 ? String.format(Locale.ROOT, "taxa alvo %.0f req/s", config.taxaAlvo()) : "malha fechada",
+                100 * config.fracaoEscrita(), 100 * config.fracaoMvc(),
+                janela.toSeconds(), config.tamanhoCatalogo()));
+        saida.append(String.format(Locale.ROOT, "%-13s %9s %9s %8s %7s %9s %9s %9s %9s %9s%n",
+                "operacao", "total", "sucesso", "recusa", "erro", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms"));
+        for (Linha linha : linhas) {
+            formatarLinha(saida, linha);
+        }
+        formatarLinha(saida, total);
+        saida.append(String.format(Locale.ROOT, "Vazao: %.1f req/s | taxa de erro: %.2f%% | recusas (429): %d%n",
+                vazao(), 100 * total.taxaErro(), total.recusas()));
+        return saida.toString();
+    }
+
+    void gravar(ObjectMapper objectMapper) throws IOException {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("concorrencia", config.concorrencia());
+        json.put("taxaAlvo", config.taxaAlvo());
+        json.put("fracaoEscrita", config.fracaoEscrita());
+        json.put("fracaoMvc", config.fracaoMvc());
+        json.put("tamanhoCatalogo", config.tamanhoCatalogo());
+        json.put("perfis", config.perfis());
+        json.put("janelaSegundos", janela.toMillis() / 1000.0);
+        json.put("vazao", vazao());
+        json.put("taxaErro", total.taxaErro());
+        json.put("total", total);
+        json.put("operacoes", linhas);
+        json.put("violacoes", violacoes());
+        if (config.relatorio().getParent() != null) {
+            Files.createDirectories(config.relatorio().getParent());
+        }
+        objectMapper.copy()
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(config.relatorio().toFile(), json);
+    }
+
+    private static void formatarLinha(StringBuilder saida, Linha linha) {
+        saida.append(String.format(Locale.ROOT, "%-13s %9d %9d %8d %7d %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                linha.operacao(), linha.requisicoes(), linha.sucessos(), linha.recusas(), linha.erros(),
+                linha.p50Ms(), linha.p90Ms(), linha.p99Ms(), linha.p999Ms(), linha.maximoMs()));
+    }
+
+    private static double ms(long nanos) {
+        return nanos / NANOS_POR_MS;
+    }
+}
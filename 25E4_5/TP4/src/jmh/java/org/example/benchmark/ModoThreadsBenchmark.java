@@ -0,0 +1,93 @@
+package org.example.benchmark;
+
+import org.example.Main;
+import org.example.service.importacao.ImportadorProdutos;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Teste de carga HTTP contra o Tomcat embarcado, comparando o pool de threads de plataforma
+ * (padrao) com o perfil {@code virtual}. Os clientes concorrentes sao as threads do JMH;
+ * as rotas escolhidas vao ao banco (paginacao keyset e cadastro), que e onde as threads
+ * ficam bloqueadas. Ex.: {@code gradle jmh -PjmhIncludes=ModoThreads}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+@Threads(256)
+public class ModoThreadsBenchmark {
+
+    private static final int TAMANHO_CATALOGO = 50_000;
+
+    @Param({"plataforma", "virtual"})
+    public String modo;
+
+    private ConfigurableApplicationContext contexto;
+    private HttpClient cliente;
+    private String baseUrl;
+
+    @Setup(Level.Trial)
+    public void subirServidor() {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(Main.class);
+        if ("virtual".equals(modo)) {
+            builder.profiles("virtual");
+        }
+        // Argumentos de linha de comando, para valer sobre o application.properties. Sem admissao:
+        // as 256 threads saem de um so endereco e o token bucket por cliente responderia 429.
+        contexto = builder.run("--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:carga;DB_CLOSE_DELAY=-1",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--catalogo.admissao.habilitada=false",
+                "--logging.level.root=WARN");
+        contexto.getBean(ImportadorProdutos.class)
+                .importar(ProdutoServiceBenchmark.catalogoSintetico(TAMANHO_CATALOGO));
+        baseUrl = "http://localhost:" + contexto.getEnvironment().getProperty("local.server.port");
+        cliente = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void derrubarServidor() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public int paginaApi() throws IOException, InterruptedException {
+        long apos = ThreadLocalRandom.current().nextLong(TAMANHO_CATALOGO);
+        return enviar(HttpRequest.newBuilder(URI.create(baseUrl + "/api/produtos?limit=50&after=" + apos)).GET());
+    }
+
+    @Benchmark
+    public int criarApi() throws IOException, InterruptedException {
+        String corpo = """
+                {"nome": "Carga %d", "preco": 19.90, "estoque": 3}
+                """.formatted(ThreadLocalRandom.current().nextInt(1_000_000));
+        return enviar(HttpRequest.newBuilder(URI.create(baseUrl + "/api/produtos"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(corpo)));
+    }
+
+    private int enviar(HttpRequest.Builder requisicao) throws IOException, InterruptedException {
+        int status = cliente.send(requisicao.timeout(Duration.ofSeconds(30)).build(),
+                HttpResponse.BodyHandlers.discarding()).statusCode();
+        if (status >= 400) {
+            throw new IllegalStateException("HTTP " + status);
+        }
+        return status;
+    }
+}
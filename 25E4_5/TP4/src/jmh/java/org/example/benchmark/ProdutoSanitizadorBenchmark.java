@@ -0,0 +1,70 @@
+package org.example.benchmark;
+
+import org.example.service.sanitization.RegrasSanitizacao;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara o antigo {@code trim().replaceAll("[<>\"']", "")} com o motor de passada unica.
+ * "limpo" representa cadastros reais (sem caracteres a remover, caso dominante);
+ * "malicioso" reaproveita os payloads do FuzzTest.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProdutoSanitizadorBenchmark {
+
+    private static final String[] LIMPOS = {
+            "Notebook Dell Inspiron 15 3000",
+            "Mouse sem fio Logitech M170",
+            "Teclado Mecânico ABNT2 switch azul com iluminação RGB e apoio de pulso",
+            "Cadeira ergonômica com ajuste lombar, braços 3D e base em alumínio. Garantia de 2 anos.",
+            "Cabo HDMI 2.1 - 2 metros"
+    };
+
+    private static final String[] MALICIOSOS = {
+            "<script>alert('xss')</script>",
+            "<img src=x onerror=alert(1)>",
+            "'\"><script>alert(1)</script>",
+            "' OR '1'='1",
+            "'; DROP TABLE produtos; --",
+            "&lt;script&gt;alert(1)&lt;/script&gt;",
+            "nome\r\nSet-Cookie: malicioso=true"
+    };
+
+    @Param({"limpo", "malicioso"})
+    public String payload;
+
+    private String[] entradas;
+
+    @Setup
+    public void preparar() {
+        entradas = "limpo".equals(payload) ? LIMPOS : MALICIOSOS;
+    }
+
+    @Benchmark
+    public void legadoReplaceAll(Blackhole bh) {
+        for (String entrada : entradas) {
+            bh.consume(entrada.trim().replaceAll("[<>\"']", ""));
+        }
+    }
+
+    @Benchmark
+    public void passadaUnicaRemover(Blackhole bh) {
+        for (String entrada : entradas) {
+            bh.consume(RegrasSanitizacao.REMOVER_MARCACAO.aplicar(entrada));
+        }
+    }
+
+    @Benchmark
+    public void passadaUnicaEscaparHtml(Blackhole bh) {
+        for (String entrada : entradas) {
+            bh.consume(RegrasSanitizacao.ESCAPAR_HTML.aplicar(entrada));
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package org.example.benchmark;
+
+import org.example.Main;
+import org.example.model.Produto;
+import org.example.service.ProdutoService;
+import org.example.service.importacao.ImportadorProdutos;
+import org.example.service.importacao.LinhaImportacao;
+import org.example.service.support.TermoBusca;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.Iterator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Vazao/latencia da camada de servico contra H2 em memoria, para catalogos de 1k a 1M linhas.
+ * O catalogo e carregado uma vez por trial pelo {@link ImportadorProdutos} (batch JDBC).
+ * {@code buscarPorId} sorteia ids em todo o catalogo, entao o cache por id so ajuda
+ * enquanto o catalogo couber em {@code catalogo.cache.tamanho-maximo}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ProdutoServiceBenchmark {
+
+    private static final String[] TERMOS = {"teclado", "mouse", "monitor", "cabo", "gamer", "sem fio"};
+    private static final String[] NOMES = {"Teclado", "Mouse", "Monitor", "Cabo HDMI", "Headset", "Webcam"};
+    private static final String[] ADJETIVOS = {"Gamer", "Sem Fio", "Ergonômico", "USB-C", "Compacto", "Pro"};
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int tamanhoCatalogo;
+
+    private ConfigurableApplicationContext contexto;
+    private ProdutoService service;
+
+    @Setup(Level.Trial)
+    public void subirAplicacao() {
+        contexto = new SpringApplicationBuilder(Main.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:bench" + tamanhoCatalogo + ";DB_CLOSE_DELAY=-1",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.h2.console.enabled=false",
+                        "logging.level.root=WARN")
+                .run();
+        service = contexto.getBean(ProdutoService.class);
+        contexto.getBean(ImportadorProdutos.class).importar(catalogoSintetico(tamanhoCatalogo));
+    }
+
+    @TearDown(Level.Trial)
+    public void derrubarAplicacao() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public Produto buscarPorId() {
+        return service.buscarPorId(ThreadLocalRandom.current().nextLong(1, tamanhoCatalogo + 1));
+    }
+
+    @Benchmark
+    public int buscarPorNome() {
+        String termo = TERMOS[ThreadLocalRandom.current().nextInt(TERMOS.length)];
+        return service.buscarPorNome(TermoBusca.of(termo)).asList().size();
+    }
+
+    @Benchmark
+    public Produto salvar() {
+        return service.salvar(produtoSintetico(ThreadLocalRandom.current().nextInt()));
+    }
+
+    static Iterator<LinhaImportacao> catalogoSintetico(int tamanho) {
+        return IntStream.rangeClosed(1, tamanho)
+                .mapToObj(i -> LinhaImportacao.valida(i, produtoSintetico(i)))
+                .iterator();
+    }
+
+    static Produto produtoSintetico(int semente) {
+        int i = Math.abs(semente);
+        String nome = NOMES[i % NOMES.length] + " " + ADJETIVOS[(i / NOMES.length) % ADJETIVOS.length] + " " + i;
+        BigDecimal preco = BigDecimal.valueOf(1 + (i % 500_000), 2);
+        return new Produto(nome, "Produto sintético " + i, preco, i % 1000);
+    }
+}
@@ -0,0 +1,56 @@
+package org.example.benchmark;
+
+import org.example.controller.api.ProdutoDtoMapper;
+import org.example.controller.api.ProdutoResponse;
+import org.example.model.Produto;
+import org.example.service.support.ProdutoCollection;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Custo em memoria (sem banco) do mapeamento para DTO e da copia defensiva de
+ * {@link ProdutoCollection#of(List)}, nos mesmos tamanhos de catalogo do benchmark de servico.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ProdutoSuporteBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int tamanhoCatalogo;
+
+    private final ProdutoDtoMapper mapper = new ProdutoDtoMapper();
+    private List<Produto> produtos;
+    private Produto produto;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        produtos = IntStream.rangeClosed(1, tamanhoCatalogo).mapToObj(i -> {
+            Produto p = ProdutoServiceBenchmark.produtoSintetico(i);
+            p.setId((long) i);
+            return p;
+        }).toList();
+        produto = produtos.get(0);
+    }
+
+    @Benchmark
+    public ProdutoResponse toResponseUnitario() {
+        return mapper.toResponse(produto);
+    }
+
+    @Benchmark
+    public List<ProdutoResponse> toResponseCatalogo() {
+        return produtos.stream().map(mapper::toResponse).toList();
+    }
+
+    @Benchmark
+    public ProdutoCollection collectionOf() {
+        return ProdutoCollection.of(produtos);
+    }
+}
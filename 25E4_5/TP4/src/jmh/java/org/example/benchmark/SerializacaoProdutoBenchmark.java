@@ -0,0 +1,84 @@
+package org.example.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.config.FormatoBinarioConfig;
+import org.example.controller.api.ProdutoDtoMapper;
+import org.example.controller.api.ProdutoResponse;
+import org.example.model.Produto;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serializacao de uma pagina de {@link ProdutoResponse}: JSON atual (preco como BigDecimal)
+ * contra CBOR com preco em centavos ({@link FormatoBinarioConfig}), com e sem gzip.
+ * O tempo sai do JMH; o tamanho de cada resposta sai no mesmo relatorio como contador
+ * auxiliar ({@code serializar:bytesPorResposta}), para comparar o que vai para a rede.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializacaoProdutoBenchmark {
+
+    @Param({"json", "cbor"})
+    public String formato;
+
+    @Param({"false", "true"})
+    public boolean gzip;
+
+    @Param({"20", "1000"})
+    public int tamanhoPagina;
+
+    private ObjectMapper mapper;
+    private List<ProdutoResponse> pagina;
+
+    /**
+     * Guarda o tamanho da ultima resposta em vez de somar: o valor e o mesmo a cada chamada,
+     * entao o JMH o relata como esta (com um thread; com {@code -t N} sai multiplicado por N).
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Tamanho {
+        public long bytesPorResposta;
+    }
+
+    @Setup(Level.Trial)
+    public void preparar() throws IOException {
+        mapper = "cbor".equals(formato)
+                ? FormatoBinarioConfig.cborMapper(new Jackson2ObjectMapperBuilder())
+                : Jackson2ObjectMapperBuilder.json().build();
+        ProdutoDtoMapper dtoMapper = new ProdutoDtoMapper();
+        pagina = IntStream.rangeClosed(1, tamanhoPagina).mapToObj(i -> {
+            Produto p = ProdutoServiceBenchmark.produtoSintetico(i);
+            p.setId((long) i);
+            return dtoMapper.toResponse(p);
+        }).toList();
+    }
+
+    @Benchmark
+    public byte[] serializar(Tamanho tamanho) throws IOException {
+        byte[] resposta = gerar();
+        tamanho.bytesPorResposta = resposta.length;
+        return resposta;
+    }
+
+    private byte[] gerar() throws IOException {
+        if (!gzip) {
+            return mapper.writeValueAsBytes(pagina);
+        }
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        try (GZIPOutputStream comprimida = new GZIPOutputStream(saida)) {
+            mapper.writeValue(comprimida, pagina);
+        }
+        return saida.toByteArray();
+    }
+}
@@ -0,0 +1,97 @@
+package org.example.benchmark;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import jakarta.validation.constraints.*;
+import org.example.exception.ValidacaoException.Violacao;
+import org.example.service.validation.ProdutoValidador;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo de validacao por cadastro no caminho {@code criar}. "beanValidation" refaz o fluxo
+ * antigo: {@code @Valid} no request, {@code validarProduto} imperativo e a revalidacao da
+ * entidade pelo Hibernate no pre-persist (mesmas anotacoes, por isso dois {@code validate}).
+ * "produtoValidador" e a passada unica atual. "invalido" quebra todos os campos, o que
+ * inclui montar as mensagens. Para alocacao por operacao: {@code -prof gc}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidacaoProdutoBenchmark {
+
+    @Param({"valido", "invalido"})
+    public String entrada;
+
+    private ValidatorFactory fabrica;
+    private Validator validator;
+    private final ProdutoValidador produtoValidador = new ProdutoValidador();
+    private ProdutoAnotado produto;
+
+    @Setup
+    public void preparar() {
+        fabrica = Validation.buildDefaultValidatorFactory();
+        validator = fabrica.getValidator();
+        produto = "valido".equals(entrada)
+                ? new ProdutoAnotado("Teclado Mecânico ABNT2", "Switch azul, RGB", new BigDecimal("349.90"), 12)
+                : new ProdutoAnotado("", "d".repeat(600), new BigDecimal("-1.00"), -3);
+    }
+
+    @TearDown
+    public void encerrar() {
+        fabrica.close();
+    }
+
+    @Benchmark
+    public void beanValidation(Blackhole bh) {
+        Set<ConstraintViolation<ProdutoAnotado>> request = validator.validate(produto);
+        bh.consume(request);
+        if (request.isEmpty()) {
+            bh.consume(validarImperativo(produto));
+            bh.consume(validator.validate(produto));
+        }
+    }
+
+    @Benchmark
+    public List<Violacao> produtoValidador() {
+        return produtoValidador.verificar(produto.nome(), produto.descricao(), produto.preco(), produto.estoque());
+    }
+
+    // Antigo ProdutoValidador.validarProduto, sem a excecao (o caso medido e o valido).
+    private static boolean validarImperativo(ProdutoAnotado p) {
+        return p.nome() != null && !p.nome().isBlank()
+                && p.preco() != null && p.preco().compareTo(BigDecimal.ZERO) > 0
+                && p.estoque() != null && p.estoque() >= 0;
+    }
+
+    /** Copia das anotacoes que ProdutoRequest e Produto tinham. */
+    public record ProdutoAnotado(
+            @NotBlank(message = "O nome é obrigatório.")
+            @Size(min = 2, max = 100, message = "O nome deve ter entre 2 e 100 caracteres.")
+            String nome,
+
+            @Size(max = 500, message = "A descrição deve ter no máximo 500 caracteres.")
+            String descricao,
+
+            @NotNull(message = "O preço é obrigatório.")
+            @DecimalMin(value = "0.01", message = "O preço deve ser maior que zero.")
+            @DecimalMax(value = "999999.99", message = "O preço não pode exceder 999.999,99.")
+            BigDecimal preco,
+
+            @NotNull(message = "O estoque é obrigatório.")
+            @Min(value = 0, message = "O estoque não pode ser negativo.")
+            @Max(value = 100000, message = "O estoque não pode exceder 100.000 unidades.")
+            Integer estoque
+    ) {
+    }
+}
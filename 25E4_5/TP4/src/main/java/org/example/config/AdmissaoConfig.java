@@ -0,0 +1,37 @@
+package org.example.config;
+
+import org.example.controller.AdmissaoEscritasInterceptor;
+import org.example.service.admissao.ControleAdmissaoEscritas;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Limita as escritas do catalogo (MVC e API) com {@code catalogo.admissao.habilitada=true};
+ * leituras nunca passam pelo limitador. A importacao em lote tem limite de concorrencia proprio.
+ * Os ajustes agrupados de estoque ficam fora: so somam o delta em memoria e respondem 202, e
+ * existem justamente para absorver muitas vendas pequenas por segundo do mesmo cliente.
+ */
+@Configuration(proxyBeanMethods = false)
+public class AdmissaoConfig implements WebMvcConfigurer {
+
+    private static final String LOTE = "/api/produtos/lote";
+    private static final String AJUSTES_ESTOQUE = "/api/produtos/*/estoque/ajustes";
+
+    private final ControleAdmissaoEscritas controle;
+
+    public AdmissaoConfig(ControleAdmissaoEscritas controle) {
+        this.controle = controle;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (controle.estaHabilitado()) {
+            registry.addInterceptor(new AdmissaoEscritasInterceptor(controle, false))
+                    .addPathPatterns("/produtos/**", "/api/produtos/**")
+                    .excludePathPatterns(LOTE, AJUSTES_ESTOQUE);
+            registry.addInterceptor(new AdmissaoEscritasInterceptor(controle, true))
+                    .addPathPatterns(LOTE);
+        }
+    }
+}
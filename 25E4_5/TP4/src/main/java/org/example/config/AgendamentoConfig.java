@@ -0,0 +1,12 @@
+package org.example.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Tarefas periodicas do catalogo (ex.: gravacao dos ajustes de estoque agrupados).
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableScheduling
+public class AgendamentoConfig {
+}
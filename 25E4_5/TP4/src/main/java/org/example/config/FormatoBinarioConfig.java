@@ -0,0 +1,60 @@
+package org.example.config;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.example.controller.api.ProdutoResponse;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Formato binario da API: com {@code Accept: application/cbor} as respostas saem em CBOR,
+ * com os mesmos campos do JSON, exceto o preco de {@link ProdutoResponse}, que vai como
+ * inteiro em centavos no campo {@code precoCentavos}. Assim o servidor nao formata
+ * {@link BigDecimal} como texto e o cliente nao precisa interpreta-lo.
+ */
+@Configuration(proxyBeanMethods = false)
+public class FormatoBinarioConfig {
+
+    /** Substitui o conversor CBOR padrao do Spring MVC (mesmo tipo). */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(cborMapper(builder));
+    }
+
+    public static ObjectMapper cborMapper(Jackson2ObjectMapperBuilder builder) {
+        return builder
+                .factory(new CBORFactory())
+                .mixIn(ProdutoResponse.class, ProdutoResponseBinario.class)
+                .build();
+    }
+
+    private abstract static class ProdutoResponseBinario {
+
+        @JsonProperty("precoCentavos")
+        @JsonSerialize(using = CentavosSerializer.class)
+        abstract BigDecimal preco();
+    }
+
+    private static final class CentavosSerializer extends StdSerializer<BigDecimal> {
+
+        CentavosSerializer() {
+            super(BigDecimal.class);
+        }
+
+        @Override
+        public void serialize(BigDecimal valor, JsonGenerator gerador, SerializerProvider provider) throws IOException {
+            gerador.writeNumber(valor.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact());
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package org.example.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Habilita {@code @Timed} nos componentes do fluxo de Produto. Cada etapa publica o timer
+ * {@value #TIMER_ETAPA} com a tag {@code etapa} (servico, validacao, sanitizacao);
+ * o repositorio e medido pelo {@code spring.data.repository.invocations} do Spring Boot
+ * e os controllers pelo {@code http.server.requests}.
+ */
+@Configuration(proxyBeanMethods = false)
+public class MetricasConfig {
+
+    public static final String TIMER_ETAPA = "catalogo.etapa";
+    public static final String CONTADOR_ERROS = "catalogo.erros";
+    public static final String CONTADOR_AJUSTES_AGRUPADOS = "catalogo.estoque.ajustes.agrupados";
+    public static final String CONTADOR_AUDITORIA = "catalogo.auditoria.registros";
+    public static final String GAUGE_INICIALIZACAO = "catalogo.inicializacao";
+    public static final String CONTADOR_COALESCENCIA = "catalogo.coalescencia.leituras";
+    public static final String GAUGE_TAXA_COALESCENCIA = "catalogo.coalescencia.taxa";
+    public static final String CONTADOR_ADMISSAO = "catalogo.admissao.rejeicoes";
+    public static final String GAUGE_CONCORRENCIA_ESCRITAS = "catalogo.admissao.concorrencia";
+    public static final String GAUGE_ASSINANTES_ALTERACOES = "catalogo.alteracoes.assinantes";
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+}
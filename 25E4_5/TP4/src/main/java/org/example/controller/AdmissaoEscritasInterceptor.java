@@ -0,0 +1,47 @@
+package org.example.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.service.admissao.ControleAdmissaoEscritas;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.Set;
+
+/**
+ * Passa as requisicoes de escrita (POST, PUT, PATCH, DELETE) pelo {@link ControleAdmissaoEscritas}
+ * antes do controller. O cliente e o endereco remoto; atras de proxy, configure
+ * {@code server.forward-headers-strategy} para que seja o do cliente e nao o do proxy.
+ * A recusa sobe como excecao para o {@link GlobalExceptionHandler}, que responde {@code 429}.
+ * Com {@code lote}, admite pelo limite das cargas em lote.
+ */
+public class AdmissaoEscritasInterceptor implements HandlerInterceptor {
+
+    private static final Set<String> METODOS_ESCRITA = Set.of(
+            HttpMethod.POST.name(), HttpMethod.PUT.name(), HttpMethod.PATCH.name(), HttpMethod.DELETE.name());
+    private static final String ATRIBUTO_PERMISSAO = AdmissaoEscritasInterceptor.class.getName() + ".permissao";
+
+    private final ControleAdmissaoEscritas controle;
+    private final boolean lote;
+
+    public AdmissaoEscritasInterceptor(ControleAdmissaoEscritas controle, boolean lote) {
+        this.controle = controle;
+        this.lote = lote;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (METODOS_ESCRITA.contains(request.getMethod())) {
+            String cliente = request.getRemoteAddr();
+            request.setAttribute(ATRIBUTO_PERMISSAO, lote ? controle.admitirLote(cliente) : controle.admitir(cliente));
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(ATRIBUTO_PERMISSAO) instanceof ControleAdmissaoEscritas.Permissao permissao) {
+            permissao.liberar();
+        }
+    }
+}
@@ -1,7 +1,16 @@
 package org.example.controller;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.config.MetricasConfig;
 import org.example.exception.NegocioException;
 import org.example.exception.ProdutoNotFoundException;
+import org.example.exception.ReajusteNotFoundException;
+import org.example.exception.SobrecargaException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -16,9 +25,18 @@ import org.springframework.web.method.annotation.MethodArgumentTypeMismatchExcep
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
-    @ExceptionHandler(ProdutoNotFoundException.class)
+    private static final Logger log = LoggerFactory.getLogger(GlobalExceptionHandler.class);
+
+    private final MeterRegistry meterRegistry;
+
+    public GlobalExceptionHandler(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @ExceptionHandler({ProdutoNotFoundException.class, ReajusteNotFoundException.class})
     @ResponseStatus(HttpStatus.NOT_FOUND)
-    public String handleNotFound(ProdutoNotFoundException ex, Model model) {
+    public String handleNotFound(RuntimeException ex, Model model) {
+        contarErro(ex);
         model.addAttribute("codigo", 404);
         model.addAttribute("mensagem", ex.getMessage());
         return "erro";
@@ -27,15 +45,39 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(NegocioException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public String handleNegocio(NegocioException ex, Model model) {
+        contarErro(ex);
         model.addAttribute("codigo", 400);
         model.addAttribute("mensagem", ex.getMessage());
         return "erro";
     }
 
+    /** Edicao concorrente detectada pelo {@code @Version} de Produto. */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public String handleConflito(OptimisticLockingFailureException ex, Model model) {
+        contarErro(ex);
+        model.addAttribute("codigo", 409);
+        model.addAttribute("mensagem", "O produto foi alterado por outra operação. Recarregue e tente novamente.");
+        return "erro";
+    }
+
+    /** Escrita recusada pelo controle de admissao; {@code Retry-After} em segundos inteiros, no minimo 1. */
+    @ExceptionHandler(SobrecargaException.class)
+    @ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+    public String handleSobrecarga(SobrecargaException ex, Model model, HttpServletResponse response) {
+        contarErro(ex);
+        long segundos = Math.max(1, (ex.getTentarApos().toMillis() + 999) / 1000);
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(segundos));
+        model.addAttribute("codigo", 429);
+        model.addAttribute("mensagem", ex.getMessage());
+        return "erro";
+    }
+
     /** Parametro de path com tipo invalido (ex: /produtos/abc em vez de /produtos/1). */
     @ExceptionHandler(MethodArgumentTypeMismatchException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public String handleTypeMismatch(MethodArgumentTypeMismatchException ex, Model model) {
+        contarErro(ex);
         model.addAttribute("codigo", 400);
         model.addAttribute("mensagem", "Parametro invalido: o valor informado nao e do tipo esperado.");
         return "erro";
@@ -45,8 +87,14 @@ public class GlobalExceptionHandler {
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public String handleGeneric(Exception ex, Model model) {
         // Fail-gracefully: registra internamente mas não expõe detalhes ao usuário
+        contarErro(ex);
+        log.error("Erro inesperado", ex);
         model.addAttribute("codigo", 500);
         model.addAttribute("mensagem", "Ocorreu um erro inesperado. Por favor, tente novamente mais tarde.");
         return "erro";
     }
+
+    private void contarErro(Exception ex) {
+        meterRegistry.counter(MetricasConfig.CONTADOR_ERROS, "tipo", ex.getClass().getSimpleName()).increment();
+    }
 }
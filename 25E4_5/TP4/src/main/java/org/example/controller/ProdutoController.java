@@ -1,10 +1,15 @@
 package org.example.controller;
 
-import jakarta.validation.Valid;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.controller.view.CacheLinhasProduto;
 import org.example.exception.NegocioException;
 import org.example.exception.ProdutoNotFoundException;
+import org.example.exception.ValidacaoException;
 import org.example.model.Produto;
 import org.example.service.ProdutoService;
+import org.example.service.support.ConsultaListagem;
+import org.springframework.data.domain.Page;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
@@ -22,21 +27,34 @@ import java.util.List;
 public class ProdutoController {
 
     private final ProdutoService service;
+    private final CacheLinhasProduto cacheLinhas;
 
-    public ProdutoController(ProdutoService service) {
+    public ProdutoController(ProdutoService service, CacheLinhasProduto cacheLinhas) {
         this.service = service;
+        this.cacheLinhas = cacheLinhas;
     }
 
     // ── LISTAGEM ──────────────────────────────────────────────────────────────
 
     @GetMapping
-    public String listar(@RequestParam(required = false) String busca, Model model) {
+    public String listar(@RequestParam(required = false) String busca,
+                         @RequestParam(required = false) Integer pagina,
+                         @RequestParam(required = false) Integer tamanho,
+                         @RequestParam(required = false) String ordem,
+                         @RequestParam(required = false) String direcao,
+                         Model model,
+                         HttpServletRequest request,
+                         HttpServletResponse response) {
+        model.addAttribute("busca", busca);
         try {
-            List<Produto> produtos = (busca != null && !busca.isBlank())
-                    ? service.buscarPorNome(busca)
-                    : service.listarTodosComoLista();
-            model.addAttribute("produtos", produtos);
-            model.addAttribute("busca", busca);
+            ConsultaListagem consulta = ConsultaListagem.of(busca, pagina, tamanho, ordem, direcao);
+            Page<Produto> produtos = service.listarPaginado(consulta);
+            model.addAttribute("consulta", consulta);
+            model.addAttribute("pagina", produtos);
+            model.addAttribute("produtos", produtos.getContent());
+            if (cacheLinhas.estaHabilitado()) {
+                model.addAttribute("linhasHtml", cacheLinhas.renderizar(produtos.getContent(), request, response));
+            }
         } catch (NegocioException e) {
             model.addAttribute("erroMensagem", e.getMessage());
             model.addAttribute("produtos", List.of());
@@ -53,8 +71,10 @@ public class ProdutoController {
         return "produtos/formulario";
     }
 
+    // Sem @Valid: o BindingResult traz so erros de conversao; as regras rodam uma vez no servico
+    // e voltam por campo na ValidacaoException.
     @PostMapping("/novo")
-    public String salvar(@Valid @ModelAttribute Produto produto,
+    public String salvar(@ModelAttribute Produto produto,
                          BindingResult result,
                          Model model,
                          RedirectAttributes redirect) {
@@ -66,6 +86,10 @@ public class ProdutoController {
             service.salvar(produto);
             redirect.addFlashAttribute("sucesso", "Produto cadastrado com sucesso!");
             return "redirect:/produtos";
+        } catch (ValidacaoException e) {
+            rejeitarCampos(result, e);
+            model.addAttribute("titulo", "Novo Produto");
+            return "produtos/formulario";
         } catch (NegocioException e) {
             model.addAttribute("erroMensagem", e.getMessage());
             model.addAttribute("titulo", "Novo Produto");
@@ -89,7 +113,7 @@ public class ProdutoController {
 
     @PostMapping("/{id}/editar")
     public String atualizar(@PathVariable Long id,
-                            @Valid @ModelAttribute Produto produto,
+                            @ModelAttribute Produto produto,
                             BindingResult result,
                             Model model,
                             RedirectAttributes redirect) {
@@ -101,6 +125,10 @@ public class ProdutoController {
             service.atualizar(id, produto);
             redirect.addFlashAttribute("sucesso", "Produto atualizado com sucesso!");
             return "redirect:/produtos";
+        } catch (ValidacaoException e) {
+            rejeitarCampos(result, e);
+            model.addAttribute("titulo", "Editar Produto");
+            return "produtos/formulario";
         } catch (ProdutoNotFoundException | NegocioException e) {
             model.addAttribute("erroMensagem", e.getMessage());
             model.addAttribute("titulo", "Editar Produto");
@@ -133,5 +161,10 @@ public class ProdutoController {
             return "redirect:/produtos";
         }
     }
-}
 
+    private static void rejeitarCampos(BindingResult result, ValidacaoException e) {
+        for (ValidacaoException.Violacao violacao : e.getViolacoes()) {
+            result.rejectValue(violacao.campo(), "invalido", violacao.mensagem());
+        }
+    }
+}
@@ -0,0 +1,5 @@
+package org.example.controller.api;
+
+/** Diferenca a aplicar no estoque: negativa para venda, positiva para reposicao. */
+public record AjusteEstoqueRequest(int delta) {
+}
@@ -0,0 +1,149 @@
+package org.example.controller.api;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.config.MetricasConfig;
+import org.example.exception.NegocioException;
+import org.example.exception.SobrecargaException;
+import org.example.service.alteracoes.AlteracaoCatalogo;
+import org.example.service.alteracoes.FluxoAlteracoes;
+import org.example.service.alteracoes.LoteAlteracoes;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Stream SSE das alteracoes do catalogo para espelhos que hoje baixam a lista inteira.
+ * Cada evento leva {@code id} = {@code epoca:sequencia}; na reconexao o navegador (ou o cliente)
+ * manda {@code Last-Event-ID} e recebe o que perdeu, desde que ainda esteja no buffer. Id de
+ * outra epoca (a aplicacao reiniciou e a numeracao recomecou) ou sem epoca recebe
+ * {@value #EVENTO_RESSINCRONIZAR}. Sem {@code desde} nem {@code Last-Event-ID}, so chegam as
+ * alteracoes a partir da conexao.
+ * Cada assinante e atendido por uma thread virtual propria, que le do
+ * {@link FluxoAlteracoes} no seu ritmo.
+ */
+@RestController
+@RequestMapping("/api/produtos/alteracoes")
+public class AlteracoesApiController {
+
+    public static final String EVENTO_RESSINCRONIZAR = "ressincronizar";
+
+    private static final int LOTE_MAXIMO = 500;
+
+    private final FluxoAlteracoes fluxo;
+    private final int maximoAssinantes;
+    private final Duration intervaloPing;
+    private final Duration duracaoConexao;
+    private final AtomicInteger assinantes = new AtomicInteger();
+    private final ThreadFactory threads = Thread.ofVirtual().name("alteracoes-sse-", 1).factory();
+
+    public AlteracoesApiController(FluxoAlteracoes fluxo,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${catalogo.alteracoes.maximo-assinantes:256}") int maximoAssinantes,
+                                   @Value("${catalogo.alteracoes.intervalo-ping:15s}") Duration intervaloPing,
+                                   @Value("${catalogo.alteracoes.duracao-conexao:30m}") Duration duracaoConexao) {
+        this.fluxo = fluxo;
+        this.maximoAssinantes = maximoAssinantes;
+        this.intervaloPing = intervaloPing;
+        this.duracaoConexao = duracaoConexao;
+        Gauge.builder(MetricasConfig.GAUGE_ASSINANTES_ALTERACOES, assinantes, AtomicInteger::get)
+                .register(meterRegistry);
+    }
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter assinar(@RequestParam(required = false) String desde,
+                              @RequestHeader(value = "Last-Event-ID", required = false) String ultimoEvento) {
+        Long pedido = pontoDePartida(desde, ultimoEvento);
+        boolean outraEpoca = pedido == null;
+        long apos = outraEpoca ? fluxo.ultimaSequencia() : pedido;
+        if (assinantes.incrementAndGet() > maximoAssinantes) {
+            assinantes.decrementAndGet();
+            throw new SobrecargaException("Limite de assinantes do stream de alterações atingido.", Duration.ofSeconds(5));
+        }
+        SseEmitter emitter = new SseEmitter(duracaoConexao.toMillis());
+        AtomicBoolean ativo = new AtomicBoolean(true);
+        emitter.onCompletion(() -> ativo.set(false));
+        emitter.onTimeout(() -> ativo.set(false));
+        emitter.onError(e -> ativo.set(false));
+        threads.newThread(() -> transmitir(emitter, apos, outraEpoca, ativo)).start();
+        return emitter;
+    }
+
+    /**
+     * Sequencia a partir da qual transmitir, ou {@code null} se o id nao e desta epoca.
+     * Last-Event-ID vem da reconexao automatica e e mais recente que o ?desde= da URL original.
+     */
+    private Long pontoDePartida(String desde, String ultimoEvento) {
+        String id = (ultimoEvento != null && !ultimoEvento.isBlank()) ? ultimoEvento.trim() : desde;
+        if (id == null || id.isBlank()) {
+            return fluxo.ultimaSequencia();
+        }
+        int separador = id.lastIndexOf(':');
+        long sequencia;
+        try {
+            sequencia = Long.parseLong(id.substring(separador + 1).trim());
+        } catch (NumberFormatException e) {
+            throw new NegocioException("Id de evento inválido: informe o id do último evento recebido.");
+        }
+        if (sequencia < 0) {
+            throw new NegocioException("A sequência inicial não pode ser negativa.");
+        }
+        return (separador > 0 && id.substring(0, separador).equals(fluxo.epoca())) ? sequencia : null;
+    }
+
+    private void transmitir(SseEmitter emitter, long desde, boolean ressincronizar, AtomicBoolean ativo) {
+        long apos = desde;
+        try {
+            emitter.send(SseEmitter.event().comment("conectado"));
+            if (ressincronizar) {
+                enviarRessincronizar(emitter, apos);
+            }
+            while (ativo.get() && !fluxo.estaEncerrado()) {
+                LoteAlteracoes lote = fluxo.ler(apos, LOTE_MAXIMO, intervaloPing);
+                if (lote.ressincronizar()) {
+                    apos = lote.ultimaSequencia();
+                    enviarRessincronizar(emitter, apos);
+                } else if (lote.alteracoes().isEmpty()) {
+                    emitter.send(SseEmitter.event().comment("ping"));
+                }
+                for (AlteracaoCatalogo alteracao : lote.alteracoes()) {
+                    emitter.send(SseEmitter.event()
+                            .id(idEvento(alteracao.sequencia()))
+                            .data(alteracao, MediaType.APPLICATION_JSON));
+                    apos = alteracao.sequencia();
+                }
+            }
+            emitter.complete();
+        } catch (IOException | IllegalStateException e) {
+            // Cliente desconectou (ou o emitter ja expirou); o container encerra a requisicao.
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            emitter.complete();
+        } finally {
+            assinantes.decrementAndGet();
+        }
+    }
+
+    private void enviarRessincronizar(SseEmitter emitter, long sequencia) throws IOException {
+        emitter.send(SseEmitter.event()
+                .name(EVENTO_RESSINCRONIZAR)
+                .id(idEvento(sequencia))
+                .data(Map.of("epoca", fluxo.epoca(), "sequencia", sequencia), MediaType.APPLICATION_JSON));
+    }
+
+    private String idEvento(long sequencia) {
+        return fluxo.epoca() + ":" + sequencia;
+    }
+}
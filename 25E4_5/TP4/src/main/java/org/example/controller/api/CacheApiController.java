@@ -0,0 +1,26 @@
+package org.example.controller.api;
+
+import org.example.service.cache.CacheProdutos;
+import org.example.service.cache.EstatisticasCache;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Contadores do cache de produtos, usados para dimensionar {@code catalogo.cache.*} em producao.
+ */
+@RestController
+@RequestMapping("/api/cache")
+public class CacheApiController {
+
+    private final CacheProdutos cacheProdutos;
+
+    public CacheApiController(CacheProdutos cacheProdutos) {
+        this.cacheProdutos = cacheProdutos;
+    }
+
+    @GetMapping("/produtos")
+    public EstatisticasCache produtos() {
+        return cacheProdutos.estatisticas();
+    }
+}
@@ -0,0 +1,26 @@
+package org.example.controller.api;
+
+import org.example.service.estatistica.AgregadosCatalogo;
+import org.example.service.estatistica.EstatisticasCatalogo;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Estatisticas do catalogo servidas da memoria, para paineis que consultam a cada segundo.
+ */
+@RestController
+@RequestMapping("/api/estatisticas")
+public class EstatisticasApiController {
+
+    private final AgregadosCatalogo agregadosCatalogo;
+
+    public EstatisticasApiController(AgregadosCatalogo agregadosCatalogo) {
+        this.agregadosCatalogo = agregadosCatalogo;
+    }
+
+    @GetMapping("/produtos")
+    public EstatisticasCatalogo produtos() {
+        return agregadosCatalogo.estatisticas();
+    }
+}
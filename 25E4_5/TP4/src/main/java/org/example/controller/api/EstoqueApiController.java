@@ -0,0 +1,38 @@
+package org.example.controller.api;
+
+import org.example.service.estoque.AgrupadorAjustesEstoque;
+import org.example.service.estoque.EstoqueService;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Ajustes de estoque por diferenca. {@code PATCH} aplica na hora e devolve o produto;
+ * {@code POST .../ajustes} so enfileira no agrupador (202) para trafego de vendas de alta frequencia.
+ */
+@RestController
+@RequestMapping("/api/produtos/{id}/estoque")
+public class EstoqueApiController {
+
+    private final EstoqueService estoqueService;
+    private final AgrupadorAjustesEstoque agrupador;
+    private final ProdutoDtoMapper produtoDtoMapper;
+
+    public EstoqueApiController(EstoqueService estoqueService,
+                                AgrupadorAjustesEstoque agrupador,
+                                ProdutoDtoMapper produtoDtoMapper) {
+        this.estoqueService = estoqueService;
+        this.agrupador = agrupador;
+        this.produtoDtoMapper = produtoDtoMapper;
+    }
+
+    @PatchMapping
+    public ProdutoResponse ajustar(@PathVariable Long id, @RequestBody AjusteEstoqueRequest request) {
+        return produtoDtoMapper.toResponse(estoqueService.ajustar(id, request.delta()));
+    }
+
+    @PostMapping("/ajustes")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public void agrupar(@PathVariable Long id, @RequestBody AjusteEstoqueRequest request) {
+        agrupador.registrar(id, request.delta());
+    }
+}
@@ -1,14 +1,26 @@
 package org.example.controller.api;
 
-import jakarta.validation.Valid;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.exception.NegocioException;
 import org.example.model.Produto;
+import org.example.model.ProdutoResumo;
 import org.example.service.catalogo.ProdutoCatalogo;
-import org.example.service.support.ProdutoCollection;
+import org.example.service.support.CursorPagina;
+import org.example.service.support.FiltroFaixas;
+import org.example.service.support.ProdutoPagina;
 import org.example.service.support.TermoBusca;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/produtos")
@@ -16,29 +28,113 @@ public class ProdutoApiController {
 
     private final ProdutoCatalogo produtoCatalogo;
     private final ProdutoDtoMapper produtoDtoMapper;
+    private final ObjectMapper objectMapper;
 
-    public ProdutoApiController(ProdutoCatalogo produtoCatalogo, ProdutoDtoMapper produtoDtoMapper) {
+    public ProdutoApiController(ProdutoCatalogo produtoCatalogo,
+                                ProdutoDtoMapper produtoDtoMapper,
+                                ObjectMapper objectMapper) {
         this.produtoCatalogo = produtoCatalogo;
         this.produtoDtoMapper = produtoDtoMapper;
+        this.objectMapper = objectMapper;
     }
 
+    /**
+     * A colecao leva apenas ETag: remover um produto nao avanca {@code MAX(atualizado_em)},
+     * entao um Last-Modified da colecao deixaria clientes com copia desatualizada.
+     * Filtros opcionais: {@code precoMin}, {@code precoMax} e {@code estoqueMin}, combinaveis com {@code busca}.
+     */
     @GetMapping
-    public List<ProdutoResponse> listar(@RequestParam(required = false) String busca) {
-        ProdutoCollection produtos = (busca == null)
-                ? produtoCatalogo.listarTodos()
-                : produtoCatalogo.buscarPorNome(TermoBusca.of(busca));
-        return produtos.asList().stream().map(produtoDtoMapper::toResponse).toList();
+    public List<ProdutoResponse> listar(@RequestParam(required = false) String busca,
+                                        @RequestParam(required = false) BigDecimal precoMin,
+                                        @RequestParam(required = false) BigDecimal precoMax,
+                                        @RequestParam(required = false) Integer estoqueMin,
+                                        WebRequest requisicao) {
+        TermoBusca termo = TermoBusca.of(busca);
+        FiltroFaixas filtro = FiltroFaixas.of(precoMin, precoMax, estoqueMin);
+        if (requisicao.checkNotModified(ValidadoresHttp.etag(produtoCatalogo.versaoCatalogo(), requisicao))) {
+            return null;
+        }
+        return produtoCatalogo.listarResumos(termo, filtro).stream()
+                .map(produtoDtoMapper::toResponse)
+                .toList();
+    }
+
+    /** Paginacao keyset: {@code ?limit=N&after=<ultimo id recebido>}. */
+    @GetMapping(params = "limit")
+    public ProdutoPaginaResponse listarPagina(@RequestParam(required = false) String busca,
+                                              @RequestParam(required = false) BigDecimal precoMin,
+                                              @RequestParam(required = false) BigDecimal precoMax,
+                                              @RequestParam(required = false) Integer estoqueMin,
+                                              @RequestParam Integer limit,
+                                              @RequestParam(required = false) Long after,
+                                              WebRequest requisicao) {
+        TermoBusca termo = TermoBusca.of(busca);
+        FiltroFaixas filtro = FiltroFaixas.of(precoMin, precoMax, estoqueMin);
+        CursorPagina cursor = CursorPagina.of(after, limit);
+        if (requisicao.checkNotModified(ValidadoresHttp.etag(produtoCatalogo.versaoCatalogo(), requisicao))) {
+            return null;
+        }
+        ProdutoPagina pagina = produtoCatalogo.listarPagina(termo, filtro, cursor);
+        return new ProdutoPaginaResponse(
+                pagina.asList().stream().map(produtoDtoMapper::toResponse).toList(),
+                pagina.proximoCursor());
+    }
+
+    /**
+     * Exporta em NDJSON o catalogo, ou so o que casa com {@code busca}, escrevendo cada linha a
+     * medida que o cursor le. Faixas de preco e estoque nao sao aplicadas aqui e sao recusadas.
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public StreamingResponseBody exportar(@RequestParam(required = false) String busca,
+                                          @RequestParam(required = false) BigDecimal precoMin,
+                                          @RequestParam(required = false) BigDecimal precoMax,
+                                          @RequestParam(required = false) Integer estoqueMin,
+                                          WebRequest requisicao) {
+        TermoBusca termo = TermoBusca.of(busca);
+        if (precoMin != null || precoMax != null || estoqueMin != null) {
+            throw new NegocioException("A exportação NDJSON aceita apenas o parâmetro busca.");
+        }
+        ValidadoresHttp.negociar(requisicao);
+        return saida -> produtoCatalogo.percorrer(termo, produto -> escreverLinha(saida, produto));
     }
 
     @GetMapping("/{id}")
-    public ProdutoResponse buscarPorId(@PathVariable Long id) {
-        return produtoDtoMapper.toResponse(produtoCatalogo.buscarPorId(id));
+    public ProdutoResponse buscarPorId(@PathVariable Long id, WebRequest requisicao) {
+        Produto produto = produtoCatalogo.buscarPorId(id);
+        if (requisicao.checkNotModified(ValidadoresHttp.etag(produto, requisicao), ValidadoresHttp.ultimaModificacao(produto))) {
+            return null;
+        }
+        return produtoDtoMapper.toResponse(produto);
+    }
+
+    /** {@code ?ids=3,1,7}: um item por id pedido, na mesma ordem, com {@code encontrado=false} para os inexistentes. */
+    @GetMapping(params = "ids")
+    public List<ProdutoPorIdResponse> buscarPorIds(@RequestParam List<Long> ids, WebRequest requisicao) {
+        ValidadoresHttp.negociar(requisicao);
+        Map<Long, Produto> encontrados = produtoCatalogo.buscarPorIds(ids);
+        return ids.stream()
+                .map(id -> {
+                    Produto produto = encontrados.get(id);
+                    return (produto == null)
+                            ? ProdutoPorIdResponse.naoEncontrado(id)
+                            : ProdutoPorIdResponse.encontrado(produtoDtoMapper.toResponse(produto));
+                })
+                .toList();
     }
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
-    public ProdutoResponse criar(@Valid @RequestBody ProdutoRequest request) {
+    public ProdutoResponse criar(@RequestBody ProdutoRequest request) {
         Produto salvo = produtoCatalogo.salvar(produtoDtoMapper.toEntity(request));
         return produtoDtoMapper.toResponse(salvo);
     }
+
+    private void escreverLinha(OutputStream saida, ProdutoResumo produto) {
+        try {
+            saida.write(objectMapper.writeValueAsBytes(produtoDtoMapper.toResponse(produto)));
+            saida.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
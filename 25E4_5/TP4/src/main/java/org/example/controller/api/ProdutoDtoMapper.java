@@ -1,6 +1,7 @@
 package org.example.controller.api;
 
 import org.example.model.Produto;
+import org.example.model.ProdutoResumo;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -24,4 +25,8 @@ public class ProdutoDtoMapper {
                 produto.getEstoque()
         );
     }
+
+    public ProdutoResponse toResponse(ProdutoResumo resumo) {
+        return new ProdutoResponse(resumo.id(), resumo.nome(), resumo.descricao(), resumo.preco(), resumo.estoque());
+    }
 }
@@ -0,0 +1,47 @@
+package org.example.controller.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.service.importacao.ImportadorProdutos;
+import org.example.service.importacao.LeitorCsvProdutos;
+import org.example.service.importacao.LeitorJsonProdutos;
+import org.example.service.importacao.ResultadoImportacao;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Carga em lote do catalogo. O corpo e lido em streaming; cada linha rejeitada aparece
+ * em {@code erros} sem interromper as demais. JSON malformado no meio do corpo encerra a
+ * carga com {@code 200} e {@code interrompidaNaLinha}, porque os lotes anteriores ja foram gravados.
+ */
+@RestController
+@RequestMapping("/api/produtos/lote")
+public class ProdutoImportacaoApiController {
+
+    public static final String TEXT_CSV_VALUE = "text/csv";
+
+    private final ImportadorProdutos importadorProdutos;
+    private final ObjectMapper objectMapper;
+
+    public ProdutoImportacaoApiController(ImportadorProdutos importadorProdutos, ObjectMapper objectMapper) {
+        this.importadorProdutos = importadorProdutos;
+        this.objectMapper = objectMapper;
+    }
+
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResultadoImportacao importarJson(InputStream corpo) {
+        return importadorProdutos.importar(new LeitorJsonProdutos(objectMapper, corpo));
+    }
+
+    @PostMapping(consumes = TEXT_CSV_VALUE)
+    public ResultadoImportacao importarCsv(InputStream corpo) {
+        BufferedReader leitor = new BufferedReader(new InputStreamReader(corpo, StandardCharsets.UTF_8));
+        return importadorProdutos.importar(new LeitorCsvProdutos(leitor));
+    }
+}
@@ -0,0 +1,9 @@
+package org.example.controller.api;
+
+import java.util.List;
+
+public record ProdutoPaginaResponse(
+        List<ProdutoResponse> itens,
+        Long proximoCursor
+) {
+}
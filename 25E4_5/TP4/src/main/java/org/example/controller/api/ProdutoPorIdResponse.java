@@ -0,0 +1,17 @@
+package org.example.controller.api;
+
+/** Item do multi-get: {@code produto} e nulo quando o id nao existe. */
+public record ProdutoPorIdResponse(
+        Long id,
+        boolean encontrado,
+        ProdutoResponse produto
+) {
+
+    public static ProdutoPorIdResponse encontrado(ProdutoResponse produto) {
+        return new ProdutoPorIdResponse(produto.id(), true, produto);
+    }
+
+    public static ProdutoPorIdResponse naoEncontrado(Long id) {
+        return new ProdutoPorIdResponse(id, false, null);
+    }
+}
@@ -0,0 +1,46 @@
+package org.example.controller.api;
+
+import org.example.service.reajuste.ProgressoReajuste;
+import org.example.service.reajuste.ReajustePrecoService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Reajuste de precos em lote, assincrono: {@code POST} responde {@code 202} com o andamento e o
+ * {@code Location} para acompanhar; {@code cancelar} e {@code retomar} agem sobre a execucao.
+ */
+@RestController
+@RequestMapping("/api/produtos/reajustes")
+public class ReajustePrecoApiController {
+
+    private final ReajustePrecoService reajustePrecoService;
+
+    public ReajustePrecoApiController(ReajustePrecoService reajustePrecoService) {
+        this.reajustePrecoService = reajustePrecoService;
+    }
+
+    @PostMapping
+    public ResponseEntity<ProgressoReajuste> iniciar(@RequestBody ReajustePrecoRequest request,
+                                                     UriComponentsBuilder uri) {
+        ProgressoReajuste progresso = reajustePrecoService.iniciar(request.percentual(), request.precoMin(), request.precoMax());
+        return ResponseEntity.accepted()
+                .location(uri.path("/api/produtos/reajustes/{id}").buildAndExpand(progresso.id()).toUri())
+                .body(progresso);
+    }
+
+    @GetMapping("/{id}")
+    public ProgressoReajuste progresso(@PathVariable Long id) {
+        return reajustePrecoService.progresso(id);
+    }
+
+    @PostMapping("/{id}/cancelar")
+    public ResponseEntity<ProgressoReajuste> cancelar(@PathVariable Long id) {
+        return ResponseEntity.accepted().body(reajustePrecoService.cancelar(id));
+    }
+
+    @PostMapping("/{id}/retomar")
+    public ResponseEntity<ProgressoReajuste> retomar(@PathVariable Long id) {
+        return ResponseEntity.accepted().body(reajustePrecoService.retomar(id));
+    }
+}
@@ -0,0 +1,7 @@
+package org.example.controller.api;
+
+import java.math.BigDecimal;
+
+/** Corpo de {@code POST /api/produtos/reajustes}: percentual (ex.: 10 ou -5.5) e faixa opcional de preco atual. */
+public record ReajustePrecoRequest(BigDecimal percentual, BigDecimal precoMin, BigDecimal precoMax) {
+}
@@ -0,0 +1,88 @@
+package org.example.controller.api;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.model.Produto;
+import org.example.model.VersaoCatalogo;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * ETags e Last-Modified derivados de {@code atualizadoEm}, para responder
+ * {@code If-None-Match}/{@code If-Modified-Since} com 304 sem montar o corpo.
+ * As ETags sao fracas: a mesma versao sai com ou sem gzip, que nao sao iguais
+ * byte a byte (e o Tomcat nao comprime respostas com ETag forte). JSON e CBOR saem da
+ * mesma URL, entao a ETag leva a representacao e a resposta leva {@code Vary: Accept};
+ * sem isso um cache devolveria CBOR a quem pediu JSON, ou um 304 validaria o corpo errado.
+ */
+final class ValidadoresHttp {
+
+    private static final LocalDateTime EPOCA = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private ValidadoresHttp() {
+    }
+
+    static String etag(Produto produto, WebRequest requisicao) {
+        return "W/\"p" + produto.getId() + "-" + Long.toHexString(micros(produto.getAtualizadoEm()))
+                + "-" + negociar(requisicao) + "\"";
+    }
+
+    static String etag(VersaoCatalogo versao, WebRequest requisicao) {
+        return "W/\"c" + versao.total() + "-" + Long.toHexString(micros(versao.ultimaAtualizacao()))
+                + "-" + negociar(requisicao) + "\"";
+    }
+
+    /**
+     * Marca a resposta com {@code Vary: Accept} e devolve a representacao que o Spring MVC vai
+     * escolher: o primeiro tipo aceito (por qualidade e especificidade) que case com JSON ou
+     * CBOR; {@code *}{@code /*} e Accept ausente ou invalido ficam com JSON, o primeiro conversor.
+     */
+    static String negociar(WebRequest requisicao) {
+        if (requisicao instanceof NativeWebRequest nativa
+                && nativa.getNativeResponse() instanceof HttpServletResponse resposta
+                && !resposta.getHeaders(HttpHeaders.VARY).contains(HttpHeaders.ACCEPT)) {
+            resposta.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        }
+        String accept = requisicao.getHeader(HttpHeaders.ACCEPT);
+        if (accept == null) {
+            return "json";
+        }
+        List<MediaType> aceitos;
+        try {
+            aceitos = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return "json";
+        }
+        MimeTypeUtils.sortBySpecificity(aceitos);
+        for (MediaType aceito : aceitos) {
+            if (aceito.getQualityValue() == 0) {
+                continue;
+            }
+            if (aceito.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                return "json";
+            }
+            if (aceito.isCompatibleWith(MediaType.APPLICATION_CBOR)) {
+                return "cbor";
+            }
+        }
+        return "json";
+    }
+
+    /** Epoch millis para o cabecalho Last-Modified; -1 quando nao ha data (cabecalho omitido). */
+    static long ultimaModificacao(Produto produto) {
+        LocalDateTime data = produto.getAtualizadoEm();
+        return data == null ? -1 : data.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static long micros(LocalDateTime data) {
+        return data == null ? 0 : ChronoUnit.MICROS.between(EPOCA, data);
+    }
+}
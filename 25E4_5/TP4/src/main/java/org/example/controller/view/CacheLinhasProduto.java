@@ -0,0 +1,87 @@
+package org.example.controller.view;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.example.model.Produto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.WebContext;
+import org.thymeleaf.web.IWebExchange;
+import org.thymeleaf.web.servlet.JakartaServletWebApplication;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Cache do HTML de cada linha da tabela de produtos ({@code produtos/linha :: linha}),
+ * chaveado por id + {@code atualizadoEm}: qualquer gravacao gera chave nova, entao a linha
+ * antiga nunca e servida e sai do cache por tamanho. Desligado por padrao; o perfil
+ * {@code prod} liga com {@code catalogo.lista.cache-linhas.habilitado=true}.
+ */
+@Component
+public class CacheLinhasProduto {
+
+    static final String TEMPLATE = "produtos/linha";
+    static final Set<String> FRAGMENTO = Set.of("linha");
+
+    private final ITemplateEngine templateEngine;
+    private final boolean habilitado;
+    private final Cache<Chave, String> linhas;
+
+    public CacheLinhasProduto(ITemplateEngine templateEngine,
+                              @Value("${catalogo.lista.cache-linhas.habilitado:false}") boolean habilitado,
+                              @Value("${catalogo.lista.cache-linhas.tamanho-maximo:5000}") long tamanhoMaximo) {
+        this.templateEngine = templateEngine;
+        this.habilitado = habilitado;
+        this.linhas = Caffeine.newBuilder().maximumSize(tamanhoMaximo).build();
+    }
+
+    public boolean estaHabilitado() {
+        return habilitado;
+    }
+
+    /**
+     * HTML de cada produto, na mesma ordem; so renderiza as linhas que nao estao no cache.
+     * A linha e compartilhada entre usuarios, entao os links sao gerados sem
+     * {@code encodeURL} (que anexaria o {@code jsessionid} de quem renderizou primeiro).
+     */
+    public List<String> renderizar(List<Produto> produtos, HttpServletRequest request, HttpServletResponse response) {
+        IWebExchange exchange = JakartaServletWebApplication.buildApplication(request.getServletContext())
+                .buildExchange(request, new RespostaSemSessaoNaUrl(response));
+        return produtos.stream()
+                .map(p -> linhas.get(new Chave(p.getId(), p.getAtualizadoEm()), chave -> renderizar(p, exchange)))
+                .toList();
+    }
+
+    private String renderizar(Produto produto, IWebExchange exchange) {
+        WebContext contexto = new WebContext(exchange, LocaleContextHolder.getLocale());
+        contexto.setVariable("p", produto);
+        return templateEngine.process(TEMPLATE, FRAGMENTO, contexto);
+    }
+
+    private static final class RespostaSemSessaoNaUrl extends HttpServletResponseWrapper {
+
+        RespostaSemSessaoNaUrl(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public String encodeURL(String url) {
+            return url;
+        }
+
+        @Override
+        public String encodeRedirectURL(String url) {
+            return url;
+        }
+    }
+
+    private record Chave(Long id, LocalDateTime atualizadoEm) {
+    }
+}
@@ -0,0 +1,11 @@
+package org.example.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class ReajusteNotFoundException extends RuntimeException {
+    public ReajusteNotFoundException(Long id) {
+        super("Reajuste com ID " + id + " não encontrado.");
+    }
+}
@@ -0,0 +1,18 @@
+package org.example.exception;
+
+import java.time.Duration;
+
+/** Escrita recusada pelo controle de admissao; vira {@code 429} com {@code Retry-After}. */
+public class SobrecargaException extends RuntimeException {
+
+    private final Duration tentarApos;
+
+    public SobrecargaException(String mensagem, Duration tentarApos) {
+        super(mensagem);
+        this.tentarApos = tentarApos;
+    }
+
+    public Duration getTentarApos() {
+        return tentarApos;
+    }
+}
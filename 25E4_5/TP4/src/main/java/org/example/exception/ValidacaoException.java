@@ -0,0 +1,26 @@
+package org.example.exception;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Todas as regras violadas por um produto, de uma vez. A mensagem junta as de cada campo,
+ * para quem so trata {@link NegocioException}; o MVC usa {@link #getViolacoes()} para
+ * marcar cada campo do formulario.
+ */
+public class ValidacaoException extends NegocioException {
+
+    private final List<Violacao> violacoes;
+
+    public ValidacaoException(List<Violacao> violacoes) {
+        super(violacoes.stream().map(Violacao::mensagem).collect(Collectors.joining(" ")));
+        this.violacoes = List.copyOf(violacoes);
+    }
+
+    public List<Violacao> getViolacoes() {
+        return violacoes;
+    }
+
+    public record Violacao(String campo, String mensagem) {
+    }
+}
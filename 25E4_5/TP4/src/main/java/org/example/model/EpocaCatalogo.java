@@ -0,0 +1,32 @@
+package org.example.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Identidade do banco do catalogo: linha unica com um valor sorteado quando o banco nasce.
+ * Cada registro do log de auditoria leva essa epoca, entao um log que sobreviveu ao banco
+ * (H2 em memoria recriado, arquivo apagado) nao e misturado com os ids do banco novo.
+ */
+@Entity
+@Table(name = "catalogo_epoca")
+public class EpocaCatalogo {
+
+    public static final int ID = 1;
+
+    @Id
+    private Integer id;
+
+    @Column(nullable = false, length = 32)
+    private String valor;
+
+    protected EpocaCatalogo() {}
+
+    public EpocaCatalogo(String valor) {
+        this.id = ID;
+        this.valor = valor;
+    }
+
+    public Integer getId() { return id; }
+    public String getValor() { return valor; }
+    public void setValor(String valor) { this.valor = valor; }
+}
@@ -1,39 +1,44 @@
 package org.example.model;
 
 import jakarta.persistence.*;
-import jakarta.validation.constraints.*;
+import org.example.repository.evento.ProdutoPersistenciaListener;
+
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "produtos")
+@Table(name = "produtos", indexes = {
+        @Index(name = "idx_produtos_nome", columnList = "nome"),
+        @Index(name = "idx_produtos_preco", columnList = "preco")
+})
+@EntityListeners(ProdutoPersistenciaListener.class)
 public class Produto {
 
+    // SEQUENCE (com pool de ids) em vez de IDENTITY: IDENTITY obriga o Hibernate a
+    // executar cada INSERT na hora para obter o id, o que desliga o batch JDBC.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "produtos_seq")
+    @SequenceGenerator(name = "produtos_seq", sequenceName = "produtos_seq", allocationSize = 50)
     private Long id;
 
-    @NotBlank(message = "O nome é obrigatório.")
-    @Size(min = 2, max = 100, message = "O nome deve ter entre 2 e 100 caracteres.")
+    // Regras de conteudo em ProdutoValidador; aqui so o que o esquema do banco precisa.
     @Column(nullable = false, length = 100)
     private String nome;
 
-    @Size(max = 500, message = "A descrição deve ter no máximo 500 caracteres.")
     @Column(length = 500)
     private String descricao;
 
-    @NotNull(message = "O preço é obrigatório.")
-    @DecimalMin(value = "0.01", message = "O preço deve ser maior que zero.")
-    @DecimalMax(value = "999999.99", message = "O preço não pode exceder 999.999,99.")
     @Column(nullable = false, precision = 10, scale = 2)
     private BigDecimal preco;
 
-    @NotNull(message = "O estoque é obrigatório.")
-    @Min(value = 0, message = "O estoque não pode ser negativo.")
-    @Max(value = 100000, message = "O estoque não pode exceder 100.000 unidades.")
     @Column(nullable = false)
     private Integer estoque;
 
+    // Lock otimista: duas transacoes que editam o mesmo produto nao se sobrescrevem em silencio.
+    @Version
+    @Column(nullable = false)
+    private Long versao;
+
     @Column(name = "criado_em", updatable = false)
     private LocalDateTime criadoEm;
 
@@ -61,6 +66,16 @@ public class Produto {
         this.estoque = estoque;
     }
 
+    /** Copia desanexada com todos os campos, inclusive as datas de auditoria. */
+    public Produto copiar() {
+        Produto copia = new Produto(nome, descricao, preco, estoque);
+        copia.id = id;
+        copia.versao = versao;
+        copia.criadoEm = criadoEm;
+        copia.atualizadoEm = atualizadoEm;
+        return copia;
+    }
+
     // Getters and Setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -77,6 +92,8 @@ public class Produto {
     public Integer getEstoque() { return estoque; }
     public void setEstoque(Integer estoque) { this.estoque = estoque; }
 
+    public Long getVersao() { return versao; }
+
     public LocalDateTime getCriadoEm() { return criadoEm; }
     public LocalDateTime getAtualizadoEm() { return atualizadoEm; }
 
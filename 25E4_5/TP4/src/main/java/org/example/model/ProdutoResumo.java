@@ -0,0 +1,16 @@
+package org.example.model;
+
+import java.math.BigDecimal;
+
+/**
+ * Leitura de produto sem entidade gerenciada: montada direto pelo SELECT (constructor
+ * expression), sem snapshot de dirty checking nem campos de auditoria.
+ */
+public record ProdutoResumo(
+        Long id,
+        String nome,
+        String descricao,
+        BigDecimal preco,
+        Integer estoque
+) {
+}
@@ -0,0 +1,46 @@
+package org.example.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Checkpoint de um bloco de {@link ReajustePreco}: gravado na mesma transacao que altera
+ * os precos do bloco, entao existe se e somente se o bloco foi aplicado. A chave unica
+ * impede que o mesmo bloco seja aplicado duas vezes.
+ */
+@Entity
+@Table(name = "reajustes_preco_blocos",
+        uniqueConstraints = @UniqueConstraint(name = "uk_reajustes_preco_blocos", columnNames = {"reajuste_id", "bloco"}))
+public class ReajusteBloco {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "reajuste_id", nullable = false)
+    private Long reajusteId;
+
+    @Column(nullable = false)
+    private Integer bloco;
+
+    @Column(nullable = false)
+    private Integer reajustados;
+
+    // Produtos da faixa cujo novo preco sairia dos limites do ProdutoValidador.
+    @Column(name = "fora_dos_limites", nullable = false)
+    private Integer foraDosLimites;
+
+    protected ReajusteBloco() {}
+
+    public ReajusteBloco(Long reajusteId, Integer bloco, Integer reajustados, Integer foraDosLimites) {
+        this.reajusteId = reajusteId;
+        this.bloco = bloco;
+        this.reajustados = reajustados;
+        this.foraDosLimites = foraDosLimites;
+    }
+
+    public Long getId() { return id; }
+    public Long getReajusteId() { return reajusteId; }
+    public Integer getBloco() { return bloco; }
+    public Integer getReajustados() { return reajustados; }
+    public Integer getForaDosLimites() { return foraDosLimites; }
+}
@@ -0,0 +1,104 @@
+package org.example.model;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Reajuste percentual de precos em lote. O espaco de ids e fixado na criacao
+ * ({@code idInicial}..{@code idFinal}) e dividido em blocos de {@code tamanhoBloco} ids;
+ * cada bloco concluido fica em {@link ReajusteBloco}, que e o checkpoint da retomada.
+ */
+@Entity
+@Table(name = "reajustes_preco")
+public class ReajustePreco {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, precision = 8, scale = 4)
+    private BigDecimal percentual;
+
+    // Faixa opcional de preco atual; null = sem limite daquele lado.
+    @Column(name = "preco_minimo", precision = 10, scale = 2)
+    private BigDecimal precoMinimo;
+
+    @Column(name = "preco_maximo", precision = 10, scale = 2)
+    private BigDecimal precoMaximo;
+
+    @Column(name = "id_inicial", nullable = false)
+    private Long idInicial;
+
+    @Column(name = "id_final", nullable = false)
+    private Long idFinal;
+
+    @Column(name = "tamanho_bloco", nullable = false)
+    private Integer tamanhoBloco;
+
+    @Column(name = "total_blocos", nullable = false)
+    private Integer totalBlocos;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private StatusReajuste status;
+
+    @Column(name = "criado_em", nullable = false)
+    private LocalDateTime criadoEm;
+
+    @Column(name = "concluido_em")
+    private LocalDateTime concluidoEm;
+
+    protected ReajustePreco() {}
+
+    public ReajustePreco(BigDecimal percentual, BigDecimal precoMinimo, BigDecimal precoMaximo,
+                         Long idInicial, Long idFinal, Integer tamanhoBloco) {
+        this.percentual = percentual;
+        this.precoMinimo = precoMinimo;
+        this.precoMaximo = precoMaximo;
+        this.idInicial = idInicial;
+        this.idFinal = idFinal;
+        this.tamanhoBloco = tamanhoBloco;
+        this.totalBlocos = (idFinal < idInicial) ? 0 : (int) ((idFinal - idInicial) / tamanhoBloco + 1);
+        this.status = StatusReajuste.EXECUTANDO;
+        this.criadoEm = LocalDateTime.now();
+    }
+
+    /** Multiplicador do preco: 10% vira 1.10, -5% vira 0.95. */
+    public BigDecimal fator() {
+        return BigDecimal.ONE.add(percentual.movePointLeft(2));
+    }
+
+    /** Primeiro id do bloco (inclusivo). */
+    public long inicioBloco(int bloco) {
+        return idInicial + (long) bloco * tamanhoBloco;
+    }
+
+    /** Ultimo id do bloco (inclusivo); o ultimo bloco pode ser menor. */
+    public long fimBloco(int bloco) {
+        return Math.min(inicioBloco(bloco) + tamanhoBloco - 1, idFinal);
+    }
+
+    public void encerrar(StatusReajuste status) {
+        this.status = status;
+        this.concluidoEm = LocalDateTime.now();
+    }
+
+    public void reabrir() {
+        this.status = StatusReajuste.EXECUTANDO;
+        this.concluidoEm = null;
+    }
+
+    public Long getId() { return id; }
+    public BigDecimal getPercentual() { return percentual; }
+    public BigDecimal getPrecoMinimo() { return precoMinimo; }
+    public BigDecimal getPrecoMaximo() { return precoMaximo; }
+    public Long getIdInicial() { return idInicial; }
+    public Long getIdFinal() { return idFinal; }
+    public Integer getTamanhoBloco() { return tamanhoBloco; }
+    public Integer getTotalBlocos() { return totalBlocos; }
+    public StatusReajuste getStatus() { return status; }
+    public LocalDateTime getCriadoEm() { return criadoEm; }
+    public LocalDateTime getConcluidoEm() { return concluidoEm; }
+}
@@ -0,0 +1,5 @@
+package org.example.model;
+
+/** Soma dos checkpoints de um {@link ReajustePreco}: blocos aplicados e produtos por desfecho. */
+public record ResumoBlocosReajuste(long blocos, long reajustados, long foraDosLimites) {
+}
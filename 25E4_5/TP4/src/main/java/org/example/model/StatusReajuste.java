@@ -0,0 +1,13 @@
+package org.example.model;
+
+/**
+ * Situacao de um {@link ReajustePreco}. {@code INTERROMPIDO} nao e gravado: e como aparece
+ * um reajuste que ficou {@code EXECUTANDO} no banco sem execucao viva (queda da aplicacao).
+ */
+public enum StatusReajuste {
+    EXECUTANDO,
+    CONCLUIDO,
+    CANCELADO,
+    FALHOU,
+    INTERROMPIDO
+}
@@ -0,0 +1,11 @@
+package org.example.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Resumo barato do estado do catalogo ({@code COUNT} e {@code MAX(atualizado_em)}), usado
+ * para validar caches HTTP da colecao sem ler as linhas. Criar ou editar avanca
+ * {@code ultimaAtualizacao}; remover muda {@code total}.
+ */
+public record VersaoCatalogo(long total, LocalDateTime ultimaAtualizacao) {
+}
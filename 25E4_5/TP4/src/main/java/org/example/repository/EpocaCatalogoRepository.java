@@ -0,0 +1,9 @@
+package org.example.repository;
+
+import org.example.model.EpocaCatalogo;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface EpocaCatalogoRepository extends JpaRepository<EpocaCatalogo, Integer> {
+}
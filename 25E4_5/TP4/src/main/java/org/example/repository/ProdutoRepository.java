@@ -1,19 +1,78 @@
 package org.example.repository;
 
 import org.example.model.Produto;
+import org.example.model.ProdutoResumo;
+import org.example.model.VersaoCatalogo;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface ProdutoRepository extends JpaRepository<Produto, Long> {
+public interface ProdutoRepository extends JpaRepository<Produto, Long>, ProdutoRepositoryCustom {
+
+    /** Projecao usada pelas leituras da API: evita hidratar {@link Produto}. */
+    String SELECT_RESUMO = "SELECT new org.example.model.ProdutoResumo(p.id, p.nome, p.descricao, p.preco, p.estoque)"
+            + " FROM Produto p";
+
+    /** Mesma semantica de {@code ContainingIgnoreCase}, inclusive escapando {@code %} e {@code _} do termo. */
+    String FILTRO_NOME = "UPPER(p.nome) LIKE UPPER(CONCAT('%', :#{escape(#nome)}, '%')) ESCAPE :#{escapeCharacter()}";
+
+    /** Limites opcionais de preco e estoque: fallback do {@code IndiceFaixasProdutos}. */
+    String FILTRO_FAIXAS = "(:precoMin IS NULL OR p.preco >= :precoMin)"
+            + " AND (:precoMax IS NULL OR p.preco <= :precoMax)"
+            + " AND (:estoqueMin IS NULL OR p.estoque >= :estoqueMin)";
 
     List<Produto> findByNomeContainingIgnoreCase(String nome);
 
+    Page<Produto> findByNomeContainingIgnoreCase(String nome, Pageable pageable);
+
+    @Query("SELECT new org.example.model.VersaoCatalogo(COUNT(p), MAX(p.atualizadoEm)) FROM Produto p")
+    VersaoCatalogo versaoCatalogo();
+
+    @Query(SELECT_RESUMO + " ORDER BY p.id")
+    List<ProdutoResumo> listarResumos();
+
+    @Query(SELECT_RESUMO + " WHERE " + FILTRO_NOME + " ORDER BY p.id")
+    List<ProdutoResumo> listarResumosPorNome(@Param("nome") String nome);
+
+    @Query(SELECT_RESUMO + " WHERE p.id IN :ids")
+    List<ProdutoResumo> listarResumosPorIds(@Param("ids") Collection<Long> ids);
+
+    @Query(SELECT_RESUMO + " WHERE p.id > :apos ORDER BY p.id")
+    List<ProdutoResumo> listarResumosApos(@Param("apos") Long apos, Limit limite);
+
+    @Query(SELECT_RESUMO + " WHERE " + FILTRO_NOME + " AND p.id > :apos ORDER BY p.id")
+    List<ProdutoResumo> listarResumosPorNomeApos(@Param("nome") String nome, @Param("apos") Long apos, Limit limite);
+
+    /** Produtos alterados por ultimo primeiro: os candidatos a "quentes" no aquecimento. */
+    @Query("SELECT p.id FROM Produto p ORDER BY p.atualizadoEm DESC, p.id DESC")
+    List<Long> listarIdsRecentes(Limit limite);
+
+    @Query(SELECT_RESUMO + " WHERE " + FILTRO_FAIXAS + " AND p.id > :apos ORDER BY p.id")
+    List<ProdutoResumo> listarResumosPorFaixasApos(@Param("precoMin") BigDecimal precoMin,
+                                                   @Param("precoMax") BigDecimal precoMax,
+                                                   @Param("estoqueMin") Integer estoqueMin,
+                                                   @Param("apos") Long apos,
+                                                   Limit limite);
+
+    @Query(SELECT_RESUMO + " WHERE " + FILTRO_NOME + " AND " + FILTRO_FAIXAS + " AND p.id > :apos ORDER BY p.id")
+    List<ProdutoResumo> listarResumosPorNomeEFaixasApos(@Param("nome") String nome,
+                                                        @Param("precoMin") BigDecimal precoMin,
+                                                        @Param("precoMax") BigDecimal precoMax,
+                                                        @Param("estoqueMin") Integer estoqueMin,
+                                                        @Param("apos") Long apos,
+                                                        Limit limite);
+
     List<Produto> findByPrecoBetween(BigDecimal min, BigDecimal max);
 
     List<Produto> findByEstoqueGreaterThan(int quantidade);
@@ -23,6 +82,34 @@ public interface ProdutoRepository extends JpaRepository<Produto, Long> {
 
     boolean existsByNomeIgnoreCase(String nome);
 
+    /**
+     * Soma {@code delta} ao estoque num unico UPDATE, so se o resultado ficar entre 0 e
+     * {@code maximo}. Devolve 0 quando o produto nao existe ou o limite seria violado.
+     * Nao dispara callbacks JPA: quem chama publica o evento de alteracao.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Produto p SET p.estoque = p.estoque + :delta, p.versao = p.versao + 1, p.atualizadoEm = :agora"
+            + " WHERE p.id = :id AND p.estoque + :delta BETWEEN 0 AND :maximo")
+    int ajustarEstoque(@Param("id") Long id,
+                       @Param("delta") int delta,
+                       @Param("maximo") int maximo,
+                       @Param("agora") LocalDateTime agora);
+
+    @Query("SELECT MIN(p.id) FROM Produto p")
+    Long menorId();
+
+    @Query("SELECT MAX(p.id) FROM Produto p")
+    Long maiorId();
+
+    /** Produtos de um bloco de ids com preco na faixa (limites nulos sao ignorados), para o reajuste em lote. */
+    @Query("SELECT p FROM Produto p WHERE p.id BETWEEN :de AND :ate"
+            + " AND (:precoMin IS NULL OR p.preco >= :precoMin) AND (:precoMax IS NULL OR p.preco <= :precoMax)"
+            + " ORDER BY p.id")
+    List<Produto> listarParaReajuste(@Param("de") long de,
+                                     @Param("ate") long ate,
+                                     @Param("precoMin") BigDecimal precoMin,
+                                     @Param("precoMax") BigDecimal precoMax);
+
     @Query("SELECT COUNT(p) FROM Produto p WHERE p.preco > :valor")
     long countByPrecoAcimaDe(@Param("valor") BigDecimal valor);
 }
@@ -0,0 +1,30 @@
+package org.example.repository;
+
+import org.example.model.ProdutoResumo;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Operacoes de leitura que nao cabem em query methods do Spring Data.
+ */
+public interface ProdutoRepositoryCustom {
+
+    /**
+     * Percorre todos os produtos em ordem de id usando cursor JDBC. Cada linha vira um
+     * {@link ProdutoResumo}, que nao entra no contexto de persistencia.
+     * Deve ser chamado dentro de uma transacao.
+     */
+    void percorrerResumosEmOrdemDeId(Consumer<ProdutoResumo> consumidor);
+
+    /** Como {@link #percorrerResumosEmOrdemDeId}, so os que casam com {@link ProdutoRepository#FILTRO_NOME}. */
+    void percorrerResumosPorNomeEmOrdemDeId(String nome, Consumer<ProdutoResumo> consumidor);
+
+    /**
+     * Pares {@code [id, valor]} da propriedade pedida para os ids informados, para ordenar em
+     * memoria um conjunto ja filtrado. {@code propriedade} vem de uma lista fechada
+     * ({@code CampoOrdenacao}), nunca da URL.
+     */
+    List<Object[]> listarValoresPorIds(Collection<Long> ids, String propriedade);
+}
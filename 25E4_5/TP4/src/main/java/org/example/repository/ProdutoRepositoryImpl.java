@@ -0,0 +1,53 @@
+package org.example.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.example.model.ProdutoResumo;
+import org.hibernate.jpa.AvailableHints;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+class ProdutoRepositoryImpl implements ProdutoRepositoryCustom {
+
+    private static final int FETCH_SIZE = 500;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public void percorrerResumosEmOrdemDeId(Consumer<ProdutoResumo> consumidor) {
+        percorrer(entityManager.createQuery(ProdutoRepository.SELECT_RESUMO + " ORDER BY p.id", ProdutoResumo.class),
+                consumidor);
+    }
+
+    @Override
+    public void percorrerResumosPorNomeEmOrdemDeId(String nome, Consumer<ProdutoResumo> consumidor) {
+        // FILTRO_NOME usa SpEL do Spring Data; aqui o escape de % e _ e feito a mao, com o mesmo caractere.
+        String padrao = "%" + nome.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+        percorrer(entityManager.createQuery(ProdutoRepository.SELECT_RESUMO
+                                + " WHERE UPPER(p.nome) LIKE UPPER(:padrao) ESCAPE :escape ORDER BY p.id", ProdutoResumo.class)
+                        .setParameter("padrao", padrao)
+                        .setParameter("escape", '\\'),
+                consumidor);
+    }
+
+    @Override
+    public List<Object[]> listarValoresPorIds(Collection<Long> ids, String propriedade) {
+        return entityManager
+                .createQuery("SELECT p.id, p." + propriedade + " FROM Produto p WHERE p.id IN :ids", Object[].class)
+                .setParameter("ids", ids)
+                .getResultList();
+    }
+
+    private static void percorrer(TypedQuery<ProdutoResumo> consulta, Consumer<ProdutoResumo> consumidor) {
+        try (Stream<ProdutoResumo> resumos = consulta
+                .setHint(AvailableHints.HINT_FETCH_SIZE, FETCH_SIZE)
+                .getResultStream()) {
+            resumos.forEach(consumidor);
+        }
+    }
+}
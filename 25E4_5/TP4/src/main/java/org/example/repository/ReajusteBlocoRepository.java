@@ -0,0 +1,21 @@
+package org.example.repository;
+
+import org.example.model.ReajusteBloco;
+import org.example.model.ResumoBlocosReajuste;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ReajusteBlocoRepository extends JpaRepository<ReajusteBloco, Long> {
+
+    @Query("SELECT b.bloco FROM ReajusteBloco b WHERE b.reajusteId = :reajusteId")
+    List<Integer> listarBlocosConcluidos(@Param("reajusteId") Long reajusteId);
+
+    @Query("SELECT new org.example.model.ResumoBlocosReajuste(COUNT(b), COALESCE(SUM(b.reajustados), 0L),"
+            + " COALESCE(SUM(b.foraDosLimites), 0L)) FROM ReajusteBloco b WHERE b.reajusteId = :reajusteId")
+    ResumoBlocosReajuste resumir(@Param("reajusteId") Long reajusteId);
+}
@@ -0,0 +1,9 @@
+package org.example.repository;
+
+import org.example.model.ReajustePreco;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ReajustePrecoRepository extends JpaRepository<ReajustePreco, Long> {
+}
@@ -0,0 +1,35 @@
+package org.example.repository.evento;
+
+import org.example.model.Produto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Fotografia imutavel de um produto no momento em que a alteracao foi confirmada.
+ * Publicado somente apos o commit da transacao que gravou o produto.
+ */
+public record ProdutoAlteradoEvent(
+        TipoAlteracao tipo,
+        Long id,
+        String nome,
+        String descricao,
+        BigDecimal preco,
+        Integer estoque,
+        LocalDateTime atualizadoEm,
+        Long versao
+) {
+
+    public static ProdutoAlteradoEvent of(TipoAlteracao tipo, Produto produto) {
+        return new ProdutoAlteradoEvent(
+                tipo,
+                produto.getId(),
+                produto.getNome(),
+                produto.getDescricao(),
+                produto.getPreco(),
+                produto.getEstoque(),
+                produto.getAtualizadoEm(),
+                produto.getVersao()
+        );
+    }
+}
@@ -0,0 +1,58 @@
+package org.example.repository.evento;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.example.model.Produto;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Entity listener JPA que transforma gravacoes de {@link Produto} em
+ * {@link ProdutoAlteradoEvent}. Captura tanto o fluxo do servico quanto gravacoes
+ * diretas no repositorio; dentro de uma transacao, o evento so sai apos o commit.
+ */
+@Component
+public class ProdutoPersistenciaListener {
+
+    private final ApplicationEventPublisher publisher;
+
+    public ProdutoPersistenciaListener(ApplicationEventPublisher publisher) {
+        this.publisher = publisher;
+    }
+
+    @PostPersist
+    void aposCriar(Produto produto) {
+        publicarAposCommit(ProdutoAlteradoEvent.of(TipoAlteracao.CRIADO, produto));
+    }
+
+    @PostUpdate
+    void aposAtualizar(Produto produto) {
+        publicarAposCommit(ProdutoAlteradoEvent.of(TipoAlteracao.ATUALIZADO, produto));
+    }
+
+    @PostRemove
+    void aposRemover(Produto produto) {
+        publicarAposCommit(ProdutoAlteradoEvent.of(TipoAlteracao.REMOVIDO, produto));
+    }
+
+    /** Para UPDATEs em JPQL, que nao passam pelos callbacks de entidade. */
+    public void publicarAtualizacao(Produto produto) {
+        aposAtualizar(produto);
+    }
+
+    private void publicarAposCommit(ProdutoAlteradoEvent evento) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publisher.publishEvent(evento);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                publisher.publishEvent(evento);
+            }
+        });
+    }
+}
@@ -0,0 +1,7 @@
+package org.example.repository.evento;
+
+public enum TipoAlteracao {
+    CRIADO,
+    ATUALIZADO,
+    REMOVIDO
+}
@@ -1,19 +1,46 @@
 package org.example.service;
 
+import io.micrometer.core.annotation.Timed;
+import org.example.config.MetricasConfig;
 import org.example.exception.NegocioException;
 import org.example.exception.ProdutoNotFoundException;
 import org.example.model.Produto;
+import org.example.model.ProdutoResumo;
+import org.example.model.VersaoCatalogo;
 import org.example.repository.ProdutoRepository;
+import org.example.service.auditoria.AuditoriaProdutos;
+import org.example.service.auditoria.EstadoProduto;
+import org.example.service.busca.IndiceBuscaProdutos;
+import org.example.service.busca.IndiceFaixasProdutos;
+import org.example.service.cache.CacheProdutos;
 import org.example.service.catalogo.ProdutoCatalogo;
 import org.example.service.mutation.ProdutoMutator;
 import org.example.service.sanitization.ProdutoSanitizador;
+import org.example.service.support.ConsultaListagem;
+import org.example.service.support.CursorPagina;
+import org.example.service.support.FiltroFaixas;
 import org.example.service.support.ProdutoCollection;
+import org.example.service.support.ProdutoPagina;
 import org.example.service.support.TermoBusca;
 import org.example.service.validation.ProdutoValidador;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Serviço de negócio para Produto.
@@ -21,21 +48,36 @@ import java.util.List;
  */
 @Service
 @Transactional
+@Timed(value = MetricasConfig.TIMER_ETAPA, extraTags = {"etapa", "servico"}, histogram = true)
 public class ProdutoService implements ProdutoCatalogo {
 
+    private static final int TAMANHO_LOTE_IN = 1000;
+
     private final ProdutoRepository produtoRepository;
     private final ProdutoValidador produtoValidador;
     private final ProdutoSanitizador produtoSanitizador;
     private final ProdutoMutator produtoMutator;
+    private final IndiceBuscaProdutos indiceBusca;
+    private final IndiceFaixasProdutos indiceFaixas;
+    private final CacheProdutos cacheProdutos;
+    private final AuditoriaProdutos auditoria;
 
     public ProdutoService(ProdutoRepository produtoRepository,
                           ProdutoValidador produtoValidador,
                           ProdutoSanitizador produtoSanitizador,
-                          ProdutoMutator produtoMutator) {
+                          ProdutoMutator produtoMutator,
+                          IndiceBuscaProdutos indiceBusca,
+                          IndiceFaixasProdutos indiceFaixas,
+                          CacheProdutos cacheProdutos,
+                          AuditoriaProdutos auditoria) {
         this.produtoRepository = produtoRepository;
         this.produtoValidador = produtoValidador;
         this.produtoSanitizador = produtoSanitizador;
         this.produtoMutator = produtoMutator;
+        this.indiceBusca = indiceBusca;
+        this.indiceFaixas = indiceFaixas;
+        this.cacheProdutos = cacheProdutos;
+        this.auditoria = auditoria;
     }
 
     @Override
@@ -44,6 +86,101 @@ public class ProdutoService implements ProdutoCatalogo {
         return ProdutoCollection.of(produtoRepository.findAll());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public VersaoCatalogo versaoCatalogo() {
+        return produtoRepository.versaoCatalogo();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProdutoResumo> listarResumos(TermoBusca termoBusca, FiltroFaixas filtro) {
+        if (!filtro.estaVazio()) {
+            return filtrosEmMemoria(termoBusca)
+                    ? carregarResumosNaOrdem(idsFiltrados(termoBusca, filtro))
+                    : List.copyOf(listarResumosPorFaixas(termoBusca, filtro, 0L, Limit.unlimited()));
+        }
+        if (termoBusca.estaVazio()) {
+            return List.copyOf(produtoRepository.listarResumos());
+        }
+        if (!indiceBusca.estaPronto()) {
+            return List.copyOf(produtoRepository.listarResumosPorNome(termoBusca.valorNormalizado()));
+        }
+        return carregarResumosNaOrdem(indiceBusca.buscar(termoBusca.valorNormalizado()));
+    }
+
+    /**
+     * Com os indices prontos, a pagina sai dos ids em memoria (os do indice de busca, filtrados
+     * pelas faixas quando houver, ordenados por id a partir do cursor), o mesmo conjunto da
+     * listagem sem paginacao e da exportacao; sem eles, do keyset no banco.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public ProdutoPagina listarPagina(TermoBusca termoBusca, FiltroFaixas filtro, CursorPagina cursor) {
+        Limit limite = Limit.of(cursor.limite());
+        List<ProdutoResumo> itens;
+        if (!filtro.estaVazio() && filtrosEmMemoria(termoBusca)) {
+            itens = paginaDosIds(idsFiltrados(termoBusca, filtro), cursor);
+        } else if (!filtro.estaVazio()) {
+            itens = listarResumosPorFaixas(termoBusca, filtro, cursor.apos(), limite);
+        } else if (termoBusca.estaVazio()) {
+            itens = produtoRepository.listarResumosApos(cursor.apos(), limite);
+        } else if (indiceBusca.estaPronto()) {
+            itens = paginaDosIds(indiceBusca.buscar(termoBusca.valorNormalizado()), cursor);
+        } else {
+            itens = produtoRepository.listarResumosPorNomeApos(termoBusca.valorNormalizado(), cursor.apos(), limite);
+        }
+        return ProdutoPagina.of(itens, cursor);
+    }
+
+    /** Keyset sobre ids em memoria: ordena por id e projeta os {@code limite} seguintes ao cursor. */
+    private List<ProdutoResumo> paginaDosIds(List<Long> ids, CursorPagina cursor) {
+        List<Long> ordenados = ids.stream().sorted().toList();
+        int inicio = Collections.binarySearch(ordenados, cursor.apos() + 1);
+        inicio = (inicio < 0) ? -inicio - 1 : inicio;
+        return carregarResumosNaOrdem(ordenados.subList(inicio, Math.min(inicio + cursor.limite(), ordenados.size())));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void percorrer(TermoBusca termoBusca, Consumer<ProdutoResumo> consumidor) {
+        if (termoBusca.estaVazio()) {
+            produtoRepository.percorrerResumosEmOrdemDeId(consumidor);
+        } else if (!indiceBusca.estaPronto()) {
+            produtoRepository.percorrerResumosPorNomeEmOrdemDeId(termoBusca.valorNormalizado(), consumidor);
+        } else {
+            List<Long> ids = indiceBusca.buscar(termoBusca.valorNormalizado());
+            for (int i = 0; i < ids.size(); i += TAMANHO_LOTE_IN) {
+                carregarResumosNaOrdem(ids.subList(i, Math.min(i + TAMANHO_LOTE_IN, ids.size()))).forEach(consumidor);
+            }
+        }
+    }
+
+    /**
+     * Pagina da interface web. Com termo e indice pronto, o conjunto sai sempre do indice,
+     * qualquer que seja a ordem: por relevancia pagina a lista de ids como veio, por coluna
+     * ordena esses ids em memoria, e so os da pagina sao carregados. Sem termo, ou enquanto
+     * o indice nao fica pronto, vira LIMIT/OFFSET com ORDER BY no banco.
+     */
+    @Transactional(readOnly = true)
+    public Page<Produto> listarPaginado(ConsultaListagem consulta) {
+        Pageable pageable = consulta.pageable();
+        TermoBusca termoBusca = consulta.termoBusca();
+        if (termoBusca.estaVazio()) {
+            return produtoRepository.findAll(pageable);
+        }
+        if (indiceBusca.estaPronto()) {
+            List<Long> ids = indiceBusca.buscar(termoBusca.valorNormalizado());
+            if (!consulta.porRelevancia()) {
+                ids = ordenarPorColuna(ids, consulta);
+            }
+            int inicio = (int) Math.min(pageable.getOffset(), ids.size());
+            int fim = Math.min(inicio + pageable.getPageSize(), ids.size());
+            return new PageImpl<>(carregarNaOrdem(ids.subList(inicio, fim)), pageable, ids.size());
+        }
+        return produtoRepository.findByNomeContainingIgnoreCase(termoBusca.valorNormalizado(), pageable);
+    }
+
     @Transactional(readOnly = true)
     public List<Produto> listarTodosComoLista() {
         return listarTodos().asList();
@@ -53,8 +190,15 @@ public class ProdutoService implements ProdutoCatalogo {
     @Transactional(readOnly = true)
     public Produto buscarPorId(Long id) {
         produtoValidador.validarId(id);
-        return produtoRepository.findById(id)
-                .orElseThrow(() -> new ProdutoNotFoundException(id));
+        return cacheProdutos.obter(id, this::carregar);
+    }
+
+    /** Multi-get: uma validacao para a lista e um unico {@code IN} para os ids fora do cache. */
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, Produto> buscarPorIds(List<Long> ids) {
+        produtoValidador.validarIds(ids);
+        return cacheProdutos.obterTodos(new LinkedHashSet<>(ids), produtoRepository::findAllById);
     }
 
     @Override
@@ -63,7 +207,10 @@ public class ProdutoService implements ProdutoCatalogo {
         if (termoBusca.estaVazio()) {
             return listarTodos();
         }
-        return ProdutoCollection.of(produtoRepository.findByNomeContainingIgnoreCase(termoBusca.valorNormalizado()));
+        if (!indiceBusca.estaPronto()) {
+            return ProdutoCollection.of(produtoRepository.findByNomeContainingIgnoreCase(termoBusca.valorNormalizado()));
+        }
+        return ProdutoCollection.of(carregarNaOrdem(indiceBusca.buscar(termoBusca.valorNormalizado())));
     }
 
     @Transactional(readOnly = true)
@@ -73,25 +220,115 @@ public class ProdutoService implements ProdutoCatalogo {
 
     @Override
     public Produto salvar(Produto produto) {
-        produtoValidador.validarProduto(produto);
         produtoSanitizador.sanitizar(produto);
-        return produtoRepository.save(produto);
+        produtoValidador.validarProduto(produto);
+        Produto salvo = produtoRepository.save(produto);
+        auditoria.registrarCriacao(salvo);
+        return salvo;
     }
 
     @Override
     public Produto atualizar(Long id, Produto dadosNovos) {
-        Produto existente = buscarPorId(id);
-        produtoValidador.validarProduto(dadosNovos);
+        Produto existente = buscarGerenciado(id);
         produtoSanitizador.sanitizar(dadosNovos);
+        produtoValidador.validarProduto(dadosNovos);
+        EstadoProduto antes = EstadoProduto.of(existente);
         produtoMutator.aplicarAtualizacao(existente, dadosNovos);
 
-        return produtoRepository.save(existente);
+        Produto salvo = produtoRepository.save(existente);
+        auditoria.registrarAtualizacao(antes, salvo);
+        return salvo;
     }
 
     @Override
     public void deletar(Long id) {
-        Produto produto = buscarPorId(id);
+        Produto produto = buscarGerenciado(id);
+        auditoria.registrarRemocao(produto);
         produtoRepository.delete(produto);
     }
+
+    /** Escritas precisam da entidade gerenciada pela transacao corrente, nunca da copia em cache. */
+    private Produto buscarGerenciado(Long id) {
+        produtoValidador.validarId(id);
+        return carregar(id);
+    }
+
+    private Produto carregar(Long id) {
+        return produtoRepository.findById(id)
+                .orElseThrow(() -> new ProdutoNotFoundException(id));
+    }
+
+    private boolean filtrosEmMemoria(TermoBusca termoBusca) {
+        return indiceFaixas.estaPronto() && (termoBusca.estaVazio() || indiceBusca.estaPronto());
+    }
+
+    /**
+     * Mesma ordem do {@link ConsultaListagem#pageable()} no banco (coluna, depois id; nulos
+     * primeiro no crescente), aplicada aos ids do indice. So a coluna pedida e lida, em
+     * consultas IN de ate {@value #TAMANHO_LOTE_IN} ids; ids ja removidos do banco saem.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private List<Long> ordenarPorColuna(List<Long> ids, ConsultaListagem consulta) {
+        Map<Long, Comparable> valores = new HashMap<>(ids.size());
+        for (int i = 0; i < ids.size(); i += TAMANHO_LOTE_IN) {
+            List<Long> lote = ids.subList(i, Math.min(i + TAMANHO_LOTE_IN, ids.size()));
+            for (Object[] linha : produtoRepository.listarValoresPorIds(lote, consulta.ordem().propriedade())) {
+                valores.put((Long) linha[0], (Comparable) linha[1]);
+            }
+        }
+        Comparator<Long> ordem = Comparator.<Long, Comparable>comparing(valores::get,
+                        Comparator.nullsFirst(Comparator.naturalOrder()))
+                .thenComparing(Comparator.naturalOrder());
+        return ids.stream()
+                .filter(valores::containsKey)
+                .sorted(consulta.decrescente() ? ordem.reversed() : ordem)
+                .toList();
+    }
+
+    /** Faixas pelo indice ordenado; com termo, os ids de relevancia filtrados pelas faixas. */
+    private List<Long> idsFiltrados(TermoBusca termoBusca, FiltroFaixas filtro) {
+        if (termoBusca.estaVazio()) {
+            return indiceFaixas.buscar(filtro);
+        }
+        return indiceBusca.buscar(termoBusca.valorNormalizado()).stream()
+                .filter(id -> indiceFaixas.atende(id, filtro))
+                .toList();
+    }
+
+    private List<ProdutoResumo> listarResumosPorFaixas(TermoBusca termoBusca, FiltroFaixas filtro, long apos, Limit limite) {
+        return termoBusca.estaVazio()
+                ? produtoRepository.listarResumosPorFaixasApos(
+                        filtro.precoMin(), filtro.precoMax(), filtro.estoqueMin(), apos, limite)
+                : produtoRepository.listarResumosPorNomeEFaixasApos(termoBusca.valorNormalizado(),
+                        filtro.precoMin(), filtro.precoMax(), filtro.estoqueMin(), apos, limite);
+    }
+
+    /** Projeta os ids na ordem recebida, sem carregar entidades. */
+    private List<ProdutoResumo> carregarResumosNaOrdem(List<Long> ids) {
+        return carregarEmLotes(ids, produtoRepository::listarResumosPorIds, ProdutoResumo::id);
+    }
+
+    /** Carrega os produtos pela chave primaria preservando a ordem de relevancia do indice. */
+    private List<Produto> carregarNaOrdem(List<Long> ids) {
+        return carregarEmLotes(ids, produtoRepository::findAllById, Produto::getId);
+    }
+
+    /** Consultas IN de ate {@value #TAMANHO_LOTE_IN} ids; o resultado volta na ordem recebida. */
+    private static <T> List<T> carregarEmLotes(List<Long> ids, Function<List<Long>, List<T>> consulta,
+                                               Function<T, Long> id) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<T> itens = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i += TAMANHO_LOTE_IN) {
+            itens.addAll(consulta.apply(ids.subList(i, Math.min(i + TAMANHO_LOTE_IN, ids.size()))));
+        }
+        return naOrdem(ids, itens, id);
+    }
+
+    private static <T> List<T> naOrdem(List<Long> ids, List<T> itens, Function<T, Long> id) {
+        Map<Long, T> porId = itens.stream().collect(Collectors.toMap(id, Function.identity()));
+        return ids.stream().map(porId::get).filter(Objects::nonNull).toList();
+    }
 }
 
@@ -0,0 +1,59 @@
+package org.example.service.admissao;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+
+/**
+ * Token bucket por cliente: cada um acumula ate {@code rajada} fichas, repostas a
+ * {@code taxaPorSegundo}. Baldes parados somem do mapa; um cliente que volta depois disso
+ * recomeca com o balde cheio, o que da no mesmo.
+ */
+final class BaldeTokens {
+
+    private static final long NANOS_POR_SEGUNDO = 1_000_000_000L;
+    private static final int MAXIMO_CLIENTES = 100_000;
+
+    private final double taxaPorNano;
+    private final double rajada;
+    private final Cache<String, Balde> baldes;
+
+    BaldeTokens(double taxaPorSegundo, int rajada) {
+        if (taxaPorSegundo <= 0 || rajada < 1) {
+            throw new IllegalArgumentException("Taxa e rajada do limitador devem ser positivas.");
+        }
+        this.taxaPorNano = taxaPorSegundo / NANOS_POR_SEGUNDO;
+        this.rajada = rajada;
+        long tempoParaEncher = (long) Math.ceil(rajada / taxaPorSegundo);
+        this.baldes = Caffeine.newBuilder()
+                .maximumSize(MAXIMO_CLIENTES)
+                .expireAfterAccess(Duration.ofSeconds(Math.max(1, tempoParaEncher)))
+                .build();
+    }
+
+    /** Consome uma ficha; devolve {@link Duration#ZERO} se havia, senao quanto falta para a proxima. */
+    Duration consumir(String cliente) {
+        long agora = System.nanoTime();
+        Balde balde = baldes.get(cliente, c -> new Balde(rajada, agora));
+        synchronized (balde) {
+            balde.fichas = Math.min(rajada, balde.fichas + (agora - balde.ultimaReposicao) * taxaPorNano);
+            balde.ultimaReposicao = agora;
+            if (balde.fichas >= 1) {
+                balde.fichas -= 1;
+                return Duration.ZERO;
+            }
+            return Duration.ofNanos((long) Math.ceil((1 - balde.fichas) / taxaPorNano));
+        }
+    }
+
+    private static final class Balde {
+        private double fichas;
+        private long ultimaReposicao;
+
+        Balde(double fichas, long ultimaReposicao) {
+            this.fichas = fichas;
+            this.ultimaReposicao = ultimaReposicao;
+        }
+    }
+}
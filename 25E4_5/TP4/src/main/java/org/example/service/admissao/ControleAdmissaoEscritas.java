@@ -0,0 +1,112 @@
+package org.example.service.admissao;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.config.MetricasConfig;
+import org.example.exception.SobrecargaException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Controle de admissao das escritas do catalogo, na frente do {@code ProdutoService}:
+ * primeiro o token bucket do cliente ({@link BaldeTokens}), depois o limite global de escritas
+ * simultaneas ({@link LimiteConcorrenciaAdaptativo}). Cargas em lote levam segundos por natureza:
+ * passam pelo mesmo balde, mas dividem um limite fixo proprio e nao alimentam o AIMD, que
+ * senao encolheria o limite das escritas unitarias a cada importacao. Quem nao passa recebe
+ * {@link SobrecargaException} sem tocar no banco. Rejeicoes sao contadas em
+ * {@value MetricasConfig#CONTADOR_ADMISSAO} (tag {@code motivo}: taxa, concorrencia).
+ */
+@Component
+public class ControleAdmissaoEscritas {
+
+    static final double FATOR_REDUCAO = 0.9;
+    static final Duration ESPERA_CONCORRENCIA = Duration.ofSeconds(1);
+
+    private final boolean habilitado;
+    private final BaldeTokens baldes;
+    private final LimiteConcorrenciaAdaptativo concorrencia;
+    private final LimiteConcorrenciaAdaptativo lotes;
+    private final Counter rejeitadasPorTaxa;
+    private final Counter rejeitadasPorConcorrencia;
+
+    public ControleAdmissaoEscritas(MeterRegistry meterRegistry,
+                                    @Value("${catalogo.admissao.habilitada:false}") boolean habilitado,
+                                    @Value("${catalogo.admissao.taxa-por-cliente:20}") double taxaPorCliente,
+                                    @Value("${catalogo.admissao.rajada-por-cliente:40}") int rajadaPorCliente,
+                                    @Value("${catalogo.admissao.concorrencia-inicial:8}") int concorrenciaInicial,
+                                    @Value("${catalogo.admissao.concorrencia-minima:1}") int concorrenciaMinima,
+                                    @Value("${catalogo.admissao.concorrencia-maxima:64}") int concorrenciaMaxima,
+                                    @Value("${catalogo.admissao.latencia-alvo:100ms}") Duration latenciaAlvo,
+                                    @Value("${catalogo.admissao.concorrencia-lotes:2}") int concorrenciaLotes) {
+        this.habilitado = habilitado;
+        this.baldes = new BaldeTokens(taxaPorCliente, rajadaPorCliente);
+        this.concorrencia = new LimiteConcorrenciaAdaptativo(concorrenciaInicial, concorrenciaMinima,
+                concorrenciaMaxima, latenciaAlvo.toNanos(), FATOR_REDUCAO);
+        // minimo = maximo: o limite dos lotes nao se move com a latencia
+        this.lotes = new LimiteConcorrenciaAdaptativo(concorrenciaLotes, concorrenciaLotes, concorrenciaLotes,
+                Long.MAX_VALUE, FATOR_REDUCAO);
+        this.rejeitadasPorTaxa = meterRegistry.counter(MetricasConfig.CONTADOR_ADMISSAO, "motivo", "taxa");
+        this.rejeitadasPorConcorrencia = meterRegistry.counter(MetricasConfig.CONTADOR_ADMISSAO, "motivo", "concorrencia");
+        Gauge.builder(MetricasConfig.GAUGE_CONCORRENCIA_ESCRITAS, concorrencia, LimiteConcorrenciaAdaptativo::limite)
+                .tag("tipo", "limite")
+                .register(meterRegistry);
+        Gauge.builder(MetricasConfig.GAUGE_CONCORRENCIA_ESCRITAS, concorrencia, LimiteConcorrenciaAdaptativo::emAndamento)
+                .tag("tipo", "em-andamento")
+                .register(meterRegistry);
+    }
+
+    public boolean estaHabilitado() {
+        return habilitado;
+    }
+
+    /**
+     * Admite uma escrita do {@code cliente} ou lanca {@link SobrecargaException} com o tempo
+     * sugerido para nova tentativa. A {@link Permissao} devolvida deve ser liberada ao fim da
+     * escrita, com sucesso ou nao, para que a latencia alimente o limite adaptativo.
+     */
+    public Permissao admitir(String cliente) {
+        return admitir(cliente, concorrencia);
+    }
+
+    /** Como {@link #admitir}, para cargas em lote: limite proprio ({@code catalogo.admissao.concorrencia-lotes}). */
+    public Permissao admitirLote(String cliente) {
+        return admitir(cliente, lotes);
+    }
+
+    private Permissao admitir(String cliente, LimiteConcorrenciaAdaptativo limite) {
+        Duration espera = baldes.consumir(cliente);
+        if (!espera.isZero()) {
+            rejeitadasPorTaxa.increment();
+            throw new SobrecargaException("Muitas alterações em sequência. Aguarde e tente novamente.", espera);
+        }
+        if (!limite.tentarAdquirir()) {
+            rejeitadasPorConcorrencia.increment();
+            throw new SobrecargaException("O catálogo está ocupado com outras alterações. Tente novamente em instantes.",
+                    ESPERA_CONCORRENCIA);
+        }
+        return new Permissao(limite, System.nanoTime());
+    }
+
+    public static final class Permissao {
+
+        private final LimiteConcorrenciaAdaptativo limite;
+        private final long inicio;
+        private final AtomicBoolean liberada = new AtomicBoolean();
+
+        private Permissao(LimiteConcorrenciaAdaptativo limite, long inicio) {
+            this.limite = limite;
+            this.inicio = inicio;
+        }
+
+        /** Idempotente: so a primeira chamada conta. */
+        public void liberar() {
+            if (liberada.compareAndSet(false, true)) {
+                limite.liberar(System.nanoTime() - inicio);
+            }
+        }
+    }
+}
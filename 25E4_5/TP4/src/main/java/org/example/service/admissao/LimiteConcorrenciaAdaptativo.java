@@ -0,0 +1,57 @@
+package org.example.service.admissao;
+
+/**
+ * Limite de escritas simultaneas ajustado por AIMD sobre a latencia observada: cada escrita
+ * que termina dentro de {@code latenciaAlvo} com o limite em uso soma {@code 1/limite}
+ * (cerca de +1 por janela), cada uma acima do alvo multiplica o limite por {@code fatorReducao}.
+ * Assim a fila de locks no H2 nao cresce a ponto de arrastar as leituras.
+ */
+final class LimiteConcorrenciaAdaptativo {
+
+    private final int minimo;
+    private final int maximo;
+    private final long latenciaAlvoNanos;
+    private final double fatorReducao;
+    private double limite;
+    private int emAndamento;
+
+    LimiteConcorrenciaAdaptativo(int inicial, int minimo, int maximo, long latenciaAlvoNanos, double fatorReducao) {
+        if (minimo < 1 || maximo < minimo || inicial < minimo || inicial > maximo) {
+            throw new IllegalArgumentException("Limites de concorrencia invalidos: exige 1 <= minimo <= inicial <= maximo.");
+        }
+        if (fatorReducao <= 0 || fatorReducao >= 1) {
+            throw new IllegalArgumentException("O fator de reducao deve ficar entre 0 e 1.");
+        }
+        this.limite = inicial;
+        this.minimo = minimo;
+        this.maximo = maximo;
+        this.latenciaAlvoNanos = latenciaAlvoNanos;
+        this.fatorReducao = fatorReducao;
+    }
+
+    synchronized boolean tentarAdquirir() {
+        if (emAndamento >= (int) limite) {
+            return false;
+        }
+        emAndamento++;
+        return true;
+    }
+
+    synchronized void liberar(long latenciaNanos) {
+        boolean emUso = emAndamento * 2 >= (int) limite;
+        emAndamento--;
+        if (latenciaNanos > latenciaAlvoNanos) {
+            limite = Math.max(minimo, limite * fatorReducao);
+        } else if (emUso) {
+            limite = Math.min(maximo, limite + 1 / limite);
+        }
+    }
+
+    synchronized int limite() {
+        return (int) limite;
+    }
+
+    synchronized int emAndamento() {
+        return emAndamento;
+    }
+}
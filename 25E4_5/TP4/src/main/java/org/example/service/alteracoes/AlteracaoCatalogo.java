@@ -0,0 +1,30 @@
+package org.example.service.alteracoes;
+
+import org.example.repository.evento.ProdutoAlteradoEvent;
+import org.example.repository.evento.TipoAlteracao;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Alteracao confirmada, numerada na ordem em que foi publicada. {@code versao} e a do
+ * {@code @Version} do produto: um espelho so aplica a alteracao se ela for mais nova que a
+ * que ja tem, o que cobre duas gravacoes do mesmo produto publicadas fora de ordem.
+ */
+public record AlteracaoCatalogo(
+        long sequencia,
+        TipoAlteracao tipo,
+        Long id,
+        String nome,
+        String descricao,
+        BigDecimal preco,
+        Integer estoque,
+        Long versao,
+        LocalDateTime atualizadoEm
+) {
+
+    static AlteracaoCatalogo of(long sequencia, ProdutoAlteradoEvent evento) {
+        return new AlteracaoCatalogo(sequencia, evento.tipo(), evento.id(), evento.nome(), evento.descricao(),
+                evento.preco(), evento.estoque(), evento.versao(), evento.atualizadoEm());
+    }
+}
@@ -0,0 +1,117 @@
+package org.example.service.alteracoes;
+
+import jakarta.annotation.PreDestroy;
+import org.example.repository.evento.ProdutoAlteradoEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Change data capture do catalogo: cada {@link ProdutoAlteradoEvent} (publicado apos o commit)
+ * recebe a proxima sequencia e entra num buffer circular com as ultimas
+ * {@code catalogo.alteracoes.capacidade-buffer} alteracoes. Leitores pedem "tudo depois da
+ * sequencia N" e, se nao houver nada, esperam a proxima publicacao; quem grava so anota no
+ * buffer e nunca espera por leitor lento.
+ * A numeracao vive na memoria do processo e recomeca em 1 a cada subida; por isso cada subida
+ * sorteia uma {@link #epoca()}, que vai junto no id dos eventos e separa sequencias de processos
+ * diferentes.
+ */
+@Component
+public class FluxoAlteracoes {
+
+    private final AlteracaoCatalogo[] buffer;
+    private final String epoca = Long.toUnsignedString(ThreadLocalRandom.current().nextLong(), 36);
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition novas = lock.newCondition();
+    private long ultimaSequencia;
+    private boolean encerrado;
+
+    public FluxoAlteracoes(@Value("${catalogo.alteracoes.capacidade-buffer:10000}") int capacidade) {
+        if (capacidade < 1) {
+            throw new IllegalArgumentException("A capacidade do buffer de alterações deve ser positiva.");
+        }
+        this.buffer = new AlteracaoCatalogo[capacidade];
+    }
+
+    @EventListener
+    public void aoAlterar(ProdutoAlteradoEvent evento) {
+        lock.lock();
+        try {
+            long sequencia = ++ultimaSequencia;
+            buffer[indice(sequencia)] = AlteracaoCatalogo.of(sequencia, evento);
+            novas.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public String epoca() {
+        return epoca;
+    }
+
+    public long ultimaSequencia() {
+        lock.lock();
+        try {
+            return ultimaSequencia;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Devolve ate {@code maximo} alteracoes com sequencia maior que {@code apos}, em ordem.
+     * Se ainda nao houver nenhuma, espera ate {@code espera} por uma nova publicacao.
+     */
+    public LoteAlteracoes ler(long apos, int maximo, Duration espera) throws InterruptedException {
+        long restante = espera.toNanos();
+        lock.lockInterruptibly();
+        try {
+            while (apos == ultimaSequencia && restante > 0 && !encerrado) {
+                restante = novas.awaitNanos(restante);
+            }
+            if (apos > ultimaSequencia || apos < ultimaSequencia - buffer.length) {
+                return new LoteAlteracoes(List.of(), ultimaSequencia, true);
+            }
+            long ate = Math.min(ultimaSequencia, apos + maximo);
+            List<AlteracaoCatalogo> alteracoes = new ArrayList<>((int) (ate - apos));
+            for (long sequencia = apos + 1; sequencia <= ate; sequencia++) {
+                alteracoes.add(buffer[indice(sequencia)]);
+            }
+            return new LoteAlteracoes(alteracoes, ultimaSequencia, false);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean estaEncerrado() {
+        lock.lock();
+        try {
+            return encerrado;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Acorda os leitores em espera para que as conexoes abertas terminem junto com a aplicacao. */
+    @PreDestroy
+    public void encerrar() {
+        lock.lock();
+        try {
+            encerrado = true;
+            novas.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int indice(long sequencia) {
+        return (int) (sequencia % buffer.length);
+    }
+}
@@ -0,0 +1,11 @@
+package org.example.service.alteracoes;
+
+import java.util.List;
+
+/**
+ * Resultado de uma leitura do {@link FluxoAlteracoes}. Com {@code ressincronizar}, parte das
+ * alteracoes pedidas ja saiu do buffer (ou a sequencia e maior que a atual): o cliente
+ * recarrega o catalogo inteiro e continua a partir de {@code ultimaSequencia}.
+ */
+public record LoteAlteracoes(List<AlteracaoCatalogo> alteracoes, long ultimaSequencia, boolean ressincronizar) {
+}
@@ -0,0 +1,137 @@
+package org.example.service.aquecimento;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.example.config.MetricasConfig;
+import org.example.repository.ProdutoRepository;
+import org.example.service.cache.CacheProdutos;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aquecimento na subida, depois do indice de busca e dos agregados: carrega no
+ * {@link CacheProdutos} os produtos alterados mais recentemente e repete GETs nos handlers
+ * principais pelo servidor HTTP local, para o JIT compilar o caminho quente antes do
+ * primeiro cliente. Roda dentro do {@code ApplicationReadyEvent}, entao a aplicacao so
+ * passa a {@code ACCEPTING_TRAFFIC} ao fim dele. Registra em {@value MetricasConfig#GAUGE_INICIALIZACAO}
+ * o tempo ate estar pronta e loga a latencia da primeira e da ultima rodada de requisicoes.
+ */
+@Component
+public class AquecimentoCatalogo {
+
+    private static final Logger log = LoggerFactory.getLogger(AquecimentoCatalogo.class);
+    private static final Duration TIMEOUT_REQUISICAO = Duration.ofSeconds(10);
+
+    private final ProdutoRepository produtoRepository;
+    private final CacheProdutos cacheProdutos;
+    private final MeterRegistry meterRegistry;
+    private final boolean habilitado;
+    private final int produtos;
+    private final int iteracoes;
+    private volatile long duracaoMs;
+    private volatile long prontoEmMs;
+
+    public AquecimentoCatalogo(ProdutoRepository produtoRepository,
+                               CacheProdutos cacheProdutos,
+                               MeterRegistry meterRegistry,
+                               @Value("${catalogo.aquecimento.habilitado:false}") boolean habilitado,
+                               @Value("${catalogo.aquecimento.produtos:500}") int produtos,
+                               @Value("${catalogo.aquecimento.iteracoes:200}") int iteracoes) {
+        this.produtoRepository = produtoRepository;
+        this.cacheProdutos = cacheProdutos;
+        this.meterRegistry = meterRegistry;
+        this.habilitado = habilitado;
+        this.produtos = produtos;
+        this.iteracoes = iteracoes;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void aquecer(ApplicationReadyEvent evento) {
+        if (!habilitado) {
+            return;
+        }
+        long inicio = System.nanoTime();
+        List<Long> quentes = produtoRepository.listarIdsRecentes(Limit.of(produtos));
+        cacheProdutos.preencher(produtoRepository.findAllById(quentes));
+
+        List<String> caminhos = caminhos(quentes);
+        Latencias latencias = null;
+        if (evento.getApplicationContext() instanceof WebServerApplicationContext web && iteracoes > 0) {
+            latencias = exercitarHandlers(web.getWebServer().getPort(), caminhos);
+        }
+
+        duracaoMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+        prontoEmMs = ManagementFactory.getRuntimeMXBean().getUptime();
+        TimeGauge.builder(MetricasConfig.GAUGE_INICIALIZACAO, this, TimeUnit.MILLISECONDS, a -> a.duracaoMs)
+                .tag("etapa", "aquecimento").register(meterRegistry);
+        TimeGauge.builder(MetricasConfig.GAUGE_INICIALIZACAO, this, TimeUnit.MILLISECONDS, a -> a.prontoEmMs)
+                .tag("etapa", "pronto").register(meterRegistry);
+        log.info("Aquecimento: {} produtos no cache e {} rodadas em {} em {} ms; pronto para trafego {} ms apos o inicio da JVM{}",
+                quentes.size(), latencias == null ? 0 : iteracoes, caminhos, duracaoMs, prontoEmMs,
+                latencias == null ? "" : String.format(" (rodada fria %.1f ms, aquecida %.1f ms)",
+                        latencias.primeiraMs(), latencias.ultimaMs()));
+    }
+
+    private static List<String> caminhos(List<Long> quentes) {
+        List<String> caminhos = new ArrayList<>(List.of("/produtos", "/api/produtos?limit=20", "/api/estatisticas/produtos"));
+        if (!quentes.isEmpty()) {
+            caminhos.add("/produtos/" + quentes.get(0));
+            caminhos.add("/api/produtos/" + quentes.get(0));
+            caminhos.add("/produtos?busca=pro");
+        }
+        return caminhos;
+    }
+
+    /** Repete as rodadas e devolve quanto levou a primeira (fria) e a ultima. */
+    private Latencias exercitarHandlers(int porta, List<String> caminhos) {
+        HttpClient cliente = HttpClient.newBuilder().connectTimeout(TIMEOUT_REQUISICAO).build();
+        double primeira = 0;
+        double ultima = 0;
+        for (int i = 0; i < iteracoes; i++) {
+            long inicio = System.nanoTime();
+            for (String caminho : caminhos) {
+                HttpRequest requisicao = HttpRequest.newBuilder(URI.create("http://localhost:" + porta + caminho))
+                        .timeout(TIMEOUT_REQUISICAO)
+                        .GET()
+                        .build();
+                try {
+                    cliente.send(requisicao, HttpResponse.BodyHandlers.discarding());
+                } catch (IOException e) {
+                    log.warn("Aquecimento interrompido em {}: {}", caminho, e.getMessage());
+                    return new Latencias(primeira, ultima);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return new Latencias(primeira, ultima);
+                }
+            }
+            ultima = (System.nanoTime() - inicio) / 1_000_000.0;
+            if (i == 0) {
+                primeira = ultima;
+            }
+        }
+        return new Latencias(primeira, ultima);
+    }
+
+    private record Latencias(double primeiraMs, double ultimaMs) {
+    }
+}
@@ -0,0 +1,261 @@
+package org.example.service.auditoria;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.example.config.MetricasConfig;
+import org.example.model.EpocaCatalogo;
+import org.example.model.Produto;
+import org.example.repository.EpocaCatalogoRepository;
+import org.example.repository.evento.TipoAlteracao;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Trilha de auditoria write-behind das gravacoes de produto. A thread da requisicao so
+ * coloca o registro numa fila circular limitada ({@link ArrayBlockingQueue}) depois do
+ * commit; uma thread dedicada drena a fila em lotes para o {@link LogAuditoria} e forca o
+ * segmento para o disco ao fim de cada lote. Com a fila cheia o registro e descartado e
+ * contado em {@value MetricasConfig#CONTADOR_AUDITORIA}: a requisicao nunca espera pelo disco.
+ * A sequencia e dada ao enfileirar, entao o descarte fica visivel como lacuna no log. Para que
+ * a perda no fim do log (fila cheia perto do desligamento, ultimo lote que falhou ou que nao
+ * foi gravado a tempo) tambem fique visivel, a maior sequencia emitida vai para a marca do
+ * {@link LogAuditoria} ao desligar e depois de cada descarte ou falha; a subida seguinte
+ * continua acima dela e o {@link ReprocessadorAuditoria} recusa um log que termine abaixo. O log
+ * pertence ao banco da {@link EpocaCatalogo}; a subida recusa um log de outro banco.
+ */
+@Component
+public class AuditoriaProdutos {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditoriaProdutos.class);
+    private static final int LOTE_MAXIMO = 512;
+
+    private final ObjectMapper objectMapper;
+    private final EpocaCatalogoRepository epocaRepository;
+    private final boolean habilitada;
+    private final boolean reprocessar;
+    private final Path diretorio;
+    private final int tamanhoSegmento;
+    private final BlockingQueue<RegistroAuditoria> fila;
+    private final AtomicLong enfileirados = new AtomicLong();
+    private final AtomicLong processados = new AtomicLong();
+    private final AtomicBoolean descartando = new AtomicBoolean();
+    private final AtomicBoolean marcaPendente = new AtomicBoolean();
+    private final Lock numeracao = new ReentrantLock();
+    private final Counter gravados;
+    private final Counter descartados;
+    private LogAuditoria logAuditoria;
+    private Thread escritor;
+    private volatile boolean encerrando;
+    private String epoca;
+    private long ultimaSequencia;
+
+    public AuditoriaProdutos(ObjectMapper objectMapper,
+                             MeterRegistry meterRegistry,
+                             EpocaCatalogoRepository epocaRepository,
+                             @Value("${catalogo.auditoria.habilitada:false}") boolean habilitada,
+                             @Value("${catalogo.auditoria.reprocessar:false}") boolean reprocessar,
+                             @Value("${catalogo.auditoria.diretorio:dados/auditoria}") Path diretorio,
+                             @Value("${catalogo.auditoria.tamanho-segmento:16MB}") DataSize tamanhoSegmento,
+                             @Value("${catalogo.auditoria.capacidade-fila:8192}") int capacidadeFila) {
+        this.objectMapper = objectMapper;
+        this.epocaRepository = epocaRepository;
+        this.habilitada = habilitada;
+        this.reprocessar = reprocessar;
+        this.diretorio = diretorio;
+        this.tamanhoSegmento = Math.toIntExact(tamanhoSegmento.toBytes());
+        this.fila = new ArrayBlockingQueue<>(capacidadeFila);
+        this.gravados = meterRegistry.counter(MetricasConfig.CONTADOR_AUDITORIA, "resultado", "gravado");
+        this.descartados = meterRegistry.counter(MetricasConfig.CONTADOR_AUDITORIA, "resultado", "descartado");
+    }
+
+    @PostConstruct
+    void iniciar() throws IOException {
+        if (!habilitada) {
+            return;
+        }
+        logAuditoria = LogAuditoria.abrir(diretorio, tamanhoSegmento);
+        byte[] ultima = logAuditoria.ultimaEntrada();
+        RegistroAuditoria anterior = (ultima == null) ? null : objectMapper.readValue(ultima, RegistroAuditoria.class);
+        epoca = epocaDoLog(anterior);
+        // Sequencias emitidas e perdidas na subida anterior nao sao reaproveitadas: ficam como lacuna.
+        ultimaSequencia = Math.max((anterior == null) ? 0 : anterior.sequencia(), LogAuditoria.lerMarca(diretorio));
+        escritor = Thread.ofPlatform().name("auditoria-escritor").daemon().start(this::executar);
+    }
+
+    /**
+     * Epoca deste banco, criada na primeira subida. Um log de outro banco so e aceito com
+     * {@code catalogo.auditoria.reprocessar=true}: o {@link ReprocessadorAuditoria} refaz a
+     * tabela a partir dele e grava a epoca do log no banco.
+     */
+    private String epocaDoLog(RegistroAuditoria anterior) {
+        String doBanco = epocaRepository.findById(EpocaCatalogo.ID)
+                .orElseGet(() -> epocaRepository.save(new EpocaCatalogo(
+                        Long.toUnsignedString(ThreadLocalRandom.current().nextLong(), 36))))
+                .getValor();
+        if (anterior == null || doBanco.equals(anterior.epoca())) {
+            return doBanco;
+        }
+        if (!reprocessar || anterior.epoca() == null) {
+            throw new IllegalStateException("O log de auditoria em " + diretorio + " e de outro banco (epoca "
+                    + anterior.epoca() + ", banco " + doBanco + "): mova o diretorio ou reprocesse o log com "
+                    + "catalogo.auditoria.reprocessar=true");
+        }
+        return anterior.epoca();
+    }
+
+    public void registrarCriacao(Produto criado) {
+        registrar(TipoAlteracao.CRIADO, criado.getId(), null, EstadoProduto.of(criado));
+    }
+
+    /** {@code antes} deve ser capturado antes de aplicar a alteracao na entidade. */
+    public void registrarAtualizacao(EstadoProduto antes, Produto atualizado) {
+        registrar(TipoAlteracao.ATUALIZADO, atualizado.getId(), antes, EstadoProduto.of(atualizado));
+    }
+
+    public void registrarRemocao(Produto removido) {
+        registrar(TipoAlteracao.REMOVIDO, removido.getId(), EstadoProduto.of(removido), null);
+    }
+
+    /** Espera a thread escritora gravar tudo o que ja foi enfileirado; {@code false} se o prazo acabar. */
+    public boolean aguardarGravacao(Duration limite) throws InterruptedException {
+        long alvo = enfileirados.get();
+        long prazo = System.nanoTime() + limite.toNanos();
+        while (processados.get() < alvo) {
+            if (System.nanoTime() > prazo) {
+                return false;
+            }
+            TimeUnit.MILLISECONDS.sleep(5);
+        }
+        return true;
+    }
+
+    @PreDestroy
+    void encerrar() throws InterruptedException, IOException {
+        if (escritor == null) {
+            return;
+        }
+        encerrando = true;
+        escritor.join(TimeUnit.SECONDS.toMillis(10));
+        gravarMarca();
+        logAuditoria.close();
+    }
+
+    private void registrar(TipoAlteracao tipo, Long produtoId, EstadoProduto antes, EstadoProduto depois) {
+        if (!habilitada) {
+            return;
+        }
+        RegistroAuditoria registro = new RegistroAuditoria(0, epoca, Instant.now(), tipo, produtoId, antes, depois);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            enfileirar(registro);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                enfileirar(registro);
+            }
+        });
+    }
+
+    private void enfileirar(RegistroAuditoria registro) {
+        boolean aceito;
+        // Numerar e enfileirar juntos mantem a fila em ordem de sequencia; o descarte consome a sua.
+        numeracao.lock();
+        try {
+            aceito = fila.offer(registro.comSequencia(++ultimaSequencia));
+        } finally {
+            numeracao.unlock();
+        }
+        if (aceito) {
+            enfileirados.incrementAndGet();
+            descartando.set(false);
+            return;
+        }
+        descartados.increment();
+        marcaPendente.set(true);
+        // Um aviso por rajada de descartes; o total fica no contador.
+        if (descartando.compareAndSet(false, true)) {
+            log.error("Fila de auditoria cheia; descartando registros a partir de {} do produto {}",
+                    registro.tipo(), registro.produtoId());
+        }
+    }
+
+    private void executar() {
+        List<RegistroAuditoria> lote = new ArrayList<>(LOTE_MAXIMO);
+        while (!encerrando || !fila.isEmpty()) {
+            if (marcaPendente.compareAndSet(true, false)) {
+                gravarMarca();
+            }
+            try {
+                RegistroAuditoria primeiro = fila.poll(100, TimeUnit.MILLISECONDS);
+                if (primeiro == null) {
+                    continue;
+                }
+                lote.add(primeiro);
+                fila.drainTo(lote, LOTE_MAXIMO - 1);
+                gravar(lote);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Falha ao gravar {} registros de auditoria", lote.size(), e);
+                marcaPendente.set(true);
+            } finally {
+                processados.addAndGet(lote.size());
+                lote.clear();
+            }
+        }
+    }
+
+    /** Chamada pela thread escritora e pelo desligamento, que pode correr com ela se o join expirar. */
+    private synchronized void gravarMarca() {
+        long emitida;
+        numeracao.lock();
+        try {
+            emitida = ultimaSequencia;
+        } finally {
+            numeracao.unlock();
+        }
+        try {
+            LogAuditoria.gravarMarca(diretorio, emitida);
+        } catch (IOException e) {
+            log.error("Falha ao gravar a marca de sequencia da auditoria em {}", diretorio, e);
+        }
+    }
+
+    private void gravar(List<RegistroAuditoria> lote) {
+        try {
+            for (RegistroAuditoria registro : lote) {
+                logAuditoria.anexar(objectMapper.writeValueAsBytes(registro));
+                gravados.increment();
+            }
+            logAuditoria.sincronizar();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package org.example.service.auditoria;
+
+import org.example.model.Produto;
+
+import java.math.BigDecimal;
+
+/** Valores editaveis de um produto em um instante, como ficam gravados no log de auditoria. */
+public record EstadoProduto(String nome, String descricao, BigDecimal preco, Integer estoque) {
+
+    public static EstadoProduto of(Produto produto) {
+        return new EstadoProduto(produto.getNome(), produto.getDescricao(), produto.getPreco(), produto.getEstoque());
+    }
+
+    public EstadoProduto comEstoque(Integer novoEstoque) {
+        return new EstadoProduto(nome, descricao, preco, novoEstoque);
+    }
+}
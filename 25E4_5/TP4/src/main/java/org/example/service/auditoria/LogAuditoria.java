@@ -0,0 +1,180 @@
+package org.example.service.auditoria;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Log append-only em segmentos de tamanho fixo ({@code auditoria-NNNNNNNNNN.seg}) mapeados
+ * em memoria. Cada entrada e {@code [int tamanho][int crc32][bytes]}; o restante do segmento
+ * fica zerado, entao {@code tamanho == 0} marca o fim. Uma entrada cortada por queda do
+ * processo falha no CRC, a leitura para nela e a proxima gravacao a sobrescreve.
+ * Nao e thread-safe: ha um unico escritor. Fora dos segmentos, {@code auditoria.marca} guarda
+ * um numero escolhido pelo escritor (a maior sequencia ja emitida), para quem le saber se o
+ * log termina antes do que deveria.
+ */
+public final class LogAuditoria implements Closeable {
+
+    static final int CABECALHO = 8;
+    private static final String PREFIXO = "auditoria-";
+    private static final String SUFIXO = ".seg";
+    private static final String MARCA = "auditoria.marca";
+
+    private final Path diretorio;
+    private final int tamanhoSegmento;
+    private FileChannel canal;
+    private MappedByteBuffer segmento;
+    private long numeroSegmento;
+    private byte[] ultimaEntrada;
+
+    private LogAuditoria(Path diretorio, int tamanhoSegmento) {
+        this.diretorio = diretorio;
+        this.tamanhoSegmento = tamanhoSegmento;
+    }
+
+    /** Abre o ultimo segmento do diretorio (ou cria o primeiro) posicionado apos a ultima entrada valida. */
+    public static LogAuditoria abrir(Path diretorio, int tamanhoSegmento) throws IOException {
+        if (tamanhoSegmento <= CABECALHO) {
+            throw new IllegalArgumentException("Segmento de auditoria muito pequeno: " + tamanhoSegmento);
+        }
+        Files.createDirectories(diretorio);
+        LogAuditoria log = new LogAuditoria(diretorio, tamanhoSegmento);
+        List<Path> existentes = segmentos(diretorio);
+        log.abrirSegmento(existentes.isEmpty() ? 1 : numero(existentes.get(existentes.size() - 1)));
+        log.segmento.position(varrer(log.segmento.duplicate(), entrada -> log.ultimaEntrada = entrada));
+        // Segmento corrente recem-aberto e vazio: a ultima entrada esta em um anterior.
+        for (int i = existentes.size() - 2; i >= 0 && log.ultimaEntrada == null; i--) {
+            varrer(mapearLeitura(existentes.get(i)), entrada -> log.ultimaEntrada = entrada);
+        }
+        return log;
+    }
+
+    /** Ultima entrada valida ja gravada (nula em log vazio), para retomar numeracoes. */
+    public byte[] ultimaEntrada() {
+        return ultimaEntrada;
+    }
+
+    public void anexar(byte[] entrada) throws IOException {
+        if (entrada.length == 0 || entrada.length + CABECALHO > tamanhoSegmento) {
+            throw new IllegalArgumentException("Entrada de auditoria com tamanho invalido: " + entrada.length);
+        }
+        if (segmento.remaining() < entrada.length + CABECALHO) {
+            segmento.force();
+            abrirSegmento(numeroSegmento + 1);
+        }
+        int posicao = segmento.position();
+        CRC32 crc = new CRC32();
+        crc.update(entrada);
+        // Tamanho por ultimo: ate ele ser escrito, a leitura enxerga o fim do log aqui.
+        segmento.put(posicao + CABECALHO, entrada);
+        segmento.putInt(posicao + 4, (int) crc.getValue());
+        segmento.putInt(posicao, entrada.length);
+        segmento.position(posicao + CABECALHO + entrada.length);
+        ultimaEntrada = entrada;
+    }
+
+    /** Forca as paginas alteradas do segmento corrente para o disco. */
+    public void sincronizar() {
+        segmento.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (canal != null) {
+            segmento.force();
+            canal.close();
+            canal = null;
+        }
+    }
+
+    /** Le as entradas validas de todos os segmentos, em ordem de gravacao. */
+    public static void ler(Path diretorio, Consumer<byte[]> consumidor) throws IOException {
+        if (!Files.isDirectory(diretorio)) {
+            return;
+        }
+        for (Path arquivo : segmentos(diretorio)) {
+            varrer(mapearLeitura(arquivo), consumidor);
+        }
+    }
+
+    /** Substitui a marca do diretorio (temporario e move atomico): quem le ve a antiga ou a nova. */
+    public static void gravarMarca(Path diretorio, long marca) throws IOException {
+        Path temporario = diretorio.resolve(MARCA + ".tmp");
+        try (FileChannel canal = FileChannel.open(temporario, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            canal.write(ByteBuffer.wrap(Long.toString(marca).getBytes(StandardCharsets.US_ASCII)));
+            canal.force(true);
+        }
+        Files.move(temporario, diretorio.resolve(MARCA), StandardCopyOption.ATOMIC_MOVE,
+                StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /** Ultima marca gravada no diretorio; 0 se nunca houve uma. */
+    public static long lerMarca(Path diretorio) throws IOException {
+        Path arquivo = diretorio.resolve(MARCA);
+        return Files.exists(arquivo) ? Long.parseLong(Files.readString(arquivo, StandardCharsets.US_ASCII).trim()) : 0;
+    }
+
+    private void abrirSegmento(long numero) throws IOException {
+        if (canal != null) {
+            canal.close();
+        }
+        Path arquivo = diretorio.resolve(String.format("%s%010d%s", PREFIXO, numero, SUFIXO));
+        canal = FileChannel.open(arquivo, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long tamanho = Math.max(canal.size(), tamanhoSegmento);
+        segmento = canal.map(FileChannel.MapMode.READ_WRITE, 0, tamanho);
+        numeroSegmento = numero;
+    }
+
+    private static int varrer(ByteBuffer buffer, Consumer<byte[]> consumidor) {
+        int posicao = 0;
+        CRC32 crc = new CRC32();
+        while (posicao + CABECALHO <= buffer.limit()) {
+            int tamanho = buffer.getInt(posicao);
+            if (tamanho <= 0 || posicao + CABECALHO + tamanho > buffer.limit()) {
+                break;
+            }
+            byte[] entrada = new byte[tamanho];
+            buffer.get(posicao + CABECALHO, entrada);
+            crc.reset();
+            crc.update(entrada);
+            if ((int) crc.getValue() != buffer.getInt(posicao + 4)) {
+                break;
+            }
+            consumidor.accept(entrada);
+            posicao += CABECALHO + tamanho;
+        }
+        return posicao;
+    }
+
+    private static ByteBuffer mapearLeitura(Path arquivo) throws IOException {
+        try (FileChannel leitura = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            return leitura.map(FileChannel.MapMode.READ_ONLY, 0, leitura.size());
+        }
+    }
+
+    private static List<Path> segmentos(Path diretorio) throws IOException {
+        try (Stream<Path> arquivos = Files.list(diretorio)) {
+            return arquivos
+                    .filter(p -> p.getFileName().toString().startsWith(PREFIXO) && p.getFileName().toString().endsWith(SUFIXO))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static long numero(Path segmento) {
+        String nome = segmento.getFileName().toString();
+        return Long.parseLong(nome.substring(PREFIXO.length(), nome.length() - SUFIXO.length()));
+    }
+}
@@ -0,0 +1,25 @@
+package org.example.service.auditoria;
+
+import org.example.repository.evento.TipoAlteracao;
+
+import java.time.Instant;
+
+/**
+ * Entrada do log de auditoria. {@code antes} e nulo na criacao e {@code depois} na remocao;
+ * {@code sequencia} e atribuida ao enfileirar e continua entre reinicios, entao um registro
+ * descartado deixa lacuna. {@code epoca} e a do banco ({@code EpocaCatalogo}) que gerou o registro.
+ */
+public record RegistroAuditoria(
+        long sequencia,
+        String epoca,
+        Instant instante,
+        TipoAlteracao tipo,
+        Long produtoId,
+        EstadoProduto antes,
+        EstadoProduto depois
+) {
+
+    RegistroAuditoria comSequencia(long novaSequencia) {
+        return new RegistroAuditoria(novaSequencia, epoca, instante, tipo, produtoId, antes, depois);
+    }
+}
@@ -0,0 +1,169 @@
+package org.example.service.auditoria;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.model.EpocaCatalogo;
+import org.example.repository.EpocaCatalogoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Reconstroi a tabela {@code produtos} a partir do log de auditoria: aplica os registros em
+ * ordem, regrava as linhas resultantes com os ids originais e avanca {@code produtos_seq}
+ * para depois do maior id. Roda na subida com {@code --catalogo.auditoria.reprocessar=true},
+ * antes do {@code ApplicationReadyEvent}, entao indice e agregados ja nascem da tabela refeita.
+ * Recusa o log se faltar alguma sequencia (registro descartado ou lote que falhou), se ele
+ * terminar abaixo da marca de sequencias emitidas (perda no fim, ver {@link AuditoriaProdutos})
+ * ou se misturar epocas de bancos diferentes; a tabela so e tocada se o log inteiro for coerente.
+ */
+@Component
+public class ReprocessadorAuditoria implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(ReprocessadorAuditoria.class);
+    private static final int TAMANHO_LOTE = 500;
+    // Com o otimizador "pooled" (allocationSize 50) o valor lido da sequence e o topo do bloco.
+    private static final int ALOCACAO_SEQUENCE = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final EpocaCatalogoRepository epocaRepository;
+    private final Path diretorio;
+    private final boolean naSubida;
+
+    public ReprocessadorAuditoria(JdbcTemplate jdbcTemplate,
+                                  TransactionTemplate transactionTemplate,
+                                  ObjectMapper objectMapper,
+                                  EpocaCatalogoRepository epocaRepository,
+                                  @Value("${catalogo.auditoria.diretorio:dados/auditoria}") Path diretorio,
+                                  @Value("${catalogo.auditoria.reprocessar:false}") boolean naSubida) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.epocaRepository = epocaRepository;
+        this.diretorio = diretorio;
+        this.naSubida = naSubida;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (naSubida) {
+            int produtos = reprocessar();
+            log.info("Tabela produtos reconstruida do log de auditoria em {}: {} produtos", diretorio, produtos);
+        }
+    }
+
+    /** Substitui todo o conteudo de {@code produtos} pelo estado final do log; devolve quantas linhas gravou. */
+    public int reprocessar() {
+        Map<Long, Linha> linhas = new LinkedHashMap<>();
+        Continuidade continuidade = new Continuidade();
+        try {
+            LogAuditoria.ler(diretorio, bytes -> {
+                RegistroAuditoria registro = ler(bytes);
+                continuidade.conferir(registro);
+                aplicar(linhas, registro);
+            });
+            continuidade.conferirFim(LogAuditoria.lerMarca(diretorio));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            regravar(linhas);
+            if (continuidade.epoca != null) {
+                EpocaCatalogo epoca = epocaRepository.findById(EpocaCatalogo.ID)
+                        .orElseGet(() -> new EpocaCatalogo(continuidade.epoca));
+                epoca.setValor(continuidade.epoca);
+                epocaRepository.save(epoca);
+            }
+        });
+        return linhas.size();
+    }
+
+    private RegistroAuditoria ler(byte[] bytes) {
+        try {
+            return objectMapper.readValue(bytes, RegistroAuditoria.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void aplicar(Map<Long, Linha> linhas, RegistroAuditoria registro) {
+        switch (registro.tipo()) {
+            case CRIADO -> linhas.put(registro.produtoId(),
+                    new Linha(registro.depois(), registro.instante(), registro.instante()));
+            case ATUALIZADO -> linhas.compute(registro.produtoId(), (id, atual) -> new Linha(registro.depois(),
+                    atual == null ? registro.instante() : atual.criadoEm(), registro.instante()));
+            case REMOVIDO -> linhas.remove(registro.produtoId());
+        }
+    }
+
+    private void regravar(Map<Long, Linha> linhas) {
+        jdbcTemplate.update("DELETE FROM produtos");
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO produtos (id, nome, descricao, preco, estoque, versao, criado_em, atualizado_em)"
+                        + " VALUES (?, ?, ?, ?, ?, 0, ?, ?)",
+                linhas.entrySet(), TAMANHO_LOTE, (ps, entrada) -> {
+                    EstadoProduto estado = entrada.getValue().estado();
+                    ps.setLong(1, entrada.getKey());
+                    ps.setString(2, estado.nome());
+                    ps.setString(3, estado.descricao());
+                    ps.setBigDecimal(4, estado.preco());
+                    ps.setInt(5, estado.estoque());
+                    ps.setTimestamp(6, timestamp(entrada.getValue().criadoEm()));
+                    ps.setTimestamp(7, timestamp(entrada.getValue().atualizadoEm()));
+                });
+        long maiorId = linhas.keySet().stream().mapToLong(Long::longValue).max().orElse(0);
+        jdbcTemplate.execute("ALTER SEQUENCE produtos_seq RESTART WITH " + (maiorId + ALOCACAO_SEQUENCE + 1));
+    }
+
+    private static Timestamp timestamp(Instant instante) {
+        return Timestamp.valueOf(LocalDateTime.ofInstant(instante, ZoneId.systemDefault()));
+    }
+
+    /** Sequencias 1, 2, 3... sem lacuna, ate a marca, e todas da mesma epoca. */
+    private static final class Continuidade {
+
+        private long esperada = 1;
+        private String epoca;
+
+        void conferir(RegistroAuditoria registro) {
+            if (registro.sequencia() != esperada) {
+                throw new IllegalStateException("Log de auditoria incompleto: esperada a sequencia " + esperada
+                        + ", encontrada " + registro.sequencia() + " (registros descartados); reprocessamento recusado");
+            }
+            if (esperada == 1) {
+                epoca = registro.epoca();
+            } else if (!Objects.equals(epoca, registro.epoca())) {
+                throw new IllegalStateException("Log de auditoria mistura bancos (epocas " + epoca + " e "
+                        + registro.epoca() + " na sequencia " + esperada + "); reprocessamento recusado");
+            }
+            esperada++;
+        }
+
+        void conferirFim(long marca) {
+            if (esperada - 1 < marca) {
+                throw new IllegalStateException("Log de auditoria incompleto: termina na sequencia " + (esperada - 1)
+                        + ", mas foram emitidas ate " + marca + " (registros perdidos no fim); reprocessamento recusado");
+            }
+        }
+    }
+
+    private record Linha(EstadoProduto estado, Instant criadoEm, Instant atualizadoEm) {
+    }
+}
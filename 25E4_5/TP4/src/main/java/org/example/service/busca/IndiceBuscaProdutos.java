@@ -0,0 +1,182 @@
+package org.example.service.busca;
+
+import org.example.repository.ProdutoRepository;
+import org.example.repository.evento.ProdutoAlteradoEvent;
+import org.example.repository.evento.TipoAlteracao;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Indice invertido de trigramas sobre nome e descricao dos produtos, mantido em memoria.
+ * Os candidatos saem da intersecao das listas de trigramas do termo e sao confirmados
+ * por busca de substring. Nao e o mesmo que o {@code LIKE '%termo%'} em nome do banco: casa
+ * tambem a descricao e ignora acentos e maiusculas, entao a consulta de fallback acha menos.
+ * Enquanto nao for construido, {@link #estaPronto()} devolve {@code false} e o
+ * servico recorre ao banco.
+ */
+@Component
+public class IndiceBuscaProdutos {
+
+    private static final int N = 3;
+    private static final Pattern MARCAS_DIACRITICAS = Pattern.compile("\\p{M}+");
+
+    private final ProdutoRepository produtoRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Documento> documentos = new HashMap<>();
+    private final Map<String, Set<Long>> postings = new HashMap<>();
+    private volatile boolean pronto;
+
+    public IndiceBuscaProdutos(ProdutoRepository produtoRepository) {
+        this.produtoRepository = produtoRepository;
+    }
+
+    // Construido antes do AquecimentoCatalogo, que exercita a busca.
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @Transactional(readOnly = true)
+    public void reconstruir() {
+        lock.writeLock().lock();
+        try {
+            documentos.clear();
+            postings.clear();
+            produtoRepository.percorrerResumosEmOrdemDeId(p -> adicionar(p.id(), p.nome(), p.descricao()));
+            pronto = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @EventListener
+    public void aoAlterar(ProdutoAlteradoEvent evento) {
+        lock.writeLock().lock();
+        try {
+            remover(evento.id());
+            if (evento.tipo() != TipoAlteracao.REMOVIDO) {
+                adicionar(evento.id(), evento.nome(), evento.descricao());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean estaPronto() {
+        return pronto;
+    }
+
+    /**
+     * Devolve os ids que contem o termo no nome ou na descricao, do mais para o menos relevante:
+     * nome comecando pelo termo, termo no inicio de uma palavra do nome, termo em qualquer
+     * parte do nome e, por ultimo, termo apenas na descricao.
+     */
+    public List<Long> buscar(String termo) {
+        String consulta = normalizar(termo);
+        if (consulta.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            List<Resultado> resultados = new ArrayList<>();
+            for (Long id : candidatos(consulta)) {
+                Documento doc = documentos.get(id);
+                int pontuacao = doc.pontuar(consulta);
+                if (pontuacao > 0) {
+                    resultados.add(new Resultado(id, pontuacao, doc.nome().length()));
+                }
+            }
+            resultados.sort(Comparator.comparingInt(Resultado::pontuacao).reversed()
+                    .thenComparingInt(Resultado::tamanhoNome)
+                    .thenComparingLong(Resultado::id));
+            return resultados.stream().map(Resultado::id).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Collection<Long> candidatos(String consulta) {
+        if (consulta.length() < N) {
+            return documentos.keySet();
+        }
+        Set<Long> menor = null;
+        for (String grama : trigramas(consulta)) {
+            Set<Long> lista = postings.get(grama);
+            if (lista == null) {
+                return List.of();
+            }
+            if (menor == null || lista.size() < menor.size()) {
+                menor = lista;
+            }
+        }
+        return menor;
+    }
+
+    private void adicionar(Long id, String nome, String descricao) {
+        Documento doc = new Documento(normalizar(nome), normalizar(descricao));
+        documentos.put(id, doc);
+        for (String grama : doc.gramas()) {
+            postings.computeIfAbsent(grama, g -> new HashSet<>()).add(id);
+        }
+    }
+
+    private void remover(Long id) {
+        Documento anterior = documentos.remove(id);
+        if (anterior == null) {
+            return;
+        }
+        for (String grama : anterior.gramas()) {
+            Set<Long> lista = postings.get(grama);
+            if (lista != null && lista.remove(id) && lista.isEmpty()) {
+                postings.remove(grama);
+            }
+        }
+    }
+
+    static String normalizar(String valor) {
+        if (valor == null) {
+            return "";
+        }
+        String semAcentos = MARCAS_DIACRITICAS.matcher(Normalizer.normalize(valor.trim(), Normalizer.Form.NFD))
+                .replaceAll("");
+        return semAcentos.toLowerCase(Locale.ROOT);
+    }
+
+    private static Set<String> trigramas(String texto) {
+        Set<String> gramas = new HashSet<>();
+        for (int i = 0; i + N <= texto.length(); i++) {
+            gramas.add(texto.substring(i, i + N));
+        }
+        return gramas;
+    }
+
+    private record Documento(String nome, String descricao) {
+
+        Set<String> gramas() {
+            Set<String> todos = trigramas(nome);
+            todos.addAll(trigramas(descricao));
+            return todos;
+        }
+
+        int pontuar(String consulta) {
+            int posicao = nome.indexOf(consulta);
+            if (posicao == 0) {
+                return 4;
+            }
+            if (posicao > 0) {
+                return Character.isLetterOrDigit(nome.charAt(posicao - 1)) ? 2 : 3;
+            }
+            return descricao.contains(consulta) ? 1 : 0;
+        }
+    }
+
+    private record Resultado(Long id, int pontuacao, int tamanhoNome) {
+    }
+}
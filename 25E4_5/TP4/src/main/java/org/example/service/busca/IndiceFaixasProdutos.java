@@ -0,0 +1,152 @@
+package org.example.service.busca;
+
+import org.example.model.ProdutoResumo;
+import org.example.repository.ProdutoRepository;
+import org.example.repository.evento.ProdutoAlteradoEvent;
+import org.example.repository.evento.TipoAlteracao;
+import org.example.service.support.FiltroFaixas;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.LongStream;
+
+/**
+ * Indices ordenados de preco (em centavos) e estoque, mantidos em memoria como o
+ * {@link IndiceBuscaProdutos}. Um filtro combinado percorre so a faixa mais seletiva
+ * (estimada pelas buscas binarias) e confere os demais limites pelo valor atual de cada
+ * id, sem varrer a tabela. Enquanto nao for construido, o servico recorre ao banco.
+ */
+@Component
+public class IndiceFaixasProdutos {
+
+    private static final int LIMITE_PENDENTES = 4096;
+
+    private final ProdutoRepository produtoRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Valores> valores = new HashMap<>();
+    private final IndiceOrdenado precos = new IndiceOrdenado(LIMITE_PENDENTES);
+    private final IndiceOrdenado estoques = new IndiceOrdenado(LIMITE_PENDENTES);
+    private volatile boolean pronto;
+
+    public IndiceFaixasProdutos(ProdutoRepository produtoRepository) {
+        this.produtoRepository = produtoRepository;
+    }
+
+    // Pronto antes do AquecimentoCatalogo, como os demais indices.
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @Transactional(readOnly = true)
+    public void reconstruir() {
+        lock.writeLock().lock();
+        try {
+            valores.clear();
+            produtoRepository.percorrerResumosEmOrdemDeId(this::guardar);
+            long[] chavesPreco = new long[valores.size()];
+            long[] chavesEstoque = new long[valores.size()];
+            int i = 0;
+            for (Map.Entry<Long, Valores> entrada : valores.entrySet()) {
+                chavesPreco[i] = IndiceOrdenado.chave(entrada.getValue().centavos(), entrada.getKey());
+                chavesEstoque[i] = IndiceOrdenado.chave(entrada.getValue().estoque(), entrada.getKey());
+                i++;
+            }
+            precos.carregar(chavesPreco);
+            estoques.carregar(chavesEstoque);
+            pronto = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @EventListener
+    public void aoAlterar(ProdutoAlteradoEvent evento) {
+        lock.writeLock().lock();
+        try {
+            Valores anterior = valores.remove(evento.id());
+            Valores atual = (evento.tipo() == TipoAlteracao.REMOVIDO)
+                    ? null
+                    : new Valores(FiltroFaixas.centavos(evento.preco()), evento.estoque());
+            if (atual != null) {
+                valores.put(evento.id(), atual);
+            }
+            long anteriorPreco = (anterior == null) ? -1 : anterior.centavos();
+            long anteriorEstoque = (anterior == null) ? -1 : anterior.estoque();
+            trocar(precos, evento.id(), anteriorPreco, (atual == null) ? -1 : atual.centavos());
+            trocar(estoques, evento.id(), anteriorEstoque, (atual == null) ? -1 : atual.estoque());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean estaPronto() {
+        return pronto;
+    }
+
+    /** Ids que atendem a todos os limites do filtro, em ordem crescente. */
+    public List<Long> buscar(FiltroFaixas filtro) {
+        long precoMin = (filtro.precoMinCentavos() == null) ? 0 : filtro.precoMinCentavos();
+        long precoMax = (filtro.precoMaxCentavos() == null) ? Long.MAX_VALUE : filtro.precoMaxCentavos();
+        long estoqueMin = (filtro.estoqueMin() == null) ? 0 : filtro.estoqueMin();
+        lock.readLock().lock();
+        try {
+            boolean porPreco = precos.estimar(precoMin, precoMax) <= estoques.estimar(estoqueMin, Long.MAX_VALUE);
+            LongStream.Builder ids = LongStream.builder();
+            if (porPreco) {
+                precos.coletar(precoMin, precoMax, id -> adicionarSeAtende(ids, id, filtro));
+            } else {
+                estoques.coletar(estoqueMin, Long.MAX_VALUE, id -> adicionarSeAtende(ids, id, filtro));
+            }
+            return ids.build().sorted().boxed().toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** {@code true} se o produto existe e atende ao filtro; usado para filtrar resultados de busca. */
+    public boolean atende(Long id, FiltroFaixas filtro) {
+        lock.readLock().lock();
+        try {
+            return atendeSemLock(id, filtro);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void adicionarSeAtende(LongStream.Builder ids, long id, FiltroFaixas filtro) {
+        if (atendeSemLock(id, filtro)) {
+            ids.add(id);
+        }
+    }
+
+    private boolean atendeSemLock(long id, FiltroFaixas filtro) {
+        Valores v = valores.get(id);
+        return v != null && filtro.atende(v.centavos(), v.estoque());
+    }
+
+    private void guardar(ProdutoResumo produto) {
+        valores.put(produto.id(), new Valores(FiltroFaixas.centavos(produto.preco()), produto.estoque()));
+    }
+
+    private static void trocar(IndiceOrdenado indice, long id, long anterior, long atual) {
+        if (anterior == atual) {
+            return;
+        }
+        if (anterior >= 0) {
+            indice.remover(IndiceOrdenado.chave(anterior, id));
+        }
+        if (atual >= 0) {
+            indice.inserir(IndiceOrdenado.chave(atual, id));
+        }
+    }
+
+    private record Valores(long centavos, int estoque) {
+    }
+}
@@ -0,0 +1,153 @@
+package org.example.service.busca;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * Indice ordenado de pares (valor, id) em um {@code long[]}: cada chave e
+ * {@code valor << 36 | id}, entao a ordem natural dos longs e a ordem por valor e a faixa
+ * {@code [min, max]} e um intervalo contiguo achado por busca binaria. Insercoes e remocoes
+ * ficam pendentes em dois buffers pequenos e sao fundidas no vetor principal quando passam
+ * de {@code limitePendentes}, para que uma carga em lote nao custe um {@code arraycopy} por linha.
+ * Nao e thread-safe: quem usa sincroniza.
+ */
+final class IndiceOrdenado {
+
+    static final int BITS_ID = 36;
+    static final long ID_MAXIMO = (1L << BITS_ID) - 1;
+    static final long VALOR_MAXIMO = (1L << (Long.SIZE - 1 - BITS_ID)) - 1;
+
+    private final int limitePendentes;
+    private long[] chaves = new long[0];
+    private long[] inseridas;
+    private int totalInseridas;
+    // Chaves de 'chaves' ja removidas, mantidas ordenadas para busca binaria.
+    private long[] removidas;
+    private int totalRemovidas;
+
+    IndiceOrdenado(int limitePendentes) {
+        this.limitePendentes = limitePendentes;
+        this.inseridas = new long[limitePendentes + 1];
+        this.removidas = new long[limitePendentes + 1];
+    }
+
+    static long chave(long valor, long id) {
+        if (valor < 0 || valor > VALOR_MAXIMO || id < 0 || id > ID_MAXIMO) {
+            throw new IllegalArgumentException("Valor ou id fora do alcance do indice: " + valor + ", " + id);
+        }
+        return (valor << BITS_ID) | id;
+    }
+
+    /** Substitui todo o conteudo; {@code novasChaves} nao precisa estar ordenado e passa a pertencer ao indice. */
+    void carregar(long[] novasChaves) {
+        Arrays.sort(novasChaves);
+        chaves = novasChaves;
+        totalInseridas = 0;
+        totalRemovidas = 0;
+    }
+
+    int tamanho() {
+        return chaves.length - totalRemovidas + totalInseridas;
+    }
+
+    void inserir(long chave) {
+        inseridas[totalInseridas++] = chave;
+        compactarSeNecessario();
+    }
+
+    void remover(long chave) {
+        for (int i = 0; i < totalInseridas; i++) {
+            if (inseridas[i] == chave) {
+                inseridas[i] = inseridas[--totalInseridas];
+                return;
+            }
+        }
+        if (Arrays.binarySearch(chaves, chave) < 0) {
+            return;
+        }
+        int posicao = Arrays.binarySearch(removidas, 0, totalRemovidas, chave);
+        if (posicao >= 0) {
+            return;
+        }
+        posicao = -posicao - 1;
+        System.arraycopy(removidas, posicao, removidas, posicao + 1, totalRemovidas - posicao);
+        removidas[posicao] = chave;
+        totalRemovidas++;
+        compactarSeNecessario();
+    }
+
+    /** Limite superior de quantos ids {@link #coletar} devolveria, sem percorrer a faixa. */
+    int estimar(long min, long max) {
+        return Math.max(0, fim(max) - inicio(min)) + totalInseridas;
+    }
+
+    /** Entrega os ids com valor em {@code [min, max]}; a ordem nao e garantida. */
+    void coletar(long min, long max, LongConsumer ids) {
+        int inicio = inicio(min);
+        int fim = fim(max);
+        int proximaRemovida = 0;
+        if (inicio < fim && totalRemovidas > 0) {
+            proximaRemovida = Arrays.binarySearch(removidas, 0, totalRemovidas, chaves[inicio]);
+            proximaRemovida = (proximaRemovida < 0) ? -proximaRemovida - 1 : proximaRemovida;
+        }
+        for (int i = inicio; i < fim; i++) {
+            long chave = chaves[i];
+            while (proximaRemovida < totalRemovidas && removidas[proximaRemovida] < chave) {
+                proximaRemovida++;
+            }
+            if (proximaRemovida < totalRemovidas && removidas[proximaRemovida] == chave) {
+                continue;
+            }
+            ids.accept(chave & ID_MAXIMO);
+        }
+        for (int i = 0; i < totalInseridas; i++) {
+            long valor = inseridas[i] >>> BITS_ID;
+            if (valor >= min && valor <= max) {
+                ids.accept(inseridas[i] & ID_MAXIMO);
+            }
+        }
+    }
+
+    private int inicio(long min) {
+        return (min <= 0) ? 0 : posicao(chave(Math.min(min, VALOR_MAXIMO), 0));
+    }
+
+    private int fim(long max) {
+        return (max >= VALOR_MAXIMO) ? chaves.length : posicao(chave(Math.max(max + 1, 0), 0));
+    }
+
+    /** Primeira posicao com chave >= {@code chave}. */
+    private int posicao(long chave) {
+        int posicao = Arrays.binarySearch(chaves, chave);
+        return (posicao < 0) ? -posicao - 1 : posicao;
+    }
+
+    private void compactarSeNecessario() {
+        if (totalInseridas + totalRemovidas <= limitePendentes) {
+            return;
+        }
+        Arrays.sort(inseridas, 0, totalInseridas);
+        long[] fundidas = new long[tamanho()];
+        int i = 0;
+        int r = 0;
+        int n = 0;
+        int destino = 0;
+        while (i < chaves.length || n < totalInseridas) {
+            if (n == totalInseridas || (i < chaves.length && chaves[i] < inseridas[n])) {
+                long chave = chaves[i++];
+                while (r < totalRemovidas && removidas[r] < chave) {
+                    r++;
+                }
+                if (r < totalRemovidas && removidas[r] == chave) {
+                    continue;
+                }
+                fundidas[destino++] = chave;
+            } else {
+                fundidas[destino++] = inseridas[n++];
+            }
+        }
+        chaves = fundidas;
+        totalInseridas = 0;
+        totalRemovidas = 0;
+    }
+}
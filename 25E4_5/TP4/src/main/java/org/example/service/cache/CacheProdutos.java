@@ -0,0 +1,122 @@
+package org.example.service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.example.model.Produto;
+import org.example.repository.evento.ProdutoAlteradoEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+
+/**
+ * Cache read-through de produtos por id, limitado por tamanho (W-TinyLFU do Caffeine) e por TTL.
+ * Guarda copias desanexadas e devolve uma nova copia a cada leitura, para que quem chama
+ * nunca altere a instancia compartilhada. Invalidado apos o commit de qualquer gravacao.
+ */
+@Component
+public class CacheProdutos {
+
+    /** Faixas de carimbos de invalidacao (potencia de 2); ids distintos podem dividir a mesma faixa. */
+    private static final int FAIXAS = 1024;
+
+    private final Cache<Long, Produto> cache;
+    /** Contador de invalidacoes por faixa de id, usado pela leitura em lote para detectar escrita concorrente. */
+    private final AtomicLongArray invalidacoes = new AtomicLongArray(FAIXAS);
+
+    public CacheProdutos(@Value("${catalogo.cache.tamanho-maximo:10000}") long tamanhoMaximo,
+                         @Value("${catalogo.cache.ttl:10m}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    public Produto obter(Long id, Function<Long, Produto> carregador) {
+        return cache.get(id, chave -> carregador.apply(chave).copiar()).copiar();
+    }
+
+    /**
+     * Leitura em lote: os ids ausentes do cache sao entregues ao {@code carregador} de uma vez.
+     * Ids que o carregador nao devolve ficam fora do mapa e nao sao cacheados.
+     * A carga roda fora dos locks por chave; por isso cada linha so entra no cache se nenhuma
+     * invalidacao do seu id ocorreu desde antes da carga (senao poderia ser a versao anterior a
+     * uma escrita ja invalidada). Nesse caso a linha ainda e devolvida, mas nao e cacheada.
+     */
+    public Map<Long, Produto> obterTodos(Collection<Long> ids, Function<List<Long>, List<Produto>> carregador) {
+        Map<Long, Produto> copias = new HashMap<>(ids.size());
+        List<Long> faltantes = new ArrayList<>();
+        for (Long id : ids) {
+            Produto emCache = cache.getIfPresent(id);
+            if (emCache != null) {
+                copias.put(id, emCache.copiar());
+            } else {
+                faltantes.add(id);
+            }
+        }
+        if (faltantes.isEmpty()) {
+            return copias;
+        }
+
+        Map<Long, Long> carimbos = new HashMap<>(faltantes.size());
+        for (Long id : faltantes) {
+            carimbos.put(id, invalidacoes.get(faixa(id)));
+        }
+        for (Produto carregado : carregador.apply(List.copyOf(faltantes))) {
+            Long id = carregado.getId();
+            Long carimbo = carimbos.get(id);
+            if (carimbo == null) {
+                continue;
+            }
+            Produto copia = carregado.copiar();
+            // compute trava a chave: uma invalidacao posterior a esta checagem remove a entrada em seguida
+            cache.asMap().compute(id, (chave, atual) ->
+                    atual != null || invalidacoes.get(faixa(chave)) != carimbo ? atual : copia);
+            copias.put(id, carregado.copiar());
+        }
+        return copias;
+    }
+
+    /** Carga antecipada (aquecimento): guarda copias, como {@link #obter}. */
+    public void preencher(Collection<Produto> produtos) {
+        for (Produto produto : produtos) {
+            cache.put(produto.getId(), produto.copiar());
+        }
+    }
+
+    public void invalidar(Long id) {
+        // carimbo antes da remocao: uma carga em lote em andamento deixa de inserir este id
+        invalidacoes.incrementAndGet(faixa(id));
+        cache.invalidate(id);
+    }
+
+    private static int faixa(Long id) {
+        return Long.hashCode(id) & (FAIXAS - 1);
+    }
+
+    @EventListener
+    public void aoAlterar(ProdutoAlteradoEvent evento) {
+        invalidar(evento.id());
+    }
+
+    public EstatisticasCache estatisticas() {
+        CacheStats stats = cache.stats();
+        return new EstatisticasCache(
+                stats.hitCount(),
+                stats.missCount(),
+                stats.evictionCount(),
+                cache.estimatedSize(),
+                stats.hitRate()
+        );
+    }
+}
@@ -0,0 +1,10 @@
+package org.example.service.cache;
+
+public record EstatisticasCache(
+        long acertos,
+        long falhas,
+        long despejos,
+        long tamanho,
+        double taxaAcerto
+) {
+}
@@ -0,0 +1,84 @@
+package org.example.service.catalogo;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.config.MetricasConfig;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight: leituras concorrentes com a mesma chave esperam a que ja esta em andamento
+ * e recebem o mesmo resultado (ou a mesma excecao), em vez de cada uma ir ao banco.
+ * Nao guarda nada depois que a leitura termina; isso e papel do cache.
+ * Conta em {@value MetricasConfig#CONTADOR_COALESCENCIA} as leituras executadas e as
+ * compartilhadas, e publica a fracao compartilhada em {@value MetricasConfig#GAUGE_TAXA_COALESCENCIA}.
+ */
+final class CoalescedorLeituras<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> emAndamento = new ConcurrentHashMap<>();
+    private final Counter executadas;
+    private final Counter compartilhadas;
+
+    CoalescedorLeituras(String operacao, MeterRegistry meterRegistry) {
+        this.executadas = meterRegistry.counter(MetricasConfig.CONTADOR_COALESCENCIA,
+                "operacao", operacao, "resultado", "executada");
+        this.compartilhadas = meterRegistry.counter(MetricasConfig.CONTADOR_COALESCENCIA,
+                "operacao", operacao, "resultado", "compartilhada");
+        Gauge.builder(MetricasConfig.GAUGE_TAXA_COALESCENCIA, this, CoalescedorLeituras::taxa)
+                .tag("operacao", operacao)
+                .register(meterRegistry);
+    }
+
+    V executar(K chave, Supplier<V> leitura) {
+        CompletableFuture<V> propria = new CompletableFuture<>();
+        CompletableFuture<V> existente = emAndamento.putIfAbsent(chave, propria);
+        if (existente != null) {
+            compartilhadas.increment();
+            return aguardar(existente);
+        }
+        executadas.increment();
+        try {
+            V resultado = leitura.get();
+            propria.complete(resultado);
+            return resultado;
+        } catch (RuntimeException | Error e) {
+            propria.completeExceptionally(e);
+            throw e;
+        } finally {
+            emAndamento.remove(chave, propria);
+        }
+    }
+
+    /** Quem chegar depois de uma gravacao nao deve pegar carona numa leitura iniciada antes dela. */
+    void descartar(K chave) {
+        emAndamento.remove(chave);
+    }
+
+    void descartarTodas() {
+        emAndamento.clear();
+    }
+
+    double taxa() {
+        double total = executadas.count() + compartilhadas.count();
+        return (total == 0) ? 0 : compartilhadas.count() / total;
+    }
+
+    private static <V> V aguardar(CompletableFuture<V> futuro) {
+        try {
+            return futuro.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            if (e.getCause() instanceof Error erro) {
+                throw erro;
+            }
+            throw e;
+        }
+    }
+}
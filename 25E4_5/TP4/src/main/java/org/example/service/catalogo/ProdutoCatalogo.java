@@ -1,15 +1,40 @@
 package org.example.service.catalogo;
 
 import org.example.model.Produto;
+import org.example.model.ProdutoResumo;
+import org.example.model.VersaoCatalogo;
+import org.example.service.support.CursorPagina;
+import org.example.service.support.FiltroFaixas;
 import org.example.service.support.ProdutoCollection;
+import org.example.service.support.ProdutoPagina;
 import org.example.service.support.TermoBusca;
 
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
 public interface ProdutoCatalogo {
 
     ProdutoCollection listarTodos();
 
+    VersaoCatalogo versaoCatalogo();
+
+    /**
+     * Leitura somente para exibicao: todos os produtos ou os que casam com o termo e as faixas.
+     * A lista e imutavel, porque chamadas coalescidas recebem a mesma instancia.
+     */
+    List<ProdutoResumo> listarResumos(TermoBusca termoBusca, FiltroFaixas filtro);
+
+    ProdutoPagina listarPagina(TermoBusca termoBusca, FiltroFaixas filtro, CursorPagina cursor);
+
+    /** Entrega ao consumidor, sem montar a lista, os mesmos produtos de {@link #listarResumos} sem faixas. */
+    void percorrer(TermoBusca termoBusca, Consumer<ProdutoResumo> consumidor);
+
     Produto buscarPorId(Long id);
 
+    /** Produtos encontrados, por id; ids inexistentes ficam fora do mapa. */
+    Map<Long, Produto> buscarPorIds(List<Long> ids);
+
     ProdutoCollection buscarPorNome(TermoBusca termoBusca);
 
     Produto salvar(Produto produto);
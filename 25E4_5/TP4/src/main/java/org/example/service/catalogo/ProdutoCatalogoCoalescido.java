@@ -0,0 +1,117 @@
+package org.example.service.catalogo;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.model.Produto;
+import org.example.model.ProdutoResumo;
+import org.example.model.VersaoCatalogo;
+import org.example.repository.evento.ProdutoAlteradoEvent;
+import org.example.service.ProdutoService;
+import org.example.service.support.CursorPagina;
+import org.example.service.support.FiltroFaixas;
+import org.example.service.support.ProdutoCollection;
+import org.example.service.support.ProdutoPagina;
+import org.example.service.support.TermoBusca;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * {@link ProdutoCatalogo} usado pela API: une leituras identicas simultaneas (mesmo id, mesma
+ * busca/filtro/pagina, versao do catalogo para a ETag) numa so chamada ao {@link ProdutoService}.
+ * As listas devolvidas sao imutaveis e podem ser compartilhadas; o produto por id e copiado
+ * para cada chamador. Escritas passam direto e descartam as leituras em andamento afetadas.
+ */
+@Component
+@Primary
+public class ProdutoCatalogoCoalescido implements ProdutoCatalogo {
+
+    private final ProdutoService produtoService;
+    private final CoalescedorLeituras<Long, Produto> porId;
+    private final CoalescedorLeituras<ConsultaResumos, List<ProdutoResumo>> resumos;
+    private final CoalescedorLeituras<ConsultaPagina, ProdutoPagina> paginas;
+    private final CoalescedorLeituras<String, VersaoCatalogo> versao;
+
+    public ProdutoCatalogoCoalescido(ProdutoService produtoService, MeterRegistry meterRegistry) {
+        this.produtoService = produtoService;
+        this.porId = new CoalescedorLeituras<>("buscarPorId", meterRegistry);
+        this.resumos = new CoalescedorLeituras<>("listarResumos", meterRegistry);
+        this.paginas = new CoalescedorLeituras<>("listarPagina", meterRegistry);
+        this.versao = new CoalescedorLeituras<>("versaoCatalogo", meterRegistry);
+    }
+
+    @Override
+    public Produto buscarPorId(Long id) {
+        return porId.executar(id, () -> produtoService.buscarPorId(id)).copiar();
+    }
+
+    @Override
+    public List<ProdutoResumo> listarResumos(TermoBusca termoBusca, FiltroFaixas filtro) {
+        return resumos.executar(new ConsultaResumos(termoBusca, filtro), () -> produtoService.listarResumos(termoBusca, filtro));
+    }
+
+    @Override
+    public ProdutoPagina listarPagina(TermoBusca termoBusca, FiltroFaixas filtro, CursorPagina cursor) {
+        return paginas.executar(new ConsultaPagina(termoBusca, filtro, cursor),
+                () -> produtoService.listarPagina(termoBusca, filtro, cursor));
+    }
+
+    @Override
+    public VersaoCatalogo versaoCatalogo() {
+        return versao.executar("catalogo", produtoService::versaoCatalogo);
+    }
+
+    @EventListener
+    public void aoAlterar(ProdutoAlteradoEvent evento) {
+        porId.descartar(evento.id());
+        resumos.descartarTodas();
+        paginas.descartarTodas();
+        versao.descartarTodas();
+    }
+
+    // Sem coalescencia: resultados mutaveis, chaves que raramente se repetem e escritas.
+
+    @Override
+    public ProdutoCollection listarTodos() {
+        return produtoService.listarTodos();
+    }
+
+    @Override
+    public void percorrer(TermoBusca termoBusca, Consumer<ProdutoResumo> consumidor) {
+        produtoService.percorrer(termoBusca, consumidor);
+    }
+
+    @Override
+    public Map<Long, Produto> buscarPorIds(List<Long> ids) {
+        return produtoService.buscarPorIds(ids);
+    }
+
+    @Override
+    public ProdutoCollection buscarPorNome(TermoBusca termoBusca) {
+        return produtoService.buscarPorNome(termoBusca);
+    }
+
+    @Override
+    public Produto salvar(Produto produto) {
+        return produtoService.salvar(produto);
+    }
+
+    @Override
+    public Produto atualizar(Long id, Produto dadosNovos) {
+        return produtoService.atualizar(id, dadosNovos);
+    }
+
+    @Override
+    public void deletar(Long id) {
+        produtoService.deletar(id);
+    }
+
+    private record ConsultaResumos(TermoBusca termoBusca, FiltroFaixas filtro) {
+    }
+
+    private record ConsultaPagina(TermoBusca termoBusca, FiltroFaixas filtro, CursorPagina cursor) {
+    }
+}
@@ -0,0 +1,126 @@
+package org.example.service.estatistica;
+
+import org.example.repository.ProdutoRepository;
+import org.example.repository.evento.ProdutoAlteradoEvent;
+import org.example.repository.evento.TipoAlteracao;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Agregados do catalogo (sem estoque, unidades, valor em estoque, histograma de precos)
+ * mantidos em memoria. Reconstruidos do banco na subida e atualizados a cada
+ * {@link ProdutoAlteradoEvent}: a contribuicao anterior do produto e retirada e a nova
+ * somada, entao ler as estatisticas nao consulta o banco.
+ */
+@Component
+public class AgregadosCatalogo {
+
+    static final BigDecimal[] LIMITES_FAIXAS = {
+            new BigDecimal("10"), new BigDecimal("50"), new BigDecimal("100"),
+            new BigDecimal("500"), new BigDecimal("1000"), new BigDecimal("5000")
+    };
+
+    private final ProdutoRepository produtoRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Parcela> parcelas = new HashMap<>();
+    private final long[] faixas = new long[LIMITES_FAIXAS.length + 1];
+    private long semEstoque;
+    private long unidades;
+    private BigDecimal valorTotal = BigDecimal.ZERO;
+
+    public AgregadosCatalogo(ProdutoRepository produtoRepository) {
+        this.produtoRepository = produtoRepository;
+    }
+
+    // O aquecimento consulta /api/estatisticas: os agregados precisam estar montados.
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @Transactional(readOnly = true)
+    public void reconstruir() {
+        lock.writeLock().lock();
+        try {
+            parcelas.clear();
+            Arrays.fill(faixas, 0);
+            semEstoque = 0;
+            unidades = 0;
+            valorTotal = BigDecimal.ZERO;
+            produtoRepository.percorrerResumosEmOrdemDeId(p -> somar(p.id(), new Parcela(p.preco(), p.estoque())));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @EventListener
+    public void aoAlterar(ProdutoAlteradoEvent evento) {
+        lock.writeLock().lock();
+        try {
+            Parcela anterior = parcelas.remove(evento.id());
+            if (anterior != null) {
+                subtrair(anterior);
+            }
+            if (evento.tipo() != TipoAlteracao.REMOVIDO) {
+                somar(evento.id(), new Parcela(evento.preco(), evento.estoque()));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public EstatisticasCatalogo estatisticas() {
+        lock.readLock().lock();
+        try {
+            List<FaixaPreco> histograma = new ArrayList<>(faixas.length);
+            for (int i = 0; i < faixas.length; i++) {
+                BigDecimal de = (i == 0) ? BigDecimal.ZERO : LIMITES_FAIXAS[i - 1];
+                BigDecimal ate = (i < LIMITES_FAIXAS.length) ? LIMITES_FAIXAS[i] : null;
+                histograma.add(new FaixaPreco(de, ate, faixas[i]));
+            }
+            return new EstatisticasCatalogo(parcelas.size(), semEstoque, unidades, valorTotal, List.copyOf(histograma));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void somar(Long id, Parcela parcela) {
+        parcelas.put(id, parcela);
+        aplicar(parcela, 1);
+    }
+
+    private void subtrair(Parcela parcela) {
+        aplicar(parcela, -1);
+    }
+
+    private void aplicar(Parcela parcela, int sinal) {
+        faixas[faixa(parcela.preco())] += sinal;
+        if (parcela.estoque() == 0) {
+            semEstoque += sinal;
+        }
+        unidades += (long) sinal * parcela.estoque();
+        BigDecimal valor = parcela.preco().multiply(BigDecimal.valueOf(parcela.estoque()));
+        valorTotal = (sinal > 0) ? valorTotal.add(valor) : valorTotal.subtract(valor);
+    }
+
+    private static int faixa(BigDecimal preco) {
+        int i = 0;
+        while (i < LIMITES_FAIXAS.length && preco.compareTo(LIMITES_FAIXAS[i]) >= 0) {
+            i++;
+        }
+        return i;
+    }
+
+    private record Parcela(BigDecimal preco, int estoque) {
+    }
+}
@@ -0,0 +1,13 @@
+package org.example.service.estatistica;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public record EstatisticasCatalogo(
+        long totalProdutos,
+        long semEstoque,
+        long unidadesEmEstoque,
+        BigDecimal valorTotalEstoque,
+        List<FaixaPreco> faixasPreco
+) {
+}
@@ -0,0 +1,7 @@
+package org.example.service.estatistica;
+
+import java.math.BigDecimal;
+
+/** Quantidade de produtos com preco em {@code [de, ate)}; {@code ate} nulo na ultima faixa. */
+public record FaixaPreco(BigDecimal de, BigDecimal ate, long quantidade) {
+}
@@ -0,0 +1,109 @@
+package org.example.service.estoque;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.example.config.MetricasConfig;
+import org.example.exception.NegocioException;
+import org.example.exception.ProdutoNotFoundException;
+import org.example.service.validation.ProdutoValidador;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Acumula ajustes de estoque por produto e grava a soma a cada
+ * {@code catalogo.estoque.agrupamento-ms}: mil vendas de uma unidade viram um UPDATE.
+ * O chamador nao recebe confirmacao; se a soma violar os limites do estoque so o excedente
+ * e descartado (o estoque para em 0 ou no maximo) e contado em
+ * {@value MetricasConfig#CONTADOR_AJUSTES_AGRUPADOS} com {@code resultado=descartado}.
+ * Falhas transitorias devolvem a soma para a fila ({@code resultado=adiado}). Vendas que
+ * precisam de confirmacao usam {@link EstoqueService#ajustar} direto.
+ */
+@Component
+public class AgrupadorAjustesEstoque {
+
+    private static final Logger log = LoggerFactory.getLogger(AgrupadorAjustesEstoque.class);
+
+    private final EstoqueService estoqueService;
+    private final ProdutoValidador produtoValidador;
+    private final Map<Long, Long> pendentes = new ConcurrentHashMap<>();
+    // Lock em vez de synchronized: a gravacao faz JDBC e nao deve prender a thread portadora
+    // quando chamada de uma thread virtual (perfil "virtual").
+    private final Lock gravacao = new ReentrantLock();
+    private final Counter aplicados;
+    private final Counter descartados;
+    private final Counter adiados;
+
+    public AgrupadorAjustesEstoque(EstoqueService estoqueService,
+                                   ProdutoValidador produtoValidador,
+                                   MeterRegistry meterRegistry) {
+        this.estoqueService = estoqueService;
+        this.produtoValidador = produtoValidador;
+        this.aplicados = meterRegistry.counter(MetricasConfig.CONTADOR_AJUSTES_AGRUPADOS, "resultado", "aplicado");
+        this.descartados = meterRegistry.counter(MetricasConfig.CONTADOR_AJUSTES_AGRUPADOS, "resultado", "descartado");
+        this.adiados = meterRegistry.counter(MetricasConfig.CONTADOR_AJUSTES_AGRUPADOS, "resultado", "adiado");
+    }
+
+    public void registrar(Long id, int delta) {
+        produtoValidador.validarId(id);
+        if (delta == 0) {
+            throw new NegocioException("O ajuste de estoque não pode ser zero.");
+        }
+        pendentes.merge(id, (long) delta, Long::sum);
+    }
+
+    /**
+     * Grava um UPDATE por produto com ajuste pendente; ajustes que chegam durante a gravacao
+     * ficam para a proxima. Chamadas concorrentes esperam a gravacao em curso terminar.
+     */
+    @Scheduled(fixedDelayString = "${catalogo.estoque.agrupamento-ms:200}")
+    public void descarregar() {
+        gravacao.lock();
+        try {
+            // Copia das chaves: um ajuste devolvido a fila nao e tentado de novo nesta passada
+            for (Long id : List.copyOf(pendentes.keySet())) {
+                Long acumulado = pendentes.remove(id);
+                if (acumulado == null || acumulado == 0) {
+                    continue;
+                }
+                aplicar(id, acumulado);
+            }
+        } finally {
+            gravacao.unlock();
+        }
+    }
+
+    private void aplicar(Long id, long acumulado) {
+        try {
+            int aplicado = estoqueService.ajustarAteOLimite(id, acumulado);
+            if (aplicado != 0) {
+                aplicados.increment();
+            }
+            if (aplicado != acumulado) {
+                descartados.increment();
+                log.warn("Ajuste agrupado de estoque parcial (produto {}, delta {}): {} fora dos limites descartado",
+                        id, acumulado, acumulado - aplicado);
+            }
+        } catch (NegocioException | ProdutoNotFoundException e) {
+            descartados.increment();
+            log.warn("Ajuste agrupado de estoque descartado (produto {}, delta {}): {}", id, acumulado, e.getMessage());
+        } catch (RuntimeException e) {
+            pendentes.merge(id, acumulado, Long::sum);
+            adiados.increment();
+            log.warn("Ajuste agrupado de estoque adiado (produto {}, delta {}): {}", id, acumulado, e.toString());
+        }
+    }
+
+    @PreDestroy
+    void encerrar() {
+        descarregar();
+    }
+}
@@ -0,0 +1,93 @@
+package org.example.service.estoque;
+
+import org.example.exception.NegocioException;
+import org.example.exception.ProdutoNotFoundException;
+import org.example.model.Produto;
+import org.example.repository.ProdutoRepository;
+import org.example.repository.evento.ProdutoPersistenciaListener;
+import org.example.service.auditoria.AuditoriaProdutos;
+import org.example.service.auditoria.EstadoProduto;
+import org.example.service.validation.ProdutoValidador;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Ajustes de estoque por diferenca (venda, reposicao). O banco aplica o ajuste com
+ * {@code UPDATE ... SET estoque = estoque + delta WHERE estoque + delta BETWEEN 0 AND max},
+ * entao vendas concorrentes nao perdem atualizacoes nem deixam o estoque negativo.
+ */
+@Service
+@Transactional
+public class EstoqueService {
+
+    public static final int ESTOQUE_MAXIMO = ProdutoValidador.ESTOQUE_MAXIMO;
+
+    private static final int TENTATIVAS_PARCIAL = 3;
+
+    private final ProdutoRepository produtoRepository;
+    private final ProdutoValidador produtoValidador;
+    private final ProdutoPersistenciaListener persistenciaListener;
+    private final AuditoriaProdutos auditoria;
+
+    public EstoqueService(ProdutoRepository produtoRepository,
+                          ProdutoValidador produtoValidador,
+                          ProdutoPersistenciaListener persistenciaListener,
+                          AuditoriaProdutos auditoria) {
+        this.produtoRepository = produtoRepository;
+        this.produtoValidador = produtoValidador;
+        this.persistenciaListener = persistenciaListener;
+        this.auditoria = auditoria;
+    }
+
+    public Produto ajustar(Long id, int delta) {
+        produtoValidador.validarId(id);
+        if (delta == 0) {
+            throw new NegocioException("O ajuste de estoque não pode ser zero.");
+        }
+        if (Math.abs(delta) > ESTOQUE_MAXIMO) {
+            throw new NegocioException("O ajuste de estoque não pode exceder 100.000 unidades.");
+        }
+
+        int alterados = produtoRepository.ajustarEstoque(id, delta, ESTOQUE_MAXIMO, LocalDateTime.now());
+        Produto produto = produtoRepository.findById(id)
+                .orElseThrow(() -> new ProdutoNotFoundException(id));
+        if (alterados == 0) {
+            throw new NegocioException(delta < 0
+                    ? "Estoque insuficiente: disponível " + produto.getEstoque() + "."
+                    : "O estoque não pode exceder 100.000 unidades.");
+        }
+        publicar(produto, delta);
+        return produto;
+    }
+
+    /**
+     * Aplica a parte de {@code delta} que cabe entre 0 e o estoque maximo e devolve o que foi
+     * aplicado (0 se nada coube); o excedente fica para quem chamou. Se o estoque mudar entre a
+     * leitura e o UPDATE em todas as tentativas, lanca {@link ConcurrencyFailureException}.
+     */
+    public int ajustarAteOLimite(Long id, long delta) {
+        for (int tentativa = 0; tentativa < TENTATIVAS_PARCIAL; tentativa++) {
+            Produto atual = produtoRepository.findById(id)
+                    .orElseThrow(() -> new ProdutoNotFoundException(id));
+            int aplicavel = Math.clamp(atual.getEstoque() + delta, 0, ESTOQUE_MAXIMO) - atual.getEstoque();
+            if (aplicavel == 0) {
+                return 0;
+            }
+            if (produtoRepository.ajustarEstoque(id, aplicavel, ESTOQUE_MAXIMO, LocalDateTime.now()) == 1) {
+                Produto produto = produtoRepository.findById(id)
+                        .orElseThrow(() -> new ProdutoNotFoundException(id));
+                publicar(produto, aplicavel);
+                return aplicavel;
+            }
+        }
+        throw new ConcurrencyFailureException("Estoque do produto " + id + " mudou durante o ajuste.");
+    }
+
+    private void publicar(Produto produto, int delta) {
+        persistenciaListener.publicarAtualizacao(produto);
+        auditoria.registrarAtualizacao(EstadoProduto.of(produto).comEstoque(produto.getEstoque() - delta), produto);
+    }
+}
@@ -0,0 +1,13 @@
+package org.example.service.importacao;
+
+import org.example.model.Produto;
+
+import java.math.BigDecimal;
+
+/** Campos aceitos na importacao; qualquer {@code id} enviado pelo cliente e ignorado. */
+record CamposProduto(String nome, String descricao, BigDecimal preco, Integer estoque) {
+
+    Produto toProduto() {
+        return new Produto(nome, descricao, preco, estoque);
+    }
+}
@@ -0,0 +1,4 @@
+package org.example.service.importacao;
+
+public record ErroImportacao(int linha, String mensagem) {
+}
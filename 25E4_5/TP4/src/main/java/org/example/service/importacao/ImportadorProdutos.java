@@ -0,0 +1,141 @@
+package org.example.service.importacao;
+
+import jakarta.persistence.EntityManager;
+import org.example.exception.NegocioException;
+import org.example.model.Produto;
+import org.example.service.auditoria.AuditoriaProdutos;
+import org.example.service.sanitization.ProdutoSanitizador;
+import org.example.service.validation.ProdutoValidador;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Carga em lote de produtos. Cada linha passa pelas mesmas regras do cadastro unitario
+ * ({@link ProdutoValidador} e {@link ProdutoSanitizador}); as validas sao
+ * gravadas em transacoes de {@code catalogo.importacao.tamanho-lote} linhas, aproveitando o
+ * batch JDBC do Hibernate. Se um lote falhar no banco, ele e refeito linha a linha para
+ * isolar as linhas com problema sem abortar a carga. Um erro de sintaxe no meio do corpo
+ * encerra a leitura: o que veio antes e gravado e o resultado diz onde parou.
+ */
+@Service
+public class ImportadorProdutos {
+
+    public static final int MAXIMO_ERROS_DETALHADOS = 1000;
+
+    private static final Logger log = LoggerFactory.getLogger(ImportadorProdutos.class);
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ProdutoValidador produtoValidador;
+    private final ProdutoSanitizador produtoSanitizador;
+    private final AuditoriaProdutos auditoria;
+    private final int tamanhoLote;
+
+    public ImportadorProdutos(EntityManager entityManager,
+                              TransactionTemplate transactionTemplate,
+                              ProdutoValidador produtoValidador,
+                              ProdutoSanitizador produtoSanitizador,
+                              AuditoriaProdutos auditoria,
+                              @Value("${catalogo.importacao.tamanho-lote:500}") int tamanhoLote) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.produtoValidador = produtoValidador;
+        this.produtoSanitizador = produtoSanitizador;
+        this.auditoria = auditoria;
+        this.tamanhoLote = tamanhoLote;
+    }
+
+    public ResultadoImportacao importar(Iterator<LinhaImportacao> linhas) {
+        Apuracao apuracao = new Apuracao();
+        List<LinhaImportacao> lote = new ArrayList<>(tamanhoLote);
+        while (linhas.hasNext()) {
+            LinhaImportacao linha = linhas.next();
+            apuracao.processados++;
+            if (linha.interrompe()) {
+                apuracao.rejeitar(linha.numero(), linha.erroLeitura());
+                apuracao.interrompidaNaLinha = linha.numero();
+                break;
+            }
+            String erro = linha.temErroLeitura() ? linha.erroLeitura() : validar(linha.produto());
+            if (erro != null) {
+                apuracao.rejeitar(linha.numero(), erro);
+                continue;
+            }
+            lote.add(linha);
+            if (lote.size() == tamanhoLote) {
+                gravar(lote, apuracao);
+                lote.clear();
+            }
+        }
+        if (!lote.isEmpty()) {
+            gravar(lote, apuracao);
+        }
+        return apuracao.resultado();
+    }
+
+    private String validar(Produto produto) {
+        produtoSanitizador.sanitizar(produto);
+        try {
+            produtoValidador.validarProduto(produto);
+        } catch (NegocioException e) {
+            return e.getMessage();
+        }
+        return null;
+    }
+
+    private void gravar(List<LinhaImportacao> lote, Apuracao apuracao) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> persistir(lote));
+            apuracao.importados += lote.size();
+        } catch (RuntimeException e) {
+            log.warn("Lote de {} linhas falhou no banco, refazendo linha a linha: {}", lote.size(), e.getMessage());
+            for (LinhaImportacao linha : lote) {
+                linha.produto().setId(null);
+                try {
+                    transactionTemplate.executeWithoutResult(status -> persistir(List.of(linha)));
+                    apuracao.importados++;
+                } catch (RuntimeException erroLinha) {
+                    linha.produto().setId(null);
+                    apuracao.rejeitar(linha.numero(), "Falha ao gravar no banco.");
+                }
+            }
+        }
+    }
+
+    private void persistir(List<LinhaImportacao> lote) {
+        for (LinhaImportacao linha : lote) {
+            entityManager.persist(linha.produto());
+        }
+        entityManager.flush();
+        for (LinhaImportacao linha : lote) {
+            auditoria.registrarCriacao(linha.produto());
+        }
+        entityManager.clear();
+    }
+
+    private static final class Apuracao {
+        private int processados;
+        private int importados;
+        private int rejeitados;
+        private Integer interrompidaNaLinha;
+        private final List<ErroImportacao> erros = new ArrayList<>();
+
+        void rejeitar(int linha, String mensagem) {
+            rejeitados++;
+            if (erros.size() < MAXIMO_ERROS_DETALHADOS) {
+                erros.add(new ErroImportacao(linha, mensagem));
+            }
+        }
+
+        ResultadoImportacao resultado() {
+            return new ResultadoImportacao(processados, importados, rejeitados, erros, interrompidaNaLinha);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package org.example.service.importacao;
+
+import org.example.exception.NegocioException;
+import org.example.model.Produto;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Le CSV com cabecalho {@code nome,descricao,preco,estoque} linha a linha.
+ * Aceita campos entre aspas duplas (com {@code ""} como escape) e preco com ponto decimal.
+ */
+public class LeitorCsvProdutos implements Iterator<LinhaImportacao> {
+
+    private static final List<String> CABECALHO = List.of("nome", "descricao", "preco", "estoque");
+
+    private final BufferedReader leitor;
+    private int numero;
+    private String proxima;
+
+    public LeitorCsvProdutos(BufferedReader leitor) {
+        this.leitor = leitor;
+        String cabecalho = lerLinha();
+        if (cabecalho == null || !dividir(cabecalho).stream().map(String::trim).map(String::toLowerCase)
+                .toList().equals(CABECALHO)) {
+            throw new NegocioException("Cabeçalho CSV esperado: " + String.join(",", CABECALHO));
+        }
+        avancar();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return proxima != null;
+    }
+
+    @Override
+    public LinhaImportacao next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        numero++;
+        String linha = proxima;
+        avancar();
+        return converter(linha);
+    }
+
+    private LinhaImportacao converter(String linha) {
+        List<String> campos = dividir(linha);
+        if (campos.size() != CABECALHO.size()) {
+            return LinhaImportacao.invalida(numero, "Esperados 4 campos, encontrados " + campos.size() + ".");
+        }
+        try {
+            String descricao = campos.get(1).isEmpty() ? null : campos.get(1);
+            Produto produto = new Produto(campos.get(0), descricao,
+                    new BigDecimal(campos.get(2).trim()), Integer.valueOf(campos.get(3).trim()));
+            return LinhaImportacao.valida(numero, produto);
+        } catch (NumberFormatException e) {
+            return LinhaImportacao.invalida(numero, "Preço ou estoque não numérico.");
+        }
+    }
+
+    private void avancar() {
+        do {
+            proxima = lerLinha();
+        } while (proxima != null && proxima.isBlank());
+    }
+
+    private String lerLinha() {
+        try {
+            return leitor.readLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static List<String> dividir(String linha) {
+        List<String> campos = new ArrayList<>();
+        StringBuilder atual = new StringBuilder();
+        boolean entreAspas = false;
+        for (int i = 0; i < linha.length(); i++) {
+            char c = linha.charAt(i);
+            if (entreAspas) {
+                if (c == '"' && i + 1 < linha.length() && linha.charAt(i + 1) == '"') {
+                    atual.append('"');
+                    i++;
+                } else if (c == '"') {
+                    entreAspas = false;
+                } else {
+                    atual.append(c);
+                }
+            } else if (c == '"') {
+                entreAspas = true;
+            } else if (c == ',') {
+                campos.add(atual.toString());
+                atual.setLength(0);
+            } else {
+                atual.append(c);
+            }
+        }
+        campos.add(atual.toString());
+        return campos;
+    }
+}
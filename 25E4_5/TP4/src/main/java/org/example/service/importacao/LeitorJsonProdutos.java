@@ -0,0 +1,94 @@
+package org.example.service.importacao;
+
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.exception.NegocioException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Le um array JSON de produtos elemento a elemento, sem carregar o corpo inteiro em memoria.
+ * Um elemento com tipos invalidos vira erro daquela linha. JSON malformado depois do inicio
+ * vira uma ultima linha {@link LinhaImportacao#interrompida} com a posicao do erro, para o
+ * importador gravar o que ja leu e dizer onde parou; no inicio do corpo, nada foi lido e e 400.
+ */
+public class LeitorJsonProdutos implements Iterator<LinhaImportacao> {
+
+    private final ObjectMapper objectMapper;
+    private final JsonParser parser;
+    private int numero;
+    private JsonToken proximo;
+    // Erro de sintaxe ainda nao entregue como linha
+    private JsonLocation falha;
+
+    public LeitorJsonProdutos(ObjectMapper objectMapper, InputStream entrada) {
+        this.objectMapper = objectMapper;
+        try {
+            this.parser = objectMapper.getFactory().createParser(entrada);
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new NegocioException("O corpo deve ser um array JSON de produtos.");
+            }
+            this.proximo = parser.nextToken();
+        } catch (IOException e) {
+            throw new NegocioException("JSON inválido no início do corpo.");
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return falha != null || (proximo != null && proximo != JsonToken.END_ARRAY);
+    }
+
+    @Override
+    public LinhaImportacao next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        numero++;
+        if (falha != null) {
+            return interromper();
+        }
+        JsonNode elemento;
+        try {
+            elemento = objectMapper.readTree(parser);
+        } catch (IOException e) {
+            falha = local(e);
+            return interromper();
+        }
+        try {
+            proximo = parser.nextToken();
+        } catch (IOException e) {
+            // O elemento lido vale; o erro fica para a proxima linha.
+            falha = local(e);
+        }
+        return converter(elemento);
+    }
+
+    private LinhaImportacao interromper() {
+        LinhaImportacao linha = LinhaImportacao.interrompida(numero, "JSON malformado no elemento " + numero
+                + " (linha " + falha.getLineNr() + ", coluna " + falha.getColumnNr() + "); leitura interrompida.");
+        falha = null;
+        proximo = null;
+        return linha;
+    }
+
+    private JsonLocation local(IOException e) {
+        return (e instanceof JsonProcessingException erro && erro.getLocation() != null)
+                ? erro.getLocation() : parser.currentLocation();
+    }
+
+    private LinhaImportacao converter(JsonNode elemento) {
+        try {
+            return LinhaImportacao.valida(numero, objectMapper.treeToValue(elemento, CamposProduto.class).toProduto());
+        } catch (IOException e) {
+            return LinhaImportacao.invalida(numero, "Campos com tipo inválido.");
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package org.example.service.importacao;
+
+import org.example.model.Produto;
+
+/**
+ * Uma linha do arquivo de importacao: ou o produto lido, ou o erro de leitura. Com
+ * {@code interrompe}, o erro e de sintaxe e a leitura para nesta linha.
+ */
+public record LinhaImportacao(int numero, Produto produto, String erroLeitura, boolean interrompe) {
+
+    public static LinhaImportacao valida(int numero, Produto produto) {
+        return new LinhaImportacao(numero, produto, null, false);
+    }
+
+    public static LinhaImportacao invalida(int numero, String erro) {
+        return new LinhaImportacao(numero, null, erro, false);
+    }
+
+    public static LinhaImportacao interrompida(int numero, String erro) {
+        return new LinhaImportacao(numero, null, erro, true);
+    }
+
+    public boolean temErroLeitura() {
+        return erroLeitura != null;
+    }
+}
@@ -0,0 +1,22 @@
+package org.example.service.importacao;
+
+import java.util.List;
+
+/**
+ * Resumo de uma carga em lote. {@code erros} traz no maximo
+ * {@link ImportadorProdutos#MAXIMO_ERROS_DETALHADOS} linhas; {@code rejeitados} traz o total.
+ * {@code interrompidaNaLinha} e nulo quando o corpo foi lido ate o fim; senao e a linha com
+ * erro de sintaxe, e {@code importados} conta o que ja foi gravado antes dela.
+ */
+public record ResultadoImportacao(
+        int processados,
+        int importados,
+        int rejeitados,
+        List<ErroImportacao> erros,
+        Integer interrompidaNaLinha
+) {
+
+    public ResultadoImportacao {
+        erros = List.copyOf(erros);
+    }
+}
@@ -0,0 +1,49 @@
+package org.example.service.reajuste;
+
+import org.example.model.ReajustePreco;
+import org.example.model.ResumoBlocosReajuste;
+import org.example.model.StatusReajuste;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Andamento de um reajuste, montado dos checkpoints gravados: so conta blocos ja confirmados.
+ * {@code foraDosLimites} sao produtos da faixa que ficaram com o preco antigo porque o novo
+ * passaria de {@code ProdutoValidador.PRECO_MAXIMO} (ou ficaria abaixo do minimo).
+ */
+public record ProgressoReajuste(
+        Long id,
+        StatusReajuste status,
+        BigDecimal percentual,
+        BigDecimal precoMinimo,
+        BigDecimal precoMaximo,
+        int totalBlocos,
+        long blocosConcluidos,
+        long produtosReajustados,
+        long produtosForaDosLimites,
+        LocalDateTime criadoEm,
+        LocalDateTime concluidoEm
+) {
+
+    static ProgressoReajuste of(ReajustePreco reajuste, StatusReajuste status, ResumoBlocosReajuste resumo) {
+        return new ProgressoReajuste(
+                reajuste.getId(),
+                status,
+                reajuste.getPercentual(),
+                reajuste.getPrecoMinimo(),
+                reajuste.getPrecoMaximo(),
+                reajuste.getTotalBlocos(),
+                resumo.blocos(),
+                resumo.reajustados(),
+                resumo.foraDosLimites(),
+                reajuste.getCriadoEm(),
+                reajuste.getConcluidoEm()
+        );
+    }
+
+    /** Fracao de blocos concluidos, de 0 a 1. */
+    public double fracaoConcluida() {
+        return (totalBlocos == 0) ? 1.0 : (double) blocosConcluidos / totalBlocos;
+    }
+}
@@ -0,0 +1,335 @@
+package org.example.service.reajuste;
+
+import jakarta.annotation.PreDestroy;
+import org.example.exception.NegocioException;
+import org.example.exception.ReajusteNotFoundException;
+import org.example.model.Produto;
+import org.example.model.ReajusteBloco;
+import org.example.model.ReajustePreco;
+import org.example.model.StatusReajuste;
+import org.example.repository.ProdutoRepository;
+import org.example.repository.ReajusteBlocoRepository;
+import org.example.repository.ReajustePrecoRepository;
+import org.example.service.auditoria.AuditoriaProdutos;
+import org.example.service.auditoria.EstadoProduto;
+import org.example.service.validation.ProdutoValidador;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.IntStream;
+
+/**
+ * Reajuste percentual dos precos de uma faixa, em paralelo. O espaco de ids vira blocos de
+ * {@code catalogo.reajuste.tamanho-bloco} ids, repartidos por um ForkJoinPool de
+ * {@code catalogo.reajuste.paralelismo} threads. Cada bloco e uma transacao: le os produtos
+ * da faixa, aplica o fator em BigDecimal (2 casas, HALF_UP) e grava o checkpoint do bloco;
+ * o Hibernate envia os UPDATEs em batch JDBC com {@code @Version}, {@code atualizadoEm} e
+ * eventos de alteracao como qualquer edicao. Produto cujo novo preco sairia dos limites do
+ * {@link ProdutoValidador} fica como esta e e contado. Um reajuste por vez.
+ */
+@Service
+public class ReajustePrecoService {
+
+    static final int TENTATIVAS_POR_BLOCO = 3;
+
+    private static final Logger log = LoggerFactory.getLogger(ReajustePrecoService.class);
+    private static final BigDecimal PERCENTUAL_MINIMO = new BigDecimal("-100");
+    private static final BigDecimal PERCENTUAL_MAXIMO = new BigDecimal("1000");
+    private static final int CASAS_PERCENTUAL = 4;
+    private static final Duration ESPERA_ENCERRAMENTO = Duration.ofSeconds(10);
+
+    private final ProdutoRepository produtoRepository;
+    private final ReajustePrecoRepository reajusteRepository;
+    private final ReajusteBlocoRepository blocoRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final AuditoriaProdutos auditoria;
+    private final int tamanhoBloco;
+    private final ForkJoinPool pool;
+    private final Map<Long, Execucao> emExecucao = new ConcurrentHashMap<>();
+    // Lock em vez de synchronized: iniciar/retomar fazem JDBC e podem vir de threads virtuais.
+    private final Lock controle = new ReentrantLock();
+
+    public ReajustePrecoService(ProdutoRepository produtoRepository,
+                                ReajustePrecoRepository reajusteRepository,
+                                ReajusteBlocoRepository blocoRepository,
+                                TransactionTemplate transactionTemplate,
+                                AuditoriaProdutos auditoria,
+                                @Value("${catalogo.reajuste.tamanho-bloco:500}") int tamanhoBloco,
+                                @Value("${catalogo.reajuste.paralelismo:4}") int paralelismo) {
+        this.produtoRepository = produtoRepository;
+        this.reajusteRepository = reajusteRepository;
+        this.blocoRepository = blocoRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.auditoria = auditoria;
+        this.tamanhoBloco = tamanhoBloco;
+        this.pool = new ForkJoinPool(paralelismo, ReajustePrecoService::novaThread, null, false);
+    }
+
+    /** Cria o reajuste sobre os ids existentes agora e comeca a aplicar em segundo plano. */
+    public ProgressoReajuste iniciar(BigDecimal percentual, BigDecimal precoMinimo, BigDecimal precoMaximo) {
+        validar(percentual, precoMinimo, precoMaximo);
+        controle.lock();
+        try {
+            exigirNenhumEmExecucao();
+            Long menorId = produtoRepository.menorId();
+            Long maiorId = produtoRepository.maiorId();
+            ReajustePreco reajuste = reajusteRepository.save(new ReajustePreco(
+                    percentual, precoMinimo, precoMaximo,
+                    (menorId == null) ? 1L : menorId,
+                    (maiorId == null) ? 0L : maiorId,
+                    tamanhoBloco));
+            disparar(reajuste);
+            return progresso(reajuste.getId());
+        } finally {
+            controle.unlock();
+        }
+    }
+
+    public ProgressoReajuste progresso(Long id) {
+        ReajustePreco reajuste = buscar(id);
+        StatusReajuste status = (reajuste.getStatus() == StatusReajuste.EXECUTANDO && !emExecucao.containsKey(id))
+                ? StatusReajuste.INTERROMPIDO
+                : reajuste.getStatus();
+        return ProgressoReajuste.of(reajuste, status, blocoRepository.resumir(id));
+    }
+
+    /** Pede a parada: blocos em andamento terminam e ficam gravados; os demais nao comecam. */
+    public ProgressoReajuste cancelar(Long id) {
+        buscar(id);
+        Execucao execucao = emExecucao.get(id);
+        if (execucao == null) {
+            throw new NegocioException("O reajuste não está em execução.");
+        }
+        execucao.cancelar();
+        return progresso(id);
+    }
+
+    /** Reaplica apenas os blocos sem checkpoint de um reajuste cancelado, falho ou interrompido. */
+    public ProgressoReajuste retomar(Long id) {
+        controle.lock();
+        try {
+            ReajustePreco reajuste = buscar(id);
+            if (emExecucao.containsKey(id)) {
+                throw new NegocioException("O reajuste já está em execução.");
+            }
+            if (reajuste.getStatus() == StatusReajuste.CONCLUIDO) {
+                throw new NegocioException("O reajuste já foi concluído.");
+            }
+            exigirNenhumEmExecucao();
+            reajuste.reabrir();
+            disparar(reajusteRepository.save(reajuste));
+            return progresso(id);
+        } finally {
+            controle.unlock();
+        }
+    }
+
+    /** Espera a execucao em curso do reajuste terminar; {@code false} se o prazo acabar. */
+    public boolean aguardarTermino(Long id, Duration limite) throws InterruptedException {
+        Execucao execucao = emExecucao.get(id);
+        return execucao == null || execucao.termino.await(limite.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void encerrar() throws InterruptedException {
+        for (Execucao execucao : emExecucao.values()) {
+            execucao.cancelar();
+            execucao.termino.await(ESPERA_ENCERRAMENTO.toMillis(), TimeUnit.MILLISECONDS);
+        }
+        pool.shutdown();
+        pool.awaitTermination(ESPERA_ENCERRAMENTO.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void disparar(ReajustePreco reajuste) {
+        Set<Integer> concluidos = new HashSet<>(blocoRepository.listarBlocosConcluidos(reajuste.getId()));
+        int[] pendentes = IntStream.range(0, reajuste.getTotalBlocos())
+                .filter(bloco -> !concluidos.contains(bloco))
+                .toArray();
+        Execucao execucao = new Execucao(reajuste, pendentes.length);
+        emExecucao.put(reajuste.getId(), execucao);
+        Thread.ofPlatform().name("reajuste-" + reajuste.getId()).daemon().start(() -> executar(execucao, pendentes));
+    }
+
+    private void executar(Execucao execucao, int[] pendentes) {
+        ReajustePreco reajuste = execucao.reajuste;
+        log.info("Reajuste {} ({}%): {} de {} blocos pendentes", reajuste.getId(), reajuste.getPercentual(),
+                pendentes.length, reajuste.getTotalBlocos());
+        try {
+            pool.invoke(new TarefaBlocos(pendentes, bloco -> aplicarComTentativas(execucao, bloco), execucao::deveParar));
+        } catch (RuntimeException e) {
+            execucao.falhar(e);
+        }
+        StatusReajuste status;
+        if (execucao.falha.get() != null) {
+            status = StatusReajuste.FALHOU;
+        } else if (execucao.concluidos.get() < execucao.pendentes) {
+            status = StatusReajuste.CANCELADO;
+        } else {
+            status = StatusReajuste.CONCLUIDO;
+        }
+        try {
+            reajuste.encerrar(status);
+            reajusteRepository.save(reajuste);
+            log.info("Reajuste {} {}: {} de {} blocos desta execucao", reajuste.getId(), status,
+                    execucao.concluidos.get(), execucao.pendentes);
+        } catch (RuntimeException e) {
+            log.warn("Reajuste {}: nao foi possivel gravar o status {}: {}", reajuste.getId(), status, e.getMessage());
+        } finally {
+            emExecucao.remove(reajuste.getId());
+            execucao.termino.countDown();
+        }
+    }
+
+    // Conflito de versao com uma edicao concorrente: o bloco inteiro e relido e refeito.
+    private void aplicarComTentativas(Execucao execucao, int bloco) {
+        for (int tentativa = 1; ; tentativa++) {
+            try {
+                aplicarBloco(execucao.reajuste, bloco);
+                execucao.blocoConcluido();
+                return;
+            } catch (OptimisticLockingFailureException e) {
+                if (tentativa == TENTATIVAS_POR_BLOCO) {
+                    execucao.falhar(e);
+                    return;
+                }
+            } catch (RuntimeException e) {
+                execucao.falhar(e);
+                return;
+            }
+        }
+    }
+
+    private void aplicarBloco(ReajustePreco reajuste, int bloco) {
+        BigDecimal fator = reajuste.fator();
+        transactionTemplate.executeWithoutResult(status -> {
+            int reajustados = 0;
+            int foraDosLimites = 0;
+            for (Produto produto : produtoRepository.listarParaReajuste(reajuste.inicioBloco(bloco),
+                    reajuste.fimBloco(bloco), reajuste.getPrecoMinimo(), reajuste.getPrecoMaximo())) {
+                BigDecimal novoPreco = produto.getPreco().multiply(fator).setScale(2, RoundingMode.HALF_UP);
+                if (novoPreco.compareTo(ProdutoValidador.PRECO_MAXIMO) > 0
+                        || novoPreco.compareTo(ProdutoValidador.PRECO_MINIMO) < 0) {
+                    foraDosLimites++;
+                } else if (novoPreco.compareTo(produto.getPreco()) != 0) {
+                    EstadoProduto antes = EstadoProduto.of(produto);
+                    produto.setPreco(novoPreco);
+                    auditoria.registrarAtualizacao(antes, produto);
+                    reajustados++;
+                }
+            }
+            blocoRepository.save(new ReajusteBloco(reajuste.getId(), bloco, reajustados, foraDosLimites));
+        });
+    }
+
+    private ReajustePreco buscar(Long id) {
+        if (id == null || id <= 0) {
+            throw new NegocioException("ID do reajuste inválido.");
+        }
+        return reajusteRepository.findById(id).orElseThrow(() -> new ReajusteNotFoundException(id));
+    }
+
+    private void exigirNenhumEmExecucao() {
+        if (!emExecucao.isEmpty()) {
+            throw new NegocioException("Já existe um reajuste em execução (ID "
+                    + emExecucao.keySet().iterator().next() + ").");
+        }
+    }
+
+    private static void validar(BigDecimal percentual, BigDecimal precoMinimo, BigDecimal precoMaximo) {
+        if (percentual == null) {
+            throw new NegocioException("O percentual de reajuste é obrigatório.");
+        }
+        if (percentual.signum() == 0) {
+            throw new NegocioException("O percentual de reajuste não pode ser zero.");
+        }
+        if (percentual.compareTo(PERCENTUAL_MINIMO) <= 0) {
+            throw new NegocioException("O percentual de reajuste deve ser maior que -100%.");
+        }
+        if (percentual.compareTo(PERCENTUAL_MAXIMO) > 0) {
+            throw new NegocioException("O percentual de reajuste não pode exceder 1000%.");
+        }
+        if (percentual.stripTrailingZeros().scale() > CASAS_PERCENTUAL) {
+            throw new NegocioException("O percentual de reajuste aceita no máximo 4 casas decimais.");
+        }
+        if ((precoMinimo != null && precoMinimo.signum() < 0) || (precoMaximo != null && precoMaximo.signum() < 0)) {
+            throw new NegocioException("A faixa de preço não pode ter valores negativos.");
+        }
+        // A faixa e gravada em NUMERIC(10,2), como o preco: fora disso o banco arredondaria ou recusaria.
+        if (foraDaColuna(precoMinimo) || foraDaColuna(precoMaximo)) {
+            throw new NegocioException("A faixa de preço aceita no máximo 2 casas decimais e valores até 999.999,99.");
+        }
+        if (precoMinimo != null && precoMaximo != null && precoMinimo.compareTo(precoMaximo) > 0) {
+            throw new NegocioException("O preço mínimo da faixa não pode ser maior que o máximo.");
+        }
+    }
+
+    private static boolean foraDaColuna(BigDecimal preco) {
+        return preco != null
+                && (preco.stripTrailingZeros().scale() > 2 || preco.compareTo(ProdutoValidador.PRECO_MAXIMO) > 0);
+    }
+
+    private static ForkJoinWorkerThread novaThread(ForkJoinPool pool) {
+        ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        thread.setName("reajuste-bloco-" + thread.getPoolIndex());
+        return thread;
+    }
+
+    /** Estado vivo de uma execucao; o andamento confirmado fica nos checkpoints do banco. */
+    private static final class Execucao {
+
+        private final ReajustePreco reajuste;
+        private final int pendentes;
+        private final AtomicInteger concluidos = new AtomicInteger();
+        private final AtomicBoolean cancelada = new AtomicBoolean();
+        private final AtomicReference<RuntimeException> falha = new AtomicReference<>();
+        private final CountDownLatch termino = new CountDownLatch(1);
+
+        Execucao(ReajustePreco reajuste, int pendentes) {
+            this.reajuste = reajuste;
+            this.pendentes = pendentes;
+        }
+
+        boolean deveParar() {
+            return cancelada.get() || falha.get() != null;
+        }
+
+        void cancelar() {
+            cancelada.set(true);
+        }
+
+        void falhar(RuntimeException e) {
+            if (falha.compareAndSet(null, e)) {
+                log.error("Reajuste {} interrompido por falha", reajuste.getId(), e);
+            }
+        }
+
+        // Loga a cada 10% dos blocos desta execucao.
+        void blocoConcluido() {
+            int feitos = concluidos.incrementAndGet();
+            if (feitos * 10L / pendentes > (feitos - 1) * 10L / pendentes) {
+                log.info("Reajuste {}: {}% ({} de {} blocos)", reajuste.getId(), feitos * 100L / pendentes,
+                        feitos, pendentes);
+            }
+        }
+    }
+}
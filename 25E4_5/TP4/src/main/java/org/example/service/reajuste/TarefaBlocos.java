@@ -0,0 +1,44 @@
+package org.example.service.reajuste;
+
+import java.util.concurrent.RecursiveAction;
+import java.util.function.BooleanSupplier;
+import java.util.function.IntConsumer;
+
+/**
+ * Divide a lista de blocos pendentes ao meio ate sobrar um bloco por tarefa; o
+ * work-stealing do ForkJoinPool distribui as metades entre as threads. Cada folha
+ * confere {@code parar} antes de comecar, entao cancelar nao interrompe um bloco no meio.
+ */
+final class TarefaBlocos extends RecursiveAction {
+
+    private final int[] blocos;
+    private final int inicio;
+    private final int fim;
+    private final IntConsumer processador;
+    private final BooleanSupplier parar;
+
+    TarefaBlocos(int[] blocos, IntConsumer processador, BooleanSupplier parar) {
+        this(blocos, 0, blocos.length, processador, parar);
+    }
+
+    private TarefaBlocos(int[] blocos, int inicio, int fim, IntConsumer processador, BooleanSupplier parar) {
+        this.blocos = blocos;
+        this.inicio = inicio;
+        this.fim = fim;
+        this.processador = processador;
+        this.parar = parar;
+    }
+
+    @Override
+    protected void compute() {
+        if (fim - inicio <= 1) {
+            if (fim > inicio && !parar.getAsBoolean()) {
+                processador.accept(blocos[inicio]);
+            }
+            return;
+        }
+        int meio = (inicio + fim) >>> 1;
+        invokeAll(new TarefaBlocos(blocos, inicio, meio, processador, parar),
+                new TarefaBlocos(blocos, meio, fim, processador, parar));
+    }
+}
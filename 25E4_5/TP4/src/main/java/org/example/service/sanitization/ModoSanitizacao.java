@@ -0,0 +1,17 @@
+package org.example.service.sanitization;
+
+public enum ModoSanitizacao {
+
+    REMOVER(RegrasSanitizacao.REMOVER_MARCACAO),
+    ESCAPAR_HTML(RegrasSanitizacao.ESCAPAR_HTML);
+
+    private final RegrasSanitizacao regras;
+
+    ModoSanitizacao(RegrasSanitizacao regras) {
+        this.regras = regras;
+    }
+
+    public RegrasSanitizacao regras() {
+        return regras;
+    }
+}
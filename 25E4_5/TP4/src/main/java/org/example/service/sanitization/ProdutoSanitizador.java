@@ -1,12 +1,39 @@
 package org.example.service.sanitization;
 
+import io.micrometer.core.annotation.Timed;
+import org.example.config.MetricasConfig;
 import org.example.model.Produto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+/**
+ * Higieniza nome e descricao conforme {@code catalogo.sanitizacao.modo}.
+ * No modo ESCAPAR_HTML o texto salvo ja contem entidades; reenviar o mesmo valor pelo
+ * formulario de edicao escapa de novo, por isso REMOVER continua sendo o padrao. As entidades
+ * aumentam o texto (um {@code &} vira cinco caracteres); o limite de tamanho e conferido
+ * depois, sobre o valor escapado.
+ */
 @Component
+@Timed(value = MetricasConfig.TIMER_ETAPA, extraTags = {"etapa", "sanitizacao"}, histogram = true)
 public class ProdutoSanitizador {
 
+    private final RegrasSanitizacao regras;
+
+    public ProdutoSanitizador() {
+        this(ModoSanitizacao.REMOVER);
+    }
+
+    @Autowired
+    public ProdutoSanitizador(@Value("${catalogo.sanitizacao.modo:REMOVER}") ModoSanitizacao modo) {
+        this.regras = modo.regras();
+    }
+
+    /** Roda antes do {@code ProdutoValidador}, que confere o texto ja higienizado (o que vai para o banco). */
     public void sanitizar(Produto produto) {
+        if (produto == null) {
+            return;
+        }
         if (produto.getNome() != null) {
             produto.setNome(limpar(produto.getNome()));
         }
@@ -16,6 +43,6 @@ public class ProdutoSanitizador {
     }
 
     private String limpar(String valor) {
-        return valor.trim().replaceAll("[<>\"']", "");
+        return regras.aplicar(valor);
     }
 }
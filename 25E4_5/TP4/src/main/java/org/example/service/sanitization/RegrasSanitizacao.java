@@ -0,0 +1,104 @@
+package org.example.service.sanitization;
+
+import java.util.Arrays;
+
+/**
+ * Tabela imutavel de regras por caractere ASCII: manter, remover ou substituir por um texto.
+ * {@link #aplicar(String)} faz uma unica passada e devolve a propria instancia recebida
+ * quando nada precisa mudar, sem regex, Matcher ou copia.
+ */
+public final class RegrasSanitizacao {
+
+    /** Remove os caracteres usados para abrir marcacao HTML/atributos (comportamento historico). */
+    public static final RegrasSanitizacao REMOVER_MARCACAO = builder()
+            .remover('<', '>', '"', '\'')
+            .build();
+
+    /** Preserva o texto digitado, escapando as entidades HTML. */
+    public static final RegrasSanitizacao ESCAPAR_HTML = builder()
+            .substituir('&', "&amp;")
+            .substituir('<', "&lt;")
+            .substituir('>', "&gt;")
+            .substituir('"', "&quot;")
+            .substituir('\'', "&#39;")
+            .build();
+
+    private static final int ASCII = 128;
+
+    private final String[] substituicoes;
+
+    private RegrasSanitizacao(String[] substituicoes) {
+        this.substituicoes = substituicoes;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /** Equivale a {@code valor.trim()} seguido da aplicacao das regras. */
+    public String aplicar(String valor) {
+        int inicio = 0;
+        int fim = valor.length();
+        while (inicio < fim && valor.charAt(inicio) <= ' ') {
+            inicio++;
+        }
+        while (fim > inicio && valor.charAt(fim - 1) <= ' ') {
+            fim--;
+        }
+
+        int primeiro = primeiroAfetado(valor, inicio, fim);
+        if (primeiro < 0) {
+            return (inicio == 0 && fim == valor.length()) ? valor : valor.substring(inicio, fim);
+        }
+
+        StringBuilder saida = new StringBuilder(fim - inicio + 16);
+        saida.append(valor, inicio, primeiro);
+        for (int i = primeiro; i < fim; i++) {
+            char c = valor.charAt(i);
+            String substituto = (c < ASCII) ? substituicoes[c] : null;
+            if (substituto == null) {
+                saida.append(c);
+            } else {
+                saida.append(substituto);
+            }
+        }
+        return saida.toString();
+    }
+
+    private int primeiroAfetado(String valor, int inicio, int fim) {
+        for (int i = inicio; i < fim; i++) {
+            char c = valor.charAt(i);
+            if (c < ASCII && substituicoes[c] != null) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public static final class Builder {
+
+        private final String[] substituicoes = new String[ASCII];
+
+        private Builder() {
+        }
+
+        public Builder remover(char... caracteres) {
+            for (char c : caracteres) {
+                substituir(c, "");
+            }
+            return this;
+        }
+
+        public Builder substituir(char caractere, String substituto) {
+            if (caractere >= ASCII) {
+                throw new IllegalArgumentException("Regras de sanitização aceitam apenas caracteres ASCII.");
+            }
+            substituicoes[caractere] = substituto;
+            return this;
+        }
+
+        public RegrasSanitizacao build() {
+            return new RegrasSanitizacao(Arrays.copyOf(substituicoes, ASCII));
+        }
+    }
+}
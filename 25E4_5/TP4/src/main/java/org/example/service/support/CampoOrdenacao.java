@@ -0,0 +1,46 @@
+package org.example.service.support;
+
+import org.example.exception.NegocioException;
+
+import java.util.Locale;
+
+/**
+ * Colunas pelas quais a listagem pode ser ordenada. Lista fechada para que o parametro
+ * da URL nunca chegue ao ORDER BY como texto livre.
+ */
+public enum CampoOrdenacao {
+
+    /** Ordem do indice de busca; so faz sentido com termo de busca. */
+    RELEVANCIA("relevancia", null),
+    ID("id", "id"),
+    NOME("nome", "nome"),
+    PRECO("preco", "preco"),
+    ESTOQUE("estoque", "estoque"),
+    ATUALIZADO_EM("atualizado", "atualizadoEm");
+
+    private final String parametro;
+    private final String propriedade;
+
+    CampoOrdenacao(String parametro, String propriedade) {
+        this.parametro = parametro;
+        this.propriedade = propriedade;
+    }
+
+    public static CampoOrdenacao of(String valor) {
+        String normalizado = valor.trim().toLowerCase(Locale.ROOT);
+        for (CampoOrdenacao campo : values()) {
+            if (campo.parametro.equals(normalizado)) {
+                return campo;
+            }
+        }
+        throw new NegocioException("Ordenação inválida: " + valor);
+    }
+
+    public String parametro() {
+        return parametro;
+    }
+
+    public String propriedade() {
+        return propriedade;
+    }
+}
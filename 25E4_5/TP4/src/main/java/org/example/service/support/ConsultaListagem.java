@@ -0,0 +1,51 @@
+package org.example.service.support;
+
+import org.example.exception.NegocioException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.util.StringUtils;
+
+/**
+ * Parametros da listagem paginada da interface web. {@code pagina} comeca em 1.
+ * Sem ordem explicita, buscas saem por relevancia e a listagem completa por id.
+ */
+public record ConsultaListagem(TermoBusca termoBusca, int pagina, int tamanho, CampoOrdenacao ordem, boolean decrescente) {
+
+    public static final int TAMANHO_PADRAO = 20;
+    public static final int TAMANHO_MAXIMO = 100;
+
+    public static ConsultaListagem of(String busca, Integer pagina, Integer tamanho, String ordem, String direcao) {
+        TermoBusca termo = TermoBusca.of(busca);
+        int numero = (pagina == null) ? 1 : pagina;
+        if (numero < 1) {
+            throw new NegocioException("Página inválida: " + pagina);
+        }
+        int porPagina = (tamanho == null) ? TAMANHO_PADRAO : tamanho;
+        if (porPagina < 1 || porPagina > TAMANHO_MAXIMO) {
+            throw new NegocioException("O tamanho da página deve estar entre 1 e " + TAMANHO_MAXIMO + ".");
+        }
+        CampoOrdenacao campo = StringUtils.hasText(ordem) ? CampoOrdenacao.of(ordem) : CampoOrdenacao.RELEVANCIA;
+        if (campo == CampoOrdenacao.RELEVANCIA && termo.estaVazio()) {
+            campo = CampoOrdenacao.ID;
+        }
+        return new ConsultaListagem(termo, numero, porPagina, campo, "desc".equalsIgnoreCase(direcao));
+    }
+
+    public boolean porRelevancia() {
+        return ordem == CampoOrdenacao.RELEVANCIA;
+    }
+
+    /** Desempata por id para que a mesma linha nao apareca em duas paginas. */
+    public Pageable pageable() {
+        if (porRelevancia()) {
+            return PageRequest.of(pagina - 1, tamanho);
+        }
+        Sort.Direction direcao = decrescente ? Sort.Direction.DESC : Sort.Direction.ASC;
+        Sort sort = Sort.by(direcao, ordem.propriedade());
+        if (ordem != CampoOrdenacao.ID) {
+            sort = sort.and(Sort.by(direcao, "id"));
+        }
+        return PageRequest.of(pagina - 1, tamanho, sort);
+    }
+}
@@ -0,0 +1,25 @@
+package org.example.service.support;
+
+import org.example.exception.NegocioException;
+
+/**
+ * Parametros de paginacao por cursor (keyset sobre {@code id}).
+ * O cursor e o ultimo id recebido pelo cliente; a proxima pagina comeca depois dele.
+ */
+public record CursorPagina(long apos, int limite) {
+
+    public static final int LIMITE_PADRAO = 50;
+    public static final int LIMITE_MAXIMO = 1000;
+
+    public static CursorPagina of(Long apos, Integer limite) {
+        long cursor = (apos == null) ? 0L : apos;
+        if (cursor < 0) {
+            throw new NegocioException("Cursor inválido: " + apos);
+        }
+        int tamanho = (limite == null) ? LIMITE_PADRAO : limite;
+        if (tamanho < 1 || tamanho > LIMITE_MAXIMO) {
+            throw new NegocioException("O limite deve estar entre 1 e " + LIMITE_MAXIMO + ".");
+        }
+        return new CursorPagina(cursor, tamanho);
+    }
+}
@@ -0,0 +1,66 @@
+package org.example.service.support;
+
+import org.example.exception.NegocioException;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Filtros por faixa da API: preco minimo/maximo (inclusivos) e estoque minimo. Cada limite e
+ * opcional; os precos sao guardados em centavos, arredondados para dentro da faixa.
+ */
+public record FiltroFaixas(Long precoMinCentavos, Long precoMaxCentavos, Integer estoqueMin) {
+
+    private static final FiltroFaixas VAZIO = new FiltroFaixas(null, null, null);
+
+    public static FiltroFaixas of(BigDecimal precoMin, BigDecimal precoMax, Integer estoqueMin) {
+        if (precoMin == null && precoMax == null && estoqueMin == null) {
+            return VAZIO;
+        }
+        if ((precoMin != null && precoMin.signum() < 0) || (precoMax != null && precoMax.signum() < 0)) {
+            throw new NegocioException("Os limites de preço não podem ser negativos.");
+        }
+        if (precoMin != null && precoMax != null && precoMin.compareTo(precoMax) > 0) {
+            throw new NegocioException("O preço mínimo não pode ser maior que o máximo.");
+        }
+        if (estoqueMin != null && estoqueMin < 0) {
+            throw new NegocioException("O estoque mínimo não pode ser negativo.");
+        }
+        return new FiltroFaixas(centavos(precoMin, RoundingMode.CEILING), centavos(precoMax, RoundingMode.FLOOR), estoqueMin);
+    }
+
+    public static FiltroFaixas vazio() {
+        return VAZIO;
+    }
+
+    public boolean estaVazio() {
+        return precoMinCentavos == null && precoMaxCentavos == null && estoqueMin == null;
+    }
+
+    public boolean atende(long precoCentavos, int estoque) {
+        return (precoMinCentavos == null || precoCentavos >= precoMinCentavos)
+                && (precoMaxCentavos == null || precoCentavos <= precoMaxCentavos)
+                && (estoqueMin == null || estoque >= estoqueMin);
+    }
+
+    public BigDecimal precoMin() {
+        return (precoMinCentavos == null) ? null : BigDecimal.valueOf(precoMinCentavos, 2);
+    }
+
+    public BigDecimal precoMax() {
+        return (precoMaxCentavos == null) ? null : BigDecimal.valueOf(precoMaxCentavos, 2);
+    }
+
+    public static long centavos(BigDecimal preco) {
+        return preco.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    private static Long centavos(BigDecimal preco, RoundingMode arredondamento) {
+        if (preco == null) {
+            return null;
+        }
+        BigDecimal valor = preco.movePointRight(2).setScale(0, arredondamento);
+        // Acima de qualquer preco valido: satura em vez de estourar o long.
+        return valor.compareTo(BigDecimal.valueOf(Long.MAX_VALUE / 2)) > 0 ? Long.MAX_VALUE / 2 : valor.longValueExact();
+    }
+}
@@ -0,0 +1,24 @@
+package org.example.service.support;
+
+import org.example.model.ProdutoResumo;
+
+import java.util.List;
+
+/**
+ * Pagina de produtos ordenada por id. {@code proximoCursor} e nulo na ultima pagina.
+ */
+public record ProdutoPagina(List<ProdutoResumo> itens, Long proximoCursor) {
+
+    public ProdutoPagina {
+        itens = List.copyOf(itens);
+    }
+
+    public static ProdutoPagina of(List<ProdutoResumo> itens, CursorPagina cursor) {
+        Long proximo = itens.size() < cursor.limite() ? null : itens.get(itens.size() - 1).id();
+        return new ProdutoPagina(itens, proximo);
+    }
+
+    public List<ProdutoResumo> asList() {
+        return itens;
+    }
+}
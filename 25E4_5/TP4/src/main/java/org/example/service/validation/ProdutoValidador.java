@@ -1,33 +1,93 @@
 package org.example.service.validation;
 
+import io.micrometer.core.annotation.Timed;
+import org.example.config.MetricasConfig;
 import org.example.exception.NegocioException;
+import org.example.exception.ValidacaoException;
+import org.example.exception.ValidacaoException.Violacao;
 import org.example.model.Produto;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
 
+/**
+ * Regras de Produto num lugar so, escritas como codigo: sem anotacoes, reflexao nem
+ * interpolacao de mensagens. Cadastro (MVC e API), edicao e importacao passam por aqui
+ * uma unica vez e recebem todas as violacoes juntas, na ordem dos campos. Valida o produto
+ * ja higienizado, para que os limites de tamanho valham para o texto gravado.
+ */
 @Component
+@Timed(value = MetricasConfig.TIMER_ETAPA, extraTags = {"etapa", "validacao"}, histogram = true)
 public class ProdutoValidador {
 
+    public static final int MAXIMO_IDS_POR_CONSULTA = 100;
+    public static final int NOME_MINIMO = 2;
+    public static final int NOME_MAXIMO = 100;
+    public static final int DESCRICAO_MAXIMO = 500;
+    public static final BigDecimal PRECO_MINIMO = new BigDecimal("0.01");
+    public static final BigDecimal PRECO_MAXIMO = new BigDecimal("999999.99");
+    public static final int ESTOQUE_MAXIMO = 100_000;
+
     public void validarId(Long id) {
         if (id == null || id <= 0) {
             throw new NegocioException("ID inválido: " + id);
         }
     }
 
+    /** Valida a lista inteira numa chamada so, em vez de um {@link #validarId} por id. */
+    public void validarIds(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new NegocioException("Informe ao menos um ID.");
+        }
+        if (ids.size() > MAXIMO_IDS_POR_CONSULTA) {
+            throw new NegocioException("Máximo de " + MAXIMO_IDS_POR_CONSULTA + " IDs por consulta.");
+        }
+        for (Long id : ids) {
+            if (id == null || id <= 0) {
+                throw new NegocioException("ID inválido: " + id);
+            }
+        }
+    }
+
+    /** Lanca {@link ValidacaoException} com todas as violacoes, se houver alguma. */
     public void validarProduto(Produto produto) {
         if (produto == null) {
             throw new NegocioException("Produto não pode ser nulo.");
         }
-        if (!StringUtils.hasText(produto.getNome())) {
-            throw new NegocioException("O nome do produto é obrigatório.");
+        List<Violacao> violacoes = verificar(produto.getNome(), produto.getDescricao(),
+                produto.getPreco(), produto.getEstoque());
+        if (!violacoes.isEmpty()) {
+            throw new ValidacaoException(violacoes);
+        }
+    }
+
+    public List<Violacao> verificar(String nome, String descricao, BigDecimal preco, Integer estoque) {
+        List<Violacao> violacoes = new ArrayList<>(0);
+        if (!StringUtils.hasText(nome)) {
+            violacoes.add(new Violacao("nome", "O nome é obrigatório."));
+        } else if (nome.length() < NOME_MINIMO || nome.length() > NOME_MAXIMO) {
+            violacoes.add(new Violacao("nome", "O nome deve ter entre 2 e 100 caracteres."));
+        }
+        if (descricao != null && descricao.length() > DESCRICAO_MAXIMO) {
+            violacoes.add(new Violacao("descricao", "A descrição deve ter no máximo 500 caracteres."));
         }
-        if (produto.getPreco() == null || produto.getPreco().compareTo(BigDecimal.ZERO) <= 0) {
-            throw new NegocioException("O preço deve ser maior que zero.");
+        if (preco == null) {
+            violacoes.add(new Violacao("preco", "O preço é obrigatório."));
+        } else if (preco.compareTo(PRECO_MINIMO) < 0) {
+            violacoes.add(new Violacao("preco", "O preço deve ser maior que zero."));
+        } else if (preco.compareTo(PRECO_MAXIMO) > 0) {
+            violacoes.add(new Violacao("preco", "O preço não pode exceder 999.999,99."));
         }
-        if (produto.getEstoque() == null || produto.getEstoque() < 0) {
-            throw new NegocioException("O estoque não pode ser negativo.");
+        if (estoque == null) {
+            violacoes.add(new Violacao("estoque", "O estoque é obrigatório."));
+        } else if (estoque < 0) {
+            violacoes.add(new Violacao("estoque", "O estoque não pode ser negativo."));
+        } else if (estoque > ESTOQUE_MAXIMO) {
+            violacoes.add(new Violacao("estoque", "O estoque não pode exceder 100.000 unidades."));
         }
+        return violacoes;
     }
 }
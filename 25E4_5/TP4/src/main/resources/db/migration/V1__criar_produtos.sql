@@ -0,0 +1,19 @@
+-- Esquema inicial do catalogo (perfil "arquivo"). Deve acompanhar o mapeamento de Produto:
+-- o perfil sobe com ddl-auto=validate.
+CREATE SEQUENCE produtos_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE produtos (
+    id            BIGINT        NOT NULL,
+    nome          VARCHAR(100)  NOT NULL,
+    descricao     VARCHAR(500),
+    preco         NUMERIC(10, 2) NOT NULL,
+    estoque       INTEGER       NOT NULL,
+    versao        BIGINT        NOT NULL,
+    criado_em     TIMESTAMP(6),
+    atualizado_em TIMESTAMP(6),
+    CONSTRAINT pk_produtos PRIMARY KEY (id)
+);
+
+-- Ordenacao da listagem por nome/preco e filtros por faixa de preco.
+CREATE INDEX idx_produtos_nome ON produtos (nome);
+CREATE INDEX idx_produtos_preco ON produtos (preco);
@@ -0,0 +1,25 @@
+-- Reajustes de preco em lote e seus checkpoints por bloco (ReajustePreco / ReajusteBloco).
+CREATE TABLE reajustes_preco (
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    percentual    NUMERIC(8, 4)  NOT NULL,
+    preco_minimo  NUMERIC(10, 2),
+    preco_maximo  NUMERIC(10, 2),
+    id_inicial    BIGINT         NOT NULL,
+    id_final      BIGINT         NOT NULL,
+    tamanho_bloco INTEGER        NOT NULL,
+    total_blocos  INTEGER        NOT NULL,
+    status        VARCHAR(20)    NOT NULL,
+    criado_em     TIMESTAMP(6)   NOT NULL,
+    concluido_em  TIMESTAMP(6),
+    CONSTRAINT pk_reajustes_preco PRIMARY KEY (id)
+);
+
+CREATE TABLE reajustes_preco_blocos (
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    reajuste_id      BIGINT  NOT NULL,
+    bloco            INTEGER NOT NULL,
+    reajustados      INTEGER NOT NULL,
+    fora_dos_limites INTEGER NOT NULL,
+    CONSTRAINT pk_reajustes_preco_blocos PRIMARY KEY (id),
+    CONSTRAINT uk_reajustes_preco_blocos UNIQUE (reajuste_id, bloco)
+);
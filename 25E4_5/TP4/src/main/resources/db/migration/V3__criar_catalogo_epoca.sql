@@ -0,0 +1,6 @@
+-- Epoca do banco (EpocaCatalogo): amarra o log de auditoria ao banco que o gerou.
+CREATE TABLE catalogo_epoca (
+    id    INTEGER     NOT NULL,
+    valor VARCHAR(32) NOT NULL,
+    CONSTRAINT pk_catalogo_epoca PRIMARY KEY (id)
+);
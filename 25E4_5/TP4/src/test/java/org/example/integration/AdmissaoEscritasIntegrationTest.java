@@ -0,0 +1,105 @@
+package org.example.integration;
+
+import org.example.model.Produto;
+import org.example.repository.ProdutoRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Escritas limitadas por cliente na API e no MVC; as leituras nao passam pelo limitador.
+ */
+@SpringBootTest(properties = {
+        "catalogo.admissao.habilitada=true",
+        "catalogo.admissao.taxa-por-cliente=0.01",
+        "catalogo.admissao.rajada-por-cliente=2"
+})
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@DisplayName("Controle de admissão de escritas — Integração")
+class AdmissaoEscritasIntegrationTest {
+
+    private static final String JSON = "{\"nome\":\"Cabo\",\"descricao\":\"USB\",\"preco\":10.00,\"estoque\":1}";
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ProdutoRepository repository;
+
+    @Test
+    @DisplayName("POST /api/produtos acima da rajada do cliente responde 429 com Retry-After")
+    void api_acimaDaRajada_429() throws Exception {
+        criar("10.0.0.1").andExpect(status().isCreated());
+        criar("10.0.0.1").andExpect(status().isCreated());
+
+        criar("10.0.0.1")
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "100"));
+        criar("10.0.0.2").andExpect(status().isCreated());
+        assertThat(repository.count()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Formulários MVC de escrita dividem o limite do cliente; leituras seguem liberadas")
+    void mvc_compartilhaLimite_leiturasLiberadas() throws Exception {
+        Produto produto = repository.save(new Produto("Mouse", "Óptico", new BigDecimal("50.00"), 5));
+
+        mvc.perform(post("/produtos/novo").with(cliente("10.0.0.3"))
+                        .param("nome", "Teclado").param("preco", "99.90").param("estoque", "1"))
+                .andExpect(status().is3xxRedirection());
+        criar("10.0.0.3").andExpect(status().isCreated());
+
+        mvc.perform(post("/produtos/{id}/deletar", produto.getId()).with(cliente("10.0.0.3")))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+        assertThat(repository.existsById(produto.getId())).isTrue();
+
+        for (int i = 0; i < 5; i++) {
+            mvc.perform(get("/api/produtos/{id}", produto.getId()).with(cliente("10.0.0.3")))
+                    .andExpect(status().isOk());
+        }
+    }
+
+    @Test
+    @DisplayName("Ajustes agrupados de estoque não consomem o limite de escritas do cliente")
+    void ajustesEstoque_foraDoLimite() throws Exception {
+        Produto produto = repository.save(new Produto("Mouse", "Óptico", new BigDecimal("50.00"), 5));
+
+        for (int i = 0; i < 10; i++) {
+            mvc.perform(post("/api/produtos/{id}/estoque/ajustes", produto.getId()).with(cliente("10.0.0.4"))
+                            .contentType(MediaType.APPLICATION_JSON).content("{\"delta\": 1}"))
+                    .andExpect(status().isAccepted());
+        }
+        criar("10.0.0.4").andExpect(status().isCreated());
+        criar("10.0.0.4").andExpect(status().isCreated());
+        criar("10.0.0.4").andExpect(status().isTooManyRequests());
+    }
+
+    private ResultActions criar(String endereco) throws Exception {
+        return mvc.perform(post("/api/produtos").with(cliente(endereco))
+                .contentType(MediaType.APPLICATION_JSON).content(JSON));
+    }
+
+    private static RequestPostProcessor cliente(String endereco) {
+        return requisicao -> {
+            requisicao.setRemoteAddr(endereco);
+            return requisicao;
+        };
+    }
+}
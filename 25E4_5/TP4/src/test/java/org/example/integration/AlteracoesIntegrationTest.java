@@ -0,0 +1,135 @@
+package org.example.integration;
+
+import org.example.model.Produto;
+import org.example.service.ProdutoService;
+import org.example.service.alteracoes.FluxoAlteracoes;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Stream SSE de alteracoes contra o Tomcat de verdade: replay pelo {@code Last-Event-ID},
+ * eventos ao vivo e pedido de ressincronizacao (buffer estourado ou id de antes de um reinicio).
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "catalogo.alteracoes.capacidade-buffer=4",
+        "catalogo.alteracoes.intervalo-ping=200ms"
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@DisplayName("Stream de alterações (SSE) — Integração")
+class AlteracoesIntegrationTest {
+
+    private final HttpClient cliente = HttpClient.newHttpClient();
+
+    @LocalServerPort
+    private int porta;
+
+    @Autowired
+    private ProdutoService service;
+
+    @Autowired
+    private FluxoAlteracoes fluxo;
+
+    @Test
+    @DisplayName("Reconexão com Last-Event-ID recebe as alterações perdidas e depois as novas, em ordem")
+    void replayEAoVivo() throws Exception {
+        Produto produto = service.salvar(new Produto("Cabo", "USB", new BigDecimal("10.00"), 1));
+        produto.setPreco(new BigDecimal("12.00"));
+        service.atualizar(produto.getId(), produto);
+
+        String epoca = fluxo.epoca();
+        try (Stream<String> linhas = conectar(epoca + ":1")) {
+            Iterator<String> eventos = linhas.iterator();
+            List<String> recebidos = new ArrayList<>(ler(eventos, 1));
+
+            service.deletar(produto.getId());
+            recebidos.addAll(ler(eventos, 1));
+
+            assertThat(recebidos).hasSize(2);
+            assertThat(recebidos.get(0)).startsWith("id:" + epoca + ":2|").contains("\"tipo\":\"ATUALIZADO\"", "\"preco\":12.00");
+            assertThat(recebidos.get(1)).startsWith("id:" + epoca + ":3|").contains("\"tipo\":\"REMOVIDO\"");
+        }
+    }
+
+    @Test
+    @DisplayName("Sequência que já saiu do buffer recebe o evento ressincronizar com a sequência atual")
+    void foraDoBuffer_ressincronizar() throws Exception {
+        for (int i = 0; i < 6; i++) {
+            service.salvar(new Produto("Produto " + i, null, BigDecimal.ONE, 1));
+        }
+
+        try (Stream<String> linhas = conectar(fluxo.epoca() + ":0")) {
+            assertThat(ler(linhas.iterator(), 1)).singleElement().asString()
+                    .startsWith("event:ressincronizar|id:" + fluxo.epoca() + ":6|").contains("\"sequencia\":6");
+        }
+    }
+
+    @Test
+    @DisplayName("Id de antes de um reinício (outra época, ou sem época) pede ressincronização mesmo com sequência válida")
+    void idDeOutraEpoca_ressincronizar() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            service.salvar(new Produto("Produto " + i, null, BigDecimal.ONE, 1));
+        }
+        String epoca = fluxo.epoca();
+
+        try (Stream<String> linhas = conectar("epocaanterior:1")) {
+            Iterator<String> eventos = linhas.iterator();
+            assertThat(ler(eventos, 1)).singleElement().asString()
+                    .startsWith("event:ressincronizar|id:" + epoca + ":3|").contains("\"epoca\":\"" + epoca + "\"");
+
+            service.salvar(new Produto("Depois", null, BigDecimal.ONE, 1));
+            assertThat(ler(eventos, 1)).singleElement().asString().startsWith("id:" + epoca + ":4|");
+        }
+        try (Stream<String> linhas = conectar("1")) {
+            assertThat(ler(linhas.iterator(), 1)).singleElement().asString()
+                    .startsWith("event:ressincronizar|id:" + epoca + ":4|");
+        }
+    }
+
+    private Stream<String> conectar(String ultimoEvento) throws Exception {
+        HttpRequest requisicao = HttpRequest.newBuilder(URI.create("http://localhost:" + porta + "/api/produtos/alteracoes"))
+                .header("Accept", "text/event-stream")
+                .header("Last-Event-ID", ultimoEvento)
+                .build();
+        HttpResponse<Stream<String>> resposta = cliente.send(requisicao, HttpResponse.BodyHandlers.ofLines());
+        assertThat(resposta.statusCode()).isEqualTo(200);
+        return resposta.body();
+    }
+
+    /** Junta os campos de cada evento numa linha ({@code campo:valor|...}), ignorando comentarios. */
+    private static List<String> ler(Iterator<String> linhas, int quantidade) throws Exception {
+        return CompletableFuture.supplyAsync(() -> {
+            List<String> eventos = new ArrayList<>();
+            StringBuilder atual = new StringBuilder();
+            while (eventos.size() < quantidade && linhas.hasNext()) {
+                String linha = linhas.next();
+                if (linha.isEmpty()) {
+                    if (!atual.isEmpty()) {
+                        eventos.add(atual.toString());
+                        atual.setLength(0);
+                    }
+                } else if (!linha.startsWith(":")) {
+                    atual.append(linha).append('|');
+                }
+            }
+            return eventos;
+        }).get(10, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,200 @@
+package org.example.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.model.EpocaCatalogo;
+import org.example.model.Produto;
+import org.example.repository.EpocaCatalogoRepository;
+import org.example.repository.ProdutoRepository;
+import org.example.repository.evento.TipoAlteracao;
+import org.example.service.ProdutoService;
+import org.example.service.auditoria.AuditoriaProdutos;
+import org.example.service.auditoria.EstadoProduto;
+import org.example.service.auditoria.LogAuditoria;
+import org.example.service.auditoria.RegistroAuditoria;
+import org.example.service.auditoria.ReprocessadorAuditoria;
+import org.example.service.estoque.EstoqueService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Auditoria ligada sobre um diretorio temporario: o log registra antes/depois de cada
+ * gravacao confirmada e o reprocessamento reconstroi a tabela a partir dele, desde que o log
+ * seja continuo e de um banco so. Um contexto para a classe toda: o log e o banco em memoria
+ * tem que nascer juntos (um contexto novo seria um banco novo diante do log antigo).
+ */
+@SpringBootTest
+@DisplayName("Auditoria write-behind — Integração")
+class AuditoriaIntegrationTest {
+
+    @TempDir
+    static Path diretorio;
+
+    @DynamicPropertySource
+    static void propriedades(DynamicPropertyRegistry registry) {
+        registry.add("catalogo.auditoria.habilitada", () -> "true");
+        registry.add("catalogo.auditoria.diretorio", () -> diretorio.toString());
+        registry.add("catalogo.auditoria.tamanho-segmento", () -> "4KB");
+    }
+
+    @Autowired
+    private ProdutoService service;
+
+    @Autowired
+    private EstoqueService estoqueService;
+
+    @Autowired
+    private ProdutoRepository repository;
+
+    @Autowired
+    private AuditoriaProdutos auditoria;
+
+    @Autowired
+    private ReprocessadorAuditoria reprocessador;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EpocaCatalogoRepository epocaRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @TempDir
+    Path outroLog;
+
+    @Test
+    @DisplayName("Criação, edição, ajuste e remoção geram registros com antes e depois")
+    void registraGravacoes() throws Exception {
+        int anteriores = registros().size();
+        Produto criado = service.salvar(new Produto("Auditado", "Desc", new BigDecimal("10.00"), 5));
+        service.atualizar(criado.getId(), new Produto("Auditado 2", "Desc", new BigDecimal("12.00"), 5));
+        estoqueService.ajustar(criado.getId(), -2);
+        service.deletar(criado.getId());
+        assertThat(auditoria.aguardarGravacao(Duration.ofSeconds(5))).isTrue();
+
+        List<RegistroAuditoria> registros = registros().subList(anteriores, anteriores + 4);
+        assertThat(registros).extracting(RegistroAuditoria::tipo).containsExactly(
+                TipoAlteracao.CRIADO, TipoAlteracao.ATUALIZADO, TipoAlteracao.ATUALIZADO, TipoAlteracao.REMOVIDO);
+        assertThat(registros).extracting(RegistroAuditoria::produtoId).containsOnly(criado.getId());
+        assertThat(registros.get(0).antes()).isNull();
+        assertThat(registros.get(1).antes().nome()).isEqualTo("Auditado");
+        assertThat(registros.get(1).depois().preco()).isEqualByComparingTo("12.00");
+        assertThat(registros.get(2).antes().estoque()).isEqualTo(5);
+        assertThat(registros.get(2).depois().estoque()).isEqualTo(3);
+        assertThat(registros.get(3).depois()).isNull();
+        for (int i = 1; i < registros.size(); i++) {
+            assertThat(registros.get(i).sequencia()).isEqualTo(registros.get(i - 1).sequencia() + 1);
+        }
+        assertThat(registros).extracting(RegistroAuditoria::epoca)
+                .containsOnly(epocaRepository.findById(EpocaCatalogo.ID).orElseThrow().getValor());
+    }
+
+    @Test
+    @DisplayName("Reprocessamento recusa log com lacuna de sequência (registro descartado) sem tocar na tabela")
+    void reprocessamento_recusaLacuna() throws Exception {
+        Produto existente = service.salvar(new Produto("Intocado", "Desc", BigDecimal.ONE, 1));
+        gravarLog(registro(1, "e1", 501L), registro(3, "e1", 502L));
+
+        assertThatThrownBy(() -> reprocessadorDe(outroLog).reprocessar())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("esperada a sequencia 2");
+        assertThat(repository.findById(existente.getId())).isPresent();
+        assertThat(repository.findById(501L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Reprocessamento recusa log que termina abaixo da marca de sequências emitidas")
+    void reprocessamento_recusaPerdaNoFim() throws Exception {
+        gravarLog(registro(1, "e1", 501L), registro(2, "e1", 502L));
+        LogAuditoria.gravarMarca(outroLog, 3);
+
+        assertThatThrownBy(() -> reprocessadorDe(outroLog).reprocessar())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("termina na sequencia 2");
+        assertThat(repository.findById(501L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Reprocessamento recusa log que mistura épocas de bancos diferentes")
+    void reprocessamento_recusaEpocasMisturadas() throws Exception {
+        gravarLog(registro(1, "e1", 501L), registro(2, "e2", 501L));
+
+        assertThatThrownBy(() -> reprocessadorDe(outroLog).reprocessar())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("mistura bancos");
+        assertThat(repository.findById(501L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Reprocessamento reconstrói a tabela com os ids originais e a sequence adiante")
+    void reprocessaLog() throws Exception {
+        Produto mantido = service.salvar(new Produto("Mantido", "Desc", new BigDecimal("7.50"), 4));
+        service.atualizar(mantido.getId(), new Produto("Mantido Editado", "Desc", new BigDecimal("8.00"), 4));
+        Produto removido = service.salvar(new Produto("Removido", "Desc", new BigDecimal("1.00"), 1));
+        service.deletar(removido.getId());
+        assertThat(auditoria.aguardarGravacao(Duration.ofSeconds(5))).isTrue();
+
+        repository.deleteAll();
+        reprocessador.reprocessar();
+
+        Produto restaurado = repository.findById(mantido.getId()).orElseThrow();
+        assertThat(restaurado.getNome()).isEqualTo("Mantido Editado");
+        assertThat(restaurado.getPreco()).isEqualByComparingTo("8.00");
+        assertThat(repository.findById(removido.getId())).isEmpty();
+        Produto novo = service.salvar(new Produto("Depois do reprocessamento", "Desc", BigDecimal.ONE, 1));
+        assertThat(novo.getId()).isGreaterThan(removido.getId());
+    }
+
+    private ReprocessadorAuditoria reprocessadorDe(Path log) {
+        return new ReprocessadorAuditoria(jdbcTemplate, transactionTemplate, objectMapper, epocaRepository, log, false);
+    }
+
+    private void gravarLog(RegistroAuditoria... registros) throws IOException {
+        try (LogAuditoria log = LogAuditoria.abrir(outroLog, 4096)) {
+            for (RegistroAuditoria registro : registros) {
+                log.anexar(objectMapper.writeValueAsBytes(registro));
+            }
+            log.sincronizar();
+        }
+    }
+
+    private static RegistroAuditoria registro(long sequencia, String epoca, Long produtoId) {
+        return new RegistroAuditoria(sequencia, epoca, Instant.now(), TipoAlteracao.CRIADO, produtoId, null,
+                new EstadoProduto("Do log", null, BigDecimal.TEN, 1));
+    }
+
+    private List<RegistroAuditoria> registros() throws IOException {
+        List<RegistroAuditoria> registros = new ArrayList<>();
+        LogAuditoria.ler(diretorio, entrada -> {
+            try {
+                registros.add(objectMapper.readValue(entrada, RegistroAuditoria.class));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return registros;
+    }
+}
@@ -0,0 +1,129 @@
+package org.example.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.example.model.Produto;
+import org.example.repository.ProdutoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Negociacao de formato e compressao contra o Tomcat de verdade (o MockMvc nao comprime).
+ * As propriedades de compressao repetem as de application.properties, que os testes nao carregam.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "server.compression.enabled=true",
+        "server.compression.mime-types=application/json,application/cbor",
+        "server.compression.min-response-size=1KB"
+})
+@DirtiesContext
+@DisplayName("Formatos de resposta da API — CBOR e gzip")
+class FormatosRespostaIntegrationTest {
+
+    private final HttpClient cliente = HttpClient.newHttpClient();
+
+    @LocalServerPort
+    private int porta;
+
+    @Autowired
+    private ProdutoRepository repository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void popular() {
+        repository.deleteAll();
+        for (int i = 1; i <= 40; i++) {
+            repository.save(new Produto("Produto " + i, "Descrição do produto " + i, new BigDecimal("19.90"), i));
+        }
+    }
+
+    @Test
+    @DisplayName("Accept: application/cbor devolve CBOR com o preço em centavos inteiros")
+    void cbor_precoEmCentavos() throws Exception {
+        HttpResponse<byte[]> resposta = get("/api/produtos?limit=5", "application/cbor", null);
+
+        assertThat(resposta.headers().firstValue("Content-Type")).hasValueSatisfying(
+                tipo -> assertThat(tipo).startsWith("application/cbor"));
+        JsonNode primeiro = new ObjectMapper(new CBORFactory()).readTree(resposta.body()).get("itens").get(0);
+        assertThat(primeiro.get("precoCentavos").isIntegralNumber()).isTrue();
+        assertThat(primeiro.get("precoCentavos").asLong()).isEqualTo(1990);
+        assertThat(primeiro.has("preco")).isFalse();
+        assertThat(primeiro.get("nome").asText()).startsWith("Produto");
+    }
+
+    @Test
+    @DisplayName("CBOR ocupa menos bytes que o JSON equivalente")
+    void cbor_menorQueJson() throws Exception {
+        byte[] json = get("/api/produtos", "application/json", null).body();
+        byte[] cbor = get("/api/produtos", "application/cbor", null).body();
+
+        assertThat(objectMapper.readTree(json)).hasSize(40);
+        assertThat(cbor.length).isLessThan(json.length);
+    }
+
+    @Test
+    @DisplayName("JSON e CBOR na mesma URL têm ETags distintas e Vary: Accept")
+    void etag_porRepresentacao() throws Exception {
+        HttpResponse<byte[]> json = get("/api/produtos", "application/json", "gzip");
+        HttpResponse<byte[]> cbor = get("/api/produtos", "application/cbor", "gzip");
+
+        String etagJson = json.headers().firstValue("ETag").orElseThrow();
+        assertThat(cbor.headers().firstValue("ETag")).isPresent().get().isNotEqualTo(etagJson);
+        assertThat(String.join(",", json.headers().allValues("Vary")).toLowerCase())
+                .contains("accept").contains("accept-encoding");
+        assertThat(String.join(",", cbor.headers().allValues("Vary")).toLowerCase()).contains("accept");
+
+        HttpRequest revalidacao = HttpRequest.newBuilder(URI.create("http://localhost:" + porta + "/api/produtos"))
+                .header("Accept", "application/cbor")
+                .header("If-None-Match", etagJson)
+                .build();
+        assertThat(cliente.send(revalidacao, HttpResponse.BodyHandlers.ofByteArray()).statusCode()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("Accept-Encoding: gzip comprime a resposta; sem ele, vem sem compressão")
+    void gzip_negociado() throws Exception {
+        HttpResponse<byte[]> comprimida = get("/api/produtos", "application/json", "gzip");
+        HttpResponse<byte[]> plana = get("/api/produtos", "application/json", null);
+
+        assertThat(comprimida.headers().firstValue("Content-Encoding")).hasValue("gzip");
+        assertThat(plana.headers().firstValue("Content-Encoding")).isEmpty();
+        assertThat(comprimida.body().length).isLessThan(plana.body().length);
+        assertThat(descomprimir(comprimida.body())).isEqualTo(plana.body());
+    }
+
+    private HttpResponse<byte[]> get(String caminho, String aceita, String codificacao)
+            throws IOException, InterruptedException {
+        HttpRequest.Builder requisicao = HttpRequest.newBuilder(URI.create("http://localhost:" + porta + caminho))
+                .header("Accept", aceita);
+        if (codificacao != null) {
+            requisicao.header("Accept-Encoding", codificacao);
+        }
+        return cliente.send(requisicao.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private static byte[] descomprimir(byte[] gzip) throws IOException {
+        try (GZIPInputStream entrada = new GZIPInputStream(new ByteArrayInputStream(gzip))) {
+            return entrada.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package org.example.integration;
+
+import org.example.controller.view.CacheLinhasProduto;
+import org.example.model.Produto;
+import org.example.repository.ProdutoRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Listagem com o cache de linhas do perfil prod ligado: mesmo HTML e nenhuma linha velha apos edicao.
+ */
+@SpringBootTest(properties = "catalogo.lista.cache-linhas.habilitado=true")
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@DisplayName("Listagem com cache de linhas — Integração")
+class ListagemCacheLinhasIntegrationTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ProdutoRepository repository;
+
+    @Autowired
+    private CacheLinhasProduto cacheLinhas;
+
+    @Test
+    @DisplayName("Linhas em cache têm links e ações iguais às renderizadas na página")
+    void linhasEmCache_renderizamCompletas() throws Exception {
+        Produto salvo = repository.save(new Produto("Cacheado <b>", "Desc", new BigDecimal("12.50"), 3));
+
+        String html = listar();
+        assertThat(html)
+                .contains("href=\"/produtos/" + salvo.getId() + "\"")
+                .contains("Cacheado &lt;b&gt;")
+                .contains("12,50")
+                .contains("action=\"/produtos/" + salvo.getId() + "/deletar\"");
+        assertThat(listar()).isEqualTo(html);
+    }
+
+    @Test
+    @DisplayName("Edição gera nova chave e a linha antiga não é servida")
+    void edicao_renovaLinha() throws Exception {
+        Produto salvo = repository.save(new Produto("Antes", "Desc", new BigDecimal("10.00"), 1));
+        assertThat(listar()).contains("Antes");
+
+        mvc.perform(post("/produtos/" + salvo.getId() + "/editar")
+                        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                        .param("nome", "Depois")
+                        .param("preco", "10.00")
+                        .param("estoque", "1"))
+                .andExpect(status().is3xxRedirection());
+
+        assertThat(listar()).contains("Depois").doesNotContain("Antes");
+    }
+
+    @Test
+    @DisplayName("Linha renderizada para cliente sem cookie não leva o jsessionid para o cache")
+    void linhaEmCache_semJsessionid() throws Exception {
+        Produto salvo = repository.save(new Produto("Sem sessão", "Desc", new BigDecimal("5.00"), 1));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/produtos");
+        MockHttpServletResponse semCookie = new MockHttpServletResponse() {
+            @Override
+            public String encodeURL(String url) {
+                return url + ";jsessionid=SEGREDO";
+            }
+        };
+
+        List<String> linhas = cacheLinhas.renderizar(List.of(salvo), request, semCookie);
+
+        assertThat(linhas.get(0)).contains("href=\"/produtos/" + salvo.getId() + "\"").doesNotContain("jsessionid");
+        assertThat(listar()).doesNotContain("jsessionid");
+    }
+
+    private String listar() throws Exception {
+        return mvc.perform(get("/produtos"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+    }
+}
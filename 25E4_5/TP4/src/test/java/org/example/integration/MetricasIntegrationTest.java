@@ -0,0 +1,48 @@
+package org.example.integration;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "management.endpoints.web.exposure.include=prometheus")
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+@DisplayName("Métricas — endpoint Prometheus")
+class MetricasIntegrationTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Test
+    @DisplayName("Etapas do fluxo de Produto e erros tratados aparecem em /actuator/prometheus")
+    void prometheusExpoeEtapasEErros() throws Exception {
+        mvc.perform(post("/api/produtos")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"nome": "Produto Métrica", "preco": 10.00, "estoque": 1}
+                                """))
+                .andExpect(status().isCreated());
+        mvc.perform(get("/api/produtos/99999")).andExpect(status().isNotFound());
+
+        mvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("catalogo_etapa_seconds_count{class=\"org.example.service.ProdutoService\",etapa=\"servico\"")))
+                .andExpect(content().string(containsString("etapa=\"validacao\"")))
+                .andExpect(content().string(containsString("etapa=\"sanitizacao\"")))
+                .andExpect(content().string(containsString("spring_data_repository_invocations_seconds")))
+                .andExpect(content().string(containsString("catalogo_erros_total{tipo=\"ProdutoNotFoundException\"")));
+    }
+}
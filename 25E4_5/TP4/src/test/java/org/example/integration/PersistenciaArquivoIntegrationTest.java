@@ -0,0 +1,156 @@
+package org.example.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.Main;
+import org.example.config.MetricasConfig;
+import org.example.model.Produto;
+import org.example.repository.ProdutoRepository;
+import org.example.service.ProdutoService;
+import org.example.service.auditoria.LogAuditoria;
+import org.example.service.auditoria.RegistroAuditoria;
+import org.example.service.cache.CacheProdutos;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Perfil {@code arquivo}: o catalogo sobrevive a um reinicio, o esquema vem das migracoes
+ * (com os indices de nome e preco), a subida aquece o cache antes de aceitar trafego e o log
+ * de auditoria fica amarrado ao banco que o gerou.
+ */
+@DisplayName("Perfil arquivo — persistência, migrações e aquecimento")
+class PersistenciaArquivoIntegrationTest {
+
+    @TempDir
+    Path diretorio;
+
+    @Test
+    @DisplayName("Produtos gravados continuam lá após reiniciar a aplicação")
+    void sobreviveAoReinicio() {
+        Long id;
+        try (ConfigurableApplicationContext contexto = subir()) {
+            id = contexto.getBean(ProdutoService.class)
+                    .salvar(new Produto("Persistente", "Desc", new BigDecimal("42.00"), 7)).getId();
+        }
+
+        try (ConfigurableApplicationContext contexto = subir()) {
+            Produto recarregado = contexto.getBean(ProdutoRepository.class).findById(id).orElseThrow();
+            assertThat(recarregado.getNome()).isEqualTo("Persistente");
+            assertThat(recarregado.getPreco()).isEqualByComparingTo("42.00");
+            Produto novo = contexto.getBean(ProdutoService.class)
+                    .salvar(new Produto("Depois do reinício", "Desc", BigDecimal.ONE, 1));
+            assertThat(novo.getId()).isNotEqualTo(id);
+        }
+    }
+
+    @Test
+    @DisplayName("Esquema vem das migrações, com índices em nome e preço")
+    void esquemaMigrado() {
+        try (ConfigurableApplicationContext contexto = subir()) {
+            JdbcTemplate jdbc = contexto.getBean(JdbcTemplate.class);
+            assertThat(jdbc.queryForList("SELECT \"script\" FROM \"flyway_schema_history\" WHERE \"success\"",
+                    String.class)).contains("V1__criar_produtos.sql");
+            assertThat(jdbc.queryForList(
+                    "SELECT INDEX_NAME FROM INFORMATION_SCHEMA.INDEXES WHERE TABLE_NAME = 'PRODUTOS'", String.class))
+                    .contains("IDX_PRODUTOS_NOME", "IDX_PRODUTOS_PRECO");
+        }
+    }
+
+    @Test
+    @DisplayName("Subida com catálogo existente aquece o cache e publica o tempo até ficar pronta")
+    void aqueceNaSubida() {
+        try (ConfigurableApplicationContext contexto = subir()) {
+            ProdutoService service = contexto.getBean(ProdutoService.class);
+            for (int i = 0; i < 3; i++) {
+                service.salvar(new Produto("Quente " + i, "Desc", BigDecimal.TEN, i));
+            }
+        }
+
+        try (ConfigurableApplicationContext contexto = subir()) {
+            assertThat(contexto.getBean(CacheProdutos.class).estatisticas().tamanho()).isEqualTo(3);
+            MeterRegistry registry = contexto.getBean(MeterRegistry.class);
+            assertThat(registry.get(MetricasConfig.GAUGE_INICIALIZACAO).tag("etapa", "pronto").timeGauge().value())
+                    .isPositive();
+        }
+    }
+
+    @Test
+    @DisplayName("Banco recriado não continua o log de auditoria do anterior; reprocessar restaura e adota o log")
+    void bancoRecriado_recusaLogAntigo() throws Exception {
+        Long id;
+        try (ConfigurableApplicationContext contexto = subir()) {
+            id = contexto.getBean(ProdutoService.class)
+                    .salvar(new Produto("Auditado", "Desc", new BigDecimal("3.00"), 1)).getId();
+        }
+        Files.delete(diretorio.resolve("produtosdb.mv.db"));
+
+        assertThatThrownBy(this::subir).rootCause()
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("de outro banco");
+
+        Files.delete(diretorio.resolve("produtosdb.mv.db"));
+        try (ConfigurableApplicationContext contexto = subir("--catalogo.auditoria.reprocessar=true")) {
+            assertThat(contexto.getBean(ProdutoRepository.class).findById(id).orElseThrow().getNome())
+                    .isEqualTo("Auditado");
+        }
+        try (ConfigurableApplicationContext contexto = subir()) {
+            assertThat(contexto.getBean(ProdutoRepository.class).findById(id)).isPresent();
+        }
+    }
+
+    @Test
+    @DisplayName("Registros perdidos no fim do log não têm a sequência reaproveitada e impedem o reprocessamento")
+    void perdaNoFimDoLog_viraLacuna() throws Exception {
+        Path auditoria = diretorio.resolve("produtosdb-auditoria");
+        try (ConfigurableApplicationContext contexto = subir()) {
+            contexto.getBean(ProdutoService.class).salvar(new Produto("Primeiro", "Desc", BigDecimal.ONE, 1));
+        }
+        assertThat(LogAuditoria.lerMarca(auditoria)).isEqualTo(1);
+        // Como se as sequencias 2 e 3 tivessem sido emitidas e perdidas antes do desligamento.
+        LogAuditoria.gravarMarca(auditoria, 3);
+
+        try (ConfigurableApplicationContext contexto = subir()) {
+            contexto.getBean(ProdutoService.class).salvar(new Produto("Segundo", "Desc", BigDecimal.ONE, 1));
+        }
+        List<Long> sequencias = new ArrayList<>();
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+        LogAuditoria.ler(auditoria, entrada -> {
+            try {
+                sequencias.add(objectMapper.readValue(entrada, RegistroAuditoria.class).sequencia());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        assertThat(sequencias).containsExactly(1L, 4L);
+
+        Files.delete(diretorio.resolve("produtosdb.mv.db"));
+        assertThatThrownBy(() -> subir("--catalogo.auditoria.reprocessar=true"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("esperada a sequencia 2");
+    }
+
+    private ConfigurableApplicationContext subir(String... argumentos) {
+        List<String> todos = new ArrayList<>(List.of("--catalogo.arquivo.caminho=" + diretorio.resolve("produtosdb"),
+                "--catalogo.aquecimento.iteracoes=2",
+                "--server.port=0"));
+        todos.addAll(List.of(argumentos));
+        return new SpringApplicationBuilder(Main.class)
+                .profiles("arquivo")
+                .run(todos.toArray(String[]::new));
+    }
+}
@@ -0,0 +1,536 @@
+package org.example.integration;
+
+import org.example.exception.NegocioException;
+import org.example.model.Produto;
+import org.example.repository.ProdutoRepository;
+import org.example.service.estoque.AgrupadorAjustesEstoque;
+import org.example.service.estoque.EstoqueService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.emptyString;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.nullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Testes de integração da API REST (/api/produtos) contra o H2.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@DisplayName("API de Produtos — Integração")
+class ProdutoApiIntegrationTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ProdutoRepository repository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EstoqueService estoqueService;
+
+    @Autowired
+    private AgrupadorAjustesEstoque agrupador;
+
+    // ── Cadastro ──────────────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("POST /api/produtos inválido responde 400 com todas as violações e não grava")
+    void criar_invalido_400ComTodasAsViolacoes() throws Exception {
+        mvc.perform(post("/api/produtos")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nome\": \"\", \"preco\": 0, \"estoque\": -1}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(model().attribute("mensagem",
+                        "O nome é obrigatório. O preço deve ser maior que zero. O estoque não pode ser negativo."));
+
+        assertThat(repository.count()).isZero();
+    }
+
+    // ── Paginação por cursor ──────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("GET /api/produtos?limit=N percorre o catálogo em páginas pelo cursor")
+    void paginacao_percorreCatalogo() throws Exception {
+        Produto primeiro = salvar("P1");
+        Produto segundo = salvar("P2");
+        salvar("P3");
+
+        mvc.perform(get("/api/produtos").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itens", hasSize(2)))
+                .andExpect(jsonPath("$.itens[0].id").value(primeiro.getId()))
+                .andExpect(jsonPath("$.proximoCursor").value(segundo.getId()));
+
+        mvc.perform(get("/api/produtos").param("limit", "2").param("after", segundo.getId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itens", hasSize(1)))
+                .andExpect(jsonPath("$.itens[0].nome").value("P3"))
+                .andExpect(jsonPath("$.proximoCursor").value(nullValue()));
+    }
+
+    @Test
+    @DisplayName("GET /api/produtos?limit=N&busca=X filtra por nome e trata % como literal")
+    void paginacao_comBusca() throws Exception {
+        salvar("Cabo 100%");
+        salvar("Cabo HDMI");
+
+        mvc.perform(get("/api/produtos").param("limit", "10").param("busca", "cabo"))
+                .andExpect(jsonPath("$.itens", hasSize(2)));
+        mvc.perform(get("/api/produtos").param("limit", "10").param("busca", "0%"))
+                .andExpect(jsonPath("$.itens", hasSize(1)))
+                .andExpect(jsonPath("$.itens[0].nome").value("Cabo 100%"));
+    }
+
+    @Test
+    @DisplayName("GET /api/produtos?limit=0 é rejeitado")
+    void paginacao_limiteInvalido() throws Exception {
+        mvc.perform(get("/api/produtos").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /api/produtos sem limit mantém o formato de lista")
+    void listagem_semLimit_retornaLista() throws Exception {
+        salvar("Lista");
+
+        mvc.perform(get("/api/produtos"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].nome").value("Lista"));
+    }
+
+    // ── Filtros por faixa ─────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("GET /api/produtos?precoMin&precoMax&estoqueMin combina faixas e busca")
+    void faixas_combinadasComBusca() throws Exception {
+        Produto barato = salvar("Cabo USB", "9.90", 5);
+        salvar("Cabo HDMI", "49.90", 0);
+        Produto medio = salvar("Mouse", "49.90", 3);
+        salvar("Monitor", "899.00", 2);
+
+        mvc.perform(get("/api/produtos").param("precoMax", "50").param("estoqueMin", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].id").value(barato.getId()))
+                .andExpect(jsonPath("$[1].id").value(medio.getId()));
+        mvc.perform(get("/api/produtos").param("busca", "cabo").param("precoMin", "10"))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].nome").value("Cabo HDMI"));
+        mvc.perform(get("/api/produtos").param("limit", "1").param("precoMax", "50").param("estoqueMin", "1"))
+                .andExpect(jsonPath("$.itens[0].id").value(barato.getId()))
+                .andExpect(jsonPath("$.proximoCursor").value(barato.getId()));
+        mvc.perform(get("/api/produtos").param("limit", "1").param("after", barato.getId().toString())
+                        .param("precoMax", "50").param("estoqueMin", "1"))
+                .andExpect(jsonPath("$.itens[0].id").value(medio.getId()));
+    }
+
+    @Test
+    @DisplayName("Faixas acompanham ajustes de estoque e rejeitam mínimo maior que máximo")
+    void faixas_acompanhamGravacoes() throws Exception {
+        Produto produto = salvar("Teclado", "120.00", 1);
+        estoqueService.ajustar(produto.getId(), -1);
+
+        mvc.perform(get("/api/produtos").param("estoqueMin", "1"))
+                .andExpect(jsonPath("$", hasSize(0)));
+        mvc.perform(get("/api/produtos").param("precoMin", "200").param("precoMax", "100"))
+                .andExpect(status().isBadRequest());
+    }
+
+    // ── Multi-get ─────────────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("GET /api/produtos?ids=... devolve na ordem pedida e marca os inexistentes")
+    void multiGet_ordemEMarcadores() throws Exception {
+        Produto a = salvar("Primeiro");
+        Produto b = salvar("Segundo");
+
+        mvc.perform(get("/api/produtos").param("ids", b.getId() + ",999999," + a.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(3)))
+                .andExpect(jsonPath("$[0].id").value(b.getId()))
+                .andExpect(jsonPath("$[0].encontrado").value(true))
+                .andExpect(jsonPath("$[0].produto.nome").value("Segundo"))
+                .andExpect(jsonPath("$[1].id").value(999999))
+                .andExpect(jsonPath("$[1].encontrado").value(false))
+                .andExpect(jsonPath("$[1].produto").value(nullValue()))
+                .andExpect(jsonPath("$[2].produto.nome").value("Primeiro"));
+    }
+
+    @Test
+    @DisplayName("GET /api/produtos?ids=... com id inválido é rejeitado")
+    void multiGet_idInvalido() throws Exception {
+        mvc.perform(get("/api/produtos").param("ids", "1,0"))
+                .andExpect(status().isBadRequest());
+        mvc.perform(get("/api/produtos").param("ids", "1,abc"))
+                .andExpect(status().isBadRequest());
+    }
+
+    // ── Exportação NDJSON ─────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("GET /api/produtos com Accept NDJSON escreve um produto por linha")
+    void exportacao_ndjson() throws Exception {
+        salvar("Linha 1");
+        salvar("Linha 2");
+
+        MvcResult iniciado = mvc.perform(get("/api/produtos").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String corpo = mvc.perform(asyncDispatch(iniciado))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(corpo.lines()).hasSize(2);
+        assertThat(corpo.lines().toList().get(0)).contains("\"nome\":\"Linha 1\"");
+    }
+
+    @Test
+    @DisplayName("Exportação NDJSON aplica busca e recusa faixas")
+    void exportacao_ndjson_comBusca() throws Exception {
+        salvar("Cabo_USB");
+        salvar("Cabo HDMI");
+        salvar("Mouse");
+
+        MvcResult iniciado = mvc.perform(get("/api/produtos").param("busca", "cabo_")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String corpo = mvc.perform(asyncDispatch(iniciado))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(corpo.lines()).singleElement().asString().contains("\"nome\":\"Cabo_USB\"");
+
+        // Sem indice pronto a exportacao cai no LIKE do cursor, que tambem trata _ como literal.
+        List<String> porNome = new ArrayList<>();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                repository.percorrerResumosPorNomeEmOrdemDeId("CABO_", resumo -> porNome.add(resumo.nome())));
+        assertThat(porNome).containsExactly("Cabo_USB");
+
+        mvc.perform(get("/api/produtos").param("precoMin", "10").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    // ── Cache por id ──────────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("GET /api/produtos/{id} reflete a atualização feita pelo MVC (cache invalidado)")
+    void cache_invalidadoAposAtualizacao() throws Exception {
+        Produto salvo = salvar("Antes");
+        String url = "/api/produtos/" + salvo.getId();
+
+        mvc.perform(get(url)).andExpect(jsonPath("$.nome").value("Antes"));
+
+        mvc.perform(post("/produtos/" + salvo.getId() + "/editar")
+                        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                        .param("nome", "Depois")
+                        .param("preco", "10.00")
+                        .param("estoque", "1"))
+                .andExpect(status().is3xxRedirection());
+
+        mvc.perform(get(url)).andExpect(jsonPath("$.nome").value("Depois"));
+        mvc.perform(get("/api/cache/produtos"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.falhas").value(2));
+    }
+
+    // ── Requisições condicionais ──────────────────────────────────────────────
+
+    @Test
+    @DisplayName("GET /api/produtos/{id} com If-None-Match atual responde 304 sem corpo")
+    void condicional_itemNaoModificado() throws Exception {
+        Produto salvo = salvar("Etag");
+        String url = "/api/produtos/" + salvo.getId();
+
+        MvcResult primeiro = mvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn();
+        String etag = primeiro.getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).startsWith("W/\"p" + salvo.getId() + "-");
+
+        mvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(emptyString()));
+        mvc.perform(get(url).header(HttpHeaders.IF_MODIFIED_SINCE,
+                        primeiro.getResponse().getHeader(HttpHeaders.LAST_MODIFIED)))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @DisplayName("GET /api/produtos/{id} devolve o corpo novo depois de uma edição")
+    void condicional_itemModificado() throws Exception {
+        Produto salvo = salvar("Antes");
+        String url = "/api/produtos/" + salvo.getId();
+        String etag = mvc.perform(get(url)).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mvc.perform(post("/produtos/" + salvo.getId() + "/editar")
+                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                .param("nome", "Depois")
+                .param("preco", "10.00")
+                .param("estoque", "1"));
+
+        mvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nome").value("Depois"));
+    }
+
+    @Test
+    @DisplayName("ETag da coleção muda quando um produto é removido")
+    void condicional_colecao() throws Exception {
+        salvar("Fica");
+        Produto removido = salvar("Sai");
+        String etag = mvc.perform(get("/api/produtos"))
+                .andExpect(header().doesNotExist(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mvc.perform(get("/api/produtos").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        mvc.perform(get("/api/produtos").param("limit", "10").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        repository.deleteById(removido.getId());
+
+        mvc.perform(get("/api/produtos").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+    }
+
+    // ── Ajuste de estoque ─────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("PATCH /api/produtos/{id}/estoque aplica a diferença e recusa estoque negativo")
+    void estoque_ajusteAtomico() throws Exception {
+        Produto salvo = salvar("Estoque");
+        String url = "/api/produtos/" + salvo.getId() + "/estoque";
+
+        mvc.perform(patch(url).contentType(MediaType.APPLICATION_JSON).content("{\"delta\": 4}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.estoque").value(5));
+        mvc.perform(patch(url).contentType(MediaType.APPLICATION_JSON).content("{\"delta\": -6}"))
+                .andExpect(status().isBadRequest());
+        mvc.perform(get("/api/produtos/" + salvo.getId()))
+                .andExpect(jsonPath("$.estoque").value(5));
+    }
+
+    @Test
+    @DisplayName("Vendas concorrentes nunca vendem além do estoque")
+    void estoque_vendasConcorrentes() throws Exception {
+        Produto salvo = repository.save(new Produto("Concorrente", "Desc", new BigDecimal("10.00"), 10));
+        AtomicInteger vendidas = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            for (Future<?> f : IntStream.range(0, 30).mapToObj(i -> pool.submit(() -> {
+                try {
+                    estoqueService.ajustar(salvo.getId(), -1);
+                    vendidas.incrementAndGet();
+                } catch (NegocioException esgotado) {
+                    // esperado depois da décima venda
+                }
+            })).toList()) {
+                f.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        assertThat(vendidas.get()).isEqualTo(10);
+        assertThat(repository.findById(salvo.getId()).orElseThrow().getEstoque()).isZero();
+    }
+
+    @Test
+    @DisplayName("POST .../estoque/ajustes agrupa os deltas em uma única gravação")
+    void estoque_ajustesAgrupados() throws Exception {
+        Produto salvo = salvar("Agrupado");
+        long versaoInicial = salvo.getVersao();
+        String url = "/api/produtos/" + salvo.getId() + "/estoque/ajustes";
+
+        for (int i = 0; i < 5; i++) {
+            mvc.perform(post(url).contentType(MediaType.APPLICATION_JSON).content("{\"delta\": 2}"))
+                    .andExpect(status().isAccepted());
+        }
+        agrupador.descarregar();
+
+        Produto atualizado = repository.findById(salvo.getId()).orElseThrow();
+        assertThat(atualizado.getEstoque()).isEqualTo(11);
+        assertThat(atualizado.getVersao()).isBetween(versaoInicial + 1, versaoInicial + 5);
+    }
+
+    @Test
+    @DisplayName("Soma agrupada que passaria de zero aplica as vendas que cabem e descarta só o excedente")
+    void estoque_ajustesAgrupados_aplicaParteValida() throws Exception {
+        Produto salvo = salvar("Quase esgotado", "10.00", 3);
+        String url = "/api/produtos/" + salvo.getId() + "/estoque/ajustes";
+
+        for (int i = 0; i < 5; i++) {
+            mvc.perform(post(url).contentType(MediaType.APPLICATION_JSON).content("{\"delta\": -1}"))
+                    .andExpect(status().isAccepted());
+        }
+        agrupador.descarregar();
+
+        Produto atualizado = repository.findById(salvo.getId()).orElseThrow();
+        assertThat(atualizado.getEstoque()).isZero();
+        assertThat(atualizado.getVersao()).isEqualTo(salvo.getVersao() + 1);
+    }
+
+    @Test
+    @DisplayName("Gravar uma cópia com versão antiga falha com lock otimista")
+    void estoque_lockOtimista() {
+        Produto salvo = salvar("Versionado");
+        Produto copiaAntiga = repository.findById(salvo.getId()).orElseThrow();
+        estoqueService.ajustar(salvo.getId(), 1);
+
+        copiaAntiga.setEstoque(50);
+        assertThatThrownBy(() -> repository.save(copiaAntiga))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+    }
+
+    // ── Estatísticas ──────────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("GET /api/estatisticas/produtos acompanha cadastro e ajuste de estoque")
+    void estatisticas_incrementais() throws Exception {
+        Produto salvo = salvar("Estatística");
+        repository.save(new Produto("Esgotado", "Desc", new BigDecimal("60.00"), 0));
+
+        mvc.perform(get("/api/estatisticas/produtos"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalProdutos").value(2))
+                .andExpect(jsonPath("$.semEstoque").value(1))
+                .andExpect(jsonPath("$.faixasPreco[1].quantidade").value(1));
+
+        estoqueService.ajustar(salvo.getId(), -1);
+
+        mvc.perform(get("/api/estatisticas/produtos"))
+                .andExpect(jsonPath("$.semEstoque").value(2))
+                .andExpect(jsonPath("$.unidadesEmEstoque").value(0))
+                .andExpect(jsonPath("$.valorTotalEstoque").value(0.0));
+    }
+
+    // ── Importação em lote ────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("POST /api/produtos/lote (JSON) grava as linhas válidas e reporta as inválidas")
+    void importacao_json() throws Exception {
+        mvc.perform(post("/api/produtos/lote")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                [
+                                  {"nome": "Cabo HDMI", "preco": 25.90, "estoque": 10},
+                                  {"nome": "", "preco": 10.00, "estoque": 1},
+                                  {"nome": "Hub <USB>", "descricao": "4 portas", "preco": 89.00, "estoque": 3},
+                                  {"nome": "Adaptador", "preco": "abc", "estoque": 1}
+                                ]
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.processados").value(4))
+                .andExpect(jsonPath("$.importados").value(2))
+                .andExpect(jsonPath("$.erros[0].linha").value(2))
+                .andExpect(jsonPath("$.erros[1].linha").value(4));
+
+        assertThat(repository.findByNomeContainingIgnoreCase("Hub USB")).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("POST /api/produtos/lote valida o nome já sanitizado")
+    void importacao_validaDepoisDeSanitizar() throws Exception {
+        mvc.perform(post("/api/produtos/lote")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                [{"nome": "<b>", "preco": 10.00, "estoque": 1}]
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.importados").value(0))
+                .andExpect(jsonPath("$.erros[0].linha").value(1));
+
+        assertThat(repository.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("POST /api/produtos/lote com JSON malformado no meio grava o que veio antes e diz onde parou")
+    void importacao_jsonMalformado_resultadoParcial() throws Exception {
+        mvc.perform(post("/api/produtos/lote")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                [
+                                  {"nome": "Primeiro", "preco": 1.00, "estoque": 1},
+                                  {"nome": "", "preco": 1.00, "estoque": 1},
+                                  {"nome": "Terceiro", "preco": 3.00, "estoque": 1},
+                                  {"nome": "Quebrado", "preco": }
+                                  {"nome": "Nunca lido", "preco": 5.00, "estoque": 1}
+                                ]
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.processados").value(4))
+                .andExpect(jsonPath("$.importados").value(2))
+                .andExpect(jsonPath("$.rejeitados").value(2))
+                .andExpect(jsonPath("$.interrompidaNaLinha").value(4))
+                .andExpect(jsonPath("$.erros[1].linha").value(4))
+                .andExpect(jsonPath("$.erros[1].mensagem").value(containsString("linha 5")));
+
+        assertThat(repository.count()).isEqualTo(2);
+        assertThat(repository.findByNomeContainingIgnoreCase("Nunca lido")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("POST /api/produtos/lote (CSV) aceita campos entre aspas")
+    void importacao_csv() throws Exception {
+        mvc.perform(post("/api/produtos/lote")
+                        .contentType("text/csv")
+                        .content("""
+                                nome,descricao,preco,estoque
+                                Monitor,"27 polegadas, IPS",1299.90,2
+                                Teclado,,-1,5
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.importados").value(1))
+                .andExpect(jsonPath("$.rejeitados").value(1))
+                .andExpect(jsonPath("$.erros[0].linha").value(2));
+
+        assertThat(repository.findByNomeContainingIgnoreCase("Monitor").get(0).getDescricao())
+                .isEqualTo("27 polegadas, IPS");
+    }
+
+    private Produto salvar(String nome) {
+        return salvar(nome, "10.00", 1);
+    }
+
+    private Produto salvar(String nome, String preco, int estoque) {
+        return repository.save(new Produto(nome, "Desc", new BigDecimal(preco), estoque));
+    }
+}
@@ -55,6 +55,42 @@ class ProdutoCrudIntegrationTest {
                 .andExpect(content().string(org.hamcrest.Matchers.containsString("Notebook")));
     }
 
+    @Test
+    @DisplayName("GET /produtos pagina e ordena no servidor")
+    void listar_paginaEOrdena() throws Exception {
+        for (int i = 1; i <= 25; i++) {
+            repository.save(new Produto(String.format("Item %02d", i), "Desc", new BigDecimal(i + ".00"), i));
+        }
+
+        String primeira = mvc.perform(get("/produtos"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertThat(primeira).contains("Item 01").contains("Item 20").doesNotContain("Item 21")
+                .contains("Página 1 de 2").contains("Total: <span>25</span>");
+
+        String ordenada = mvc.perform(get("/produtos").param("ordem", "preco").param("direcao", "desc")
+                        .param("pagina", "2"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertThat(ordenada).contains("Item 05").contains("Item 01").doesNotContain("Item 06");
+    }
+
+    @Test
+    @DisplayName("GET /produtos com busca encontra os mesmos produtos em qualquer ordenação")
+    void listar_buscaIndependeDaOrdem() throws Exception {
+        repository.save(new Produto("Café Torrado", "Grãos", new BigDecimal("30.00"), 1));
+        repository.save(new Produto("Bolo", "Sabor café", new BigDecimal("20.00"), 1));
+        repository.save(new Produto("Mouse", "Óptico", new BigDecimal("50.00"), 1));
+
+        for (String ordem : new String[]{"relevancia", "nome", "preco"}) {
+            String pagina = mvc.perform(get("/produtos").param("busca", "cafe").param("ordem", ordem))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            assertThat(pagina).as(ordem).contains("Café Torrado").contains("Bolo").doesNotContain("Mouse")
+                    .contains("Total: <span>2</span>");
+        }
+    }
+
     // ── Cadastro ──────────────────────────────────────────────────────────────
 
     @Test
@@ -97,7 +133,8 @@ class ProdutoCrudIntegrationTest {
 
         mvc.perform(request)
                 .andExpect(status().isOk())
-                .andExpect(view().name("produtos/formulario"));
+                .andExpect(view().name("produtos/formulario"))
+                .andExpect(model().attributeHasFieldErrors("produto", campo));
     }
 
     // ── Edição ────────────────────────────────────────────────────────────────
@@ -0,0 +1,252 @@
+package org.example.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.model.Produto;
+import org.example.model.ReajusteBloco;
+import org.example.model.ReajustePreco;
+import org.example.repository.ProdutoRepository;
+import org.example.repository.ReajusteBlocoRepository;
+import org.example.repository.ReajustePrecoRepository;
+import org.example.repository.evento.ProdutoAlteradoEvent;
+import org.example.service.reajuste.ReajustePrecoService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Reajuste em lote com blocos de 2 ids e uma thread, para o andamento ser previsivel:
+ * faixa e teto de preco, cancelamento no meio, retomada pelo checkpoint e erros da API.
+ */
+@SpringBootTest(properties = {
+        "catalogo.reajuste.tamanho-bloco=2",
+        "catalogo.reajuste.paralelismo=1"
+})
+@AutoConfigureMockMvc
+@Import(ReajustePrecoIntegrationTest.PausaAposPrimeiroBloco.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@DisplayName("Reajuste de preços em lote — Integração")
+class ReajustePrecoIntegrationTest {
+
+    private static final Duration ESPERA = Duration.ofSeconds(10);
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ProdutoRepository repository;
+
+    @Autowired
+    private ReajustePrecoRepository reajusteRepository;
+
+    @Autowired
+    private ReajusteBlocoRepository blocoRepository;
+
+    @Autowired
+    private ReajustePrecoService service;
+
+    @Autowired
+    private PausaAposPrimeiroBloco pausa;
+
+    @Test
+    @DisplayName("Reajusta só a faixa pedida, com versão nova e sem dado antigo na API")
+    void reajusta_somenteFaixa() throws Exception {
+        Produto dentro = salvar("Dentro", "100.00");
+        Produto limite = salvar("No limite", "149.99");
+        Produto fora = salvar("Fora", "200.00");
+        mvc.perform(get("/api/produtos/{id}", dentro.getId())).andExpect(status().isOk());
+
+        long id = iniciar("""
+                {"percentual": 10, "precoMin": 50, "precoMax": 150}
+                """);
+        assertThat(service.aguardarTermino(id, ESPERA)).isTrue();
+
+        assertThat(preco(dentro)).isEqualByComparingTo("110.00");
+        assertThat(preco(limite)).isEqualByComparingTo("164.99");
+        assertThat(preco(fora)).isEqualByComparingTo("200.00");
+        assertThat(repository.findById(dentro.getId()).orElseThrow().getVersao()).isEqualTo(dentro.getVersao() + 1);
+        mvc.perform(get("/api/produtos/{id}", dentro.getId()))
+                .andExpect(jsonPath("$.preco").value(110.00));
+        mvc.perform(get("/api/produtos/reajustes/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("CONCLUIDO"))
+                .andExpect(jsonPath("$.produtosReajustados").value(2))
+                .andExpect(jsonPath("$.produtosForaDosLimites").value(0));
+    }
+
+    @Test
+    @DisplayName("Produto que passaria do preço máximo fica como está e é contado")
+    void reajuste_respeitaPrecoMaximo() throws Exception {
+        Produto caro = salvar("Caro", "950000.00");
+        Produto barato = salvar("Barato", "10.00");
+
+        long id = iniciar("""
+                {"percentual": 10}
+                """);
+        assertThat(service.aguardarTermino(id, ESPERA)).isTrue();
+
+        assertThat(preco(caro)).isEqualByComparingTo("950000.00");
+        assertThat(preco(barato)).isEqualByComparingTo("11.00");
+        mvc.perform(get("/api/produtos/reajustes/{id}", id))
+                .andExpect(jsonPath("$.status").value("CONCLUIDO"))
+                .andExpect(jsonPath("$.produtosReajustados").value(1))
+                .andExpect(jsonPath("$.produtosForaDosLimites").value(1));
+        mvc.perform(post("/api/produtos/reajustes/{id}/retomar", id))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Cancelado após o primeiro bloco e retomado, cada produto é reajustado uma única vez")
+    void cancelarERetomar_reajustaUmaVez() throws Exception {
+        List<Produto> produtos = IntStream.rangeClosed(1, 6).mapToObj(i -> salvar("Produto " + i, i + "0.00")).toList();
+
+        pausa.armar();
+        long id = iniciar("""
+                {"percentual": 10}
+                """);
+        assertThat(pausa.aguardarPrimeiroBloco()).isTrue();
+        mvc.perform(post("/api/produtos/reajustes/{id}/cancelar", id))
+                .andExpect(status().isAccepted());
+        pausa.liberar();
+        assertThat(service.aguardarTermino(id, ESPERA)).isTrue();
+
+        mvc.perform(get("/api/produtos/reajustes/{id}", id))
+                .andExpect(jsonPath("$.status").value("CANCELADO"))
+                .andExpect(jsonPath("$.totalBlocos").value(3))
+                .andExpect(jsonPath("$.blocosConcluidos").value(1))
+                .andExpect(jsonPath("$.produtosReajustados").value(2));
+
+        mvc.perform(post("/api/produtos/reajustes/{id}/retomar", id))
+                .andExpect(status().isAccepted());
+        assertThat(service.aguardarTermino(id, ESPERA)).isTrue();
+
+        for (int i = 0; i < produtos.size(); i++) {
+            assertThat(preco(produtos.get(i))).isEqualByComparingTo(new BigDecimal((i + 1) * 11 + ".00"));
+        }
+        mvc.perform(get("/api/produtos/reajustes/{id}", id))
+                .andExpect(jsonPath("$.status").value("CONCLUIDO"))
+                .andExpect(jsonPath("$.blocosConcluidos").value(3))
+                .andExpect(jsonPath("$.produtosReajustados").value(6));
+    }
+
+    @Test
+    @DisplayName("Reajuste interrompido (queda da aplicação) retoma só os blocos sem checkpoint")
+    void retomar_aposQueda_pulaBlocosComCheckpoint() throws Exception {
+        List<Produto> produtos = IntStream.rangeClosed(1, 6).mapToObj(i -> salvar("Produto " + i, "100.00")).toList();
+        ReajustePreco reajuste = reajusteRepository.save(new ReajustePreco(new BigDecimal("-10"), null, null,
+                produtos.get(0).getId(), produtos.get(5).getId(), 2));
+        blocoRepository.save(new ReajusteBloco(reajuste.getId(), 0, 2, 0));
+
+        mvc.perform(get("/api/produtos/reajustes/{id}", reajuste.getId()))
+                .andExpect(jsonPath("$.status").value("INTERROMPIDO"))
+                .andExpect(jsonPath("$.blocosConcluidos").value(1));
+
+        mvc.perform(post("/api/produtos/reajustes/{id}/retomar", reajuste.getId()))
+                .andExpect(status().isAccepted());
+        assertThat(service.aguardarTermino(reajuste.getId(), ESPERA)).isTrue();
+
+        assertThat(preco(produtos.get(0))).isEqualByComparingTo("100.00");
+        assertThat(preco(produtos.get(1))).isEqualByComparingTo("100.00");
+        for (Produto produto : produtos.subList(2, 6)) {
+            assertThat(preco(produto)).isEqualByComparingTo("90.00");
+        }
+        mvc.perform(get("/api/produtos/reajustes/{id}", reajuste.getId()))
+                .andExpect(jsonPath("$.status").value("CONCLUIDO"))
+                .andExpect(jsonPath("$.blocosConcluidos").value(3))
+                .andExpect(jsonPath("$.produtosReajustados").value(6));
+    }
+
+    @Test
+    @DisplayName("Percentual inválido, faixa invertida, faixa fora de NUMERIC(10,2) e reajuste inexistente são recusados")
+    void requisicoesInvalidas_recusadas() throws Exception {
+        mvc.perform(post("/api/produtos/reajustes").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"percentual\": -100}"))
+                .andExpect(status().isBadRequest());
+        mvc.perform(post("/api/produtos/reajustes").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"percentual\": 5, \"precoMin\": 100, \"precoMax\": 10}"))
+                .andExpect(status().isBadRequest());
+        mvc.perform(post("/api/produtos/reajustes").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"percentual\": 5, \"precoMin\": 10.005}"))
+                .andExpect(status().isBadRequest());
+        mvc.perform(post("/api/produtos/reajustes").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"percentual\": 5, \"precoMax\": 1000000}"))
+                .andExpect(status().isBadRequest());
+        mvc.perform(get("/api/produtos/reajustes/{id}", 999))
+                .andExpect(status().isNotFound());
+        assertThat(reajusteRepository.count()).isZero();
+    }
+
+    private long iniciar(String corpo) throws Exception {
+        MvcResult resultado = mvc.perform(post("/api/produtos/reajustes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(corpo))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.status").value("EXECUTANDO"))
+                .andReturn();
+        long id = objectMapper.readTree(resultado.getResponse().getContentAsString()).get("id").asLong();
+        assertThat(resultado.getResponse().getHeader("Location")).endsWith("/api/produtos/reajustes/" + id);
+        return id;
+    }
+
+    private Produto salvar(String nome, String preco) {
+        return repository.save(new Produto(nome, "Reajuste", new BigDecimal(preco), 5));
+    }
+
+    private BigDecimal preco(Produto produto) {
+        return repository.findById(produto.getId()).orElseThrow().getPreco();
+    }
+
+    /** Segura a thread do reajuste no primeiro evento de alteracao, ja com o bloco confirmado. */
+    @TestConfiguration
+    static class PausaAposPrimeiroBloco {
+
+        private final AtomicBoolean armada = new AtomicBoolean();
+        private final CountDownLatch chegou = new CountDownLatch(1);
+        private final CountDownLatch liberada = new CountDownLatch(1);
+
+        void armar() {
+            armada.set(true);
+        }
+
+        boolean aguardarPrimeiroBloco() throws InterruptedException {
+            return chegou.await(ESPERA.toMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        void liberar() {
+            liberada.countDown();
+        }
+
+        @EventListener
+        void aoAlterar(ProdutoAlteradoEvent evento) throws InterruptedException {
+            if (armada.compareAndSet(true, false)) {
+                chegou.countDown();
+                liberada.await(ESPERA.toMillis(), TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+}
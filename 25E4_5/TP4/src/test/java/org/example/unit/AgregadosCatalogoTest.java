@@ -0,0 +1,87 @@
+package org.example.unit;
+
+import org.example.model.ProdutoResumo;
+import org.example.repository.ProdutoRepository;
+import org.example.repository.evento.ProdutoAlteradoEvent;
+import org.example.repository.evento.TipoAlteracao;
+import org.example.service.estatistica.AgregadosCatalogo;
+import org.example.service.estatistica.EstatisticasCatalogo;
+import org.example.service.estatistica.FaixaPreco;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("AgregadosCatalogo — estatísticas incrementais em memória")
+class AgregadosCatalogoTest {
+
+    private AgregadosCatalogo agregados;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        ProdutoRepository repository = mock(ProdutoRepository.class);
+        doAnswer(inv -> {
+            Consumer<ProdutoResumo> consumidor = inv.getArgument(0);
+            consumidor.accept(new ProdutoResumo(1L, "Cabo", null, new BigDecimal("9.90"), 10));
+            consumidor.accept(new ProdutoResumo(2L, "Mouse", null, new BigDecimal("50.00"), 0));
+            consumidor.accept(new ProdutoResumo(3L, "Monitor", null, new BigDecimal("1200.00"), 2));
+            return null;
+        }).when(repository).percorrerResumosEmOrdemDeId(any(Consumer.class));
+
+        agregados = new AgregadosCatalogo(repository);
+        agregados.reconstruir();
+    }
+
+    @Test
+    @DisplayName("Reconstrução soma totais, estoque e faixas de preço")
+    void reconstrucao() {
+        EstatisticasCatalogo stats = agregados.estatisticas();
+
+        assertThat(stats.totalProdutos()).isEqualTo(3);
+        assertThat(stats.semEstoque()).isEqualTo(1);
+        assertThat(stats.unidadesEmEstoque()).isEqualTo(12);
+        assertThat(stats.valorTotalEstoque()).isEqualByComparingTo("2499.00");
+        assertThat(stats.faixasPreco()).extracting(FaixaPreco::quantidade).containsExactly(1L, 0L, 1L, 0L, 0L, 1L, 0L);
+        assertThat(stats.faixasPreco().get(6).ate()).isNull();
+    }
+
+    @Test
+    @DisplayName("Atualização troca a contribuição anterior do produto pela nova")
+    void atualizacao() {
+        agregados.aoAlterar(evento(TipoAlteracao.ATUALIZADO, 2L, "5000.00", 3));
+
+        EstatisticasCatalogo stats = agregados.estatisticas();
+        assertThat(stats.totalProdutos()).isEqualTo(3);
+        assertThat(stats.semEstoque()).isZero();
+        assertThat(stats.unidadesEmEstoque()).isEqualTo(15);
+        assertThat(stats.valorTotalEstoque()).isEqualByComparingTo("17499.00");
+        assertThat(stats.faixasPreco()).extracting(FaixaPreco::quantidade).containsExactly(1L, 0L, 0L, 0L, 0L, 1L, 1L);
+    }
+
+    @Test
+    @DisplayName("Criação e remoção entram e saem dos agregados")
+    void criacaoERemocao() {
+        agregados.aoAlterar(evento(TipoAlteracao.CRIADO, 4L, "20.00", 0));
+        agregados.aoAlterar(evento(TipoAlteracao.REMOVIDO, 1L, "9.90", 10));
+
+        EstatisticasCatalogo stats = agregados.estatisticas();
+        assertThat(stats.totalProdutos()).isEqualTo(3);
+        assertThat(stats.semEstoque()).isEqualTo(2);
+        assertThat(stats.unidadesEmEstoque()).isEqualTo(2);
+        assertThat(stats.valorTotalEstoque()).isEqualByComparingTo("2400.00");
+        assertThat(stats.faixasPreco().get(0).quantidade()).isZero();
+        assertThat(stats.faixasPreco().get(1).quantidade()).isEqualTo(1);
+    }
+
+    private static ProdutoAlteradoEvent evento(TipoAlteracao tipo, Long id, String preco, int estoque) {
+        return new ProdutoAlteradoEvent(tipo, id, "Produto " + id, null, new BigDecimal(preco), estoque, null, 0L);
+    }
+}
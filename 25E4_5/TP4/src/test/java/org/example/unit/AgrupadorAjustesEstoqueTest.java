@@ -0,0 +1,74 @@
+package org.example.unit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.config.MetricasConfig;
+import org.example.exception.ProdutoNotFoundException;
+import org.example.service.estoque.AgrupadorAjustesEstoque;
+import org.example.service.estoque.EstoqueService;
+import org.example.service.validation.ProdutoValidador;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("AgrupadorAjustesEstoque — soma, excedente e falhas transitórias")
+class AgrupadorAjustesEstoqueTest {
+
+    private EstoqueService estoqueService;
+    private SimpleMeterRegistry registry;
+    private AgrupadorAjustesEstoque agrupador;
+
+    @BeforeEach
+    void setUp() {
+        estoqueService = mock(EstoqueService.class);
+        registry = new SimpleMeterRegistry();
+        agrupador = new AgrupadorAjustesEstoque(estoqueService, new ProdutoValidador(), registry);
+    }
+
+    @Test
+    @DisplayName("Falha transitória devolve a soma à fila, não interrompe os outros produtos e é regravada depois")
+    void falhaTransitoria_reenfileira() {
+        when(estoqueService.ajustarAteOLimite(1L, -3L))
+                .thenThrow(new DataAccessResourceFailureException("banco fora"))
+                .thenReturn(-3);
+        when(estoqueService.ajustarAteOLimite(2L, 5L)).thenReturn(5);
+        agrupador.registrar(1L, -1);
+        agrupador.registrar(1L, -2);
+        agrupador.registrar(2L, 5);
+
+        agrupador.descarregar();
+        verify(estoqueService).ajustarAteOLimite(2L, 5L);
+        assertThat(contador("adiado")).isEqualTo(1);
+
+        agrupador.descarregar();
+        verify(estoqueService, times(2)).ajustarAteOLimite(1L, -3L);
+        assertThat(contador("aplicado")).isEqualTo(2);
+        assertThat(contador("descartado")).isZero();
+    }
+
+    @Test
+    @DisplayName("Ajuste que só cabe em parte conta como aplicado e como descartado; produto removido é descartado")
+    void excedenteEProdutoRemovido_descartados() {
+        when(estoqueService.ajustarAteOLimite(1L, -5L)).thenReturn(-3);
+        when(estoqueService.ajustarAteOLimite(2L, 1L)).thenThrow(new ProdutoNotFoundException(2L));
+        agrupador.registrar(1L, -5);
+        agrupador.registrar(2L, 1);
+
+        agrupador.descarregar();
+        agrupador.descarregar();
+
+        verify(estoqueService).ajustarAteOLimite(2L, 1L);
+        assertThat(contador("aplicado")).isEqualTo(1);
+        assertThat(contador("descartado")).isEqualTo(2);
+    }
+
+    private double contador(String resultado) {
+        return registry.counter(MetricasConfig.CONTADOR_AJUSTES_AGRUPADOS, "resultado", resultado).count();
+    }
+}
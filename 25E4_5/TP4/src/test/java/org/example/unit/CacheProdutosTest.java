@@ -0,0 +1,59 @@
+package org.example.unit;
+
+import org.example.model.Produto;
+import org.example.service.cache.CacheProdutos;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("CacheProdutos — leitura em lote e invalidação")
+class CacheProdutosTest {
+
+    private final CacheProdutos cache = new CacheProdutos(100, Duration.ofMinutes(1));
+
+    @Test
+    @DisplayName("Leitura em lote guarda os carregados e serve a próxima leitura do cache")
+    void obterTodos_cacheiaCarregados() {
+        AtomicInteger cargas = new AtomicInteger();
+
+        cache.obterTodos(List.of(1L, 2L), faltantes -> {
+            cargas.incrementAndGet();
+            return List.of(produto(1L, "A"), produto(2L, "B"));
+        });
+        Map<Long, Produto> segunda = cache.obterTodos(List.of(1L, 2L), faltantes -> {
+            cargas.incrementAndGet();
+            return List.of();
+        });
+
+        assertThat(cargas).hasValue(1);
+        assertThat(segunda).containsOnlyKeys(1L, 2L);
+    }
+
+    @Test
+    @DisplayName("Invalidação durante a carga em lote não deixa a versão antiga no cache")
+    void obterTodos_invalidacaoDuranteCarga() {
+        Map<Long, Produto> lidos = cache.obterTodos(List.of(1L, 2L), faltantes -> {
+            List<Produto> antigos = List.of(produto(1L, "v1"), produto(2L, "B"));
+            // escrita concorrente: commit do v2 e invalidacao enquanto o lote ainda carrega
+            cache.invalidar(1L);
+            return antigos;
+        });
+
+        assertThat(lidos.get(1L).getNome()).isEqualTo("v1");
+        assertThat(cache.obter(1L, id -> produto(id, "v2")).getNome()).isEqualTo("v2");
+        assertThat(cache.obter(2L, id -> produto(id, "recarregado")).getNome()).isEqualTo("B");
+    }
+
+    private static Produto produto(Long id, String nome) {
+        Produto produto = new Produto(nome, "Descrição", new BigDecimal("10.00"), 1);
+        produto.setId(id);
+        return produto;
+    }
+}
@@ -0,0 +1,120 @@
+package org.example.unit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.config.MetricasConfig;
+import org.example.exception.SobrecargaException;
+import org.example.service.admissao.ControleAdmissaoEscritas;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("ControleAdmissaoEscritas — token bucket e limite AIMD")
+class ControleAdmissaoEscritasTest {
+
+    private MeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("Cliente que esgota a rajada é recusado com tempo de espera; outro cliente segue")
+    void rajadaEsgotada_recusaSoEsseCliente() {
+        ControleAdmissaoEscritas controle = controle(0.01, 2, 8, 1, 8, Duration.ofSeconds(10));
+
+        controle.admitir("10.0.0.1").liberar();
+        controle.admitir("10.0.0.1").liberar();
+
+        assertThatThrownBy(() -> controle.admitir("10.0.0.1"))
+                .isInstanceOf(SobrecargaException.class)
+                .satisfies(e -> assertThat(((SobrecargaException) e).getTentarApos()).isGreaterThan(Duration.ofSeconds(1)));
+        controle.admitir("10.0.0.2").liberar();
+        assertThat(rejeicoes("taxa")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Acima do limite de escritas simultâneas recusa até uma ser liberada")
+    void limiteConcorrencia_recusaAteLiberar() {
+        ControleAdmissaoEscritas controle = controle(1000, 1000, 1, 1, 1, Duration.ofSeconds(10));
+
+        ControleAdmissaoEscritas.Permissao primeira = controle.admitir("a");
+        assertThatThrownBy(() -> controle.admitir("b")).isInstanceOf(SobrecargaException.class);
+
+        primeira.liberar();
+        primeira.liberar();
+        controle.admitir("b");
+        assertThatThrownBy(() -> controle.admitir("c")).isInstanceOf(SobrecargaException.class);
+        assertThat(rejeicoes("concorrencia")).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Escritas acima da latência alvo reduzem o limite multiplicativamente, até o mínimo")
+    void latenciaAlta_reduzLimite() throws InterruptedException {
+        ControleAdmissaoEscritas controle = controle(1000, 1000, 8, 2, 8, Duration.ofMillis(1));
+
+        ControleAdmissaoEscritas.Permissao permissao = controle.admitir("a");
+        Thread.sleep(5);
+        permissao.liberar();
+        assertThat(gauge("limite")).isEqualTo(7);
+
+        for (int i = 0; i < 30; i++) {
+            ControleAdmissaoEscritas.Permissao lenta = controle.admitir("a");
+            Thread.sleep(2);
+            lenta.liberar();
+        }
+        assertThat(gauge("limite")).isEqualTo(2);
+        assertThat(gauge("em-andamento")).isZero();
+    }
+
+    @Test
+    @DisplayName("Escritas rápidas com o limite em uso aumentam o limite aditivamente, até o máximo")
+    void latenciaBaixa_aumentaLimite() {
+        ControleAdmissaoEscritas controle = controle(1000, 1000, 2, 1, 4, Duration.ofSeconds(10));
+
+        for (int rodada = 0; rodada < 20; rodada++) {
+            List<ControleAdmissaoEscritas.Permissao> permissoes = new ArrayList<>();
+            for (int i = 0; i < gauge("limite"); i++) {
+                permissoes.add(controle.admitir("a"));
+            }
+            permissoes.forEach(ControleAdmissaoEscritas.Permissao::liberar);
+        }
+
+        assertThat(gauge("limite")).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Importação em lote lenta não reduz o limite das escritas unitárias e tem limite próprio")
+    void loteLento_naoReduzLimite() throws InterruptedException {
+        ControleAdmissaoEscritas controle = controle(1000, 1000, 8, 1, 8, Duration.ofMillis(1));
+
+        ControleAdmissaoEscritas.Permissao lote = controle.admitirLote("a");
+        assertThatThrownBy(() -> controle.admitirLote("b")).isInstanceOf(SobrecargaException.class);
+        Thread.sleep(5);
+        lote.liberar();
+
+        assertThat(gauge("limite")).isEqualTo(8);
+        controle.admitirLote("b").liberar();
+    }
+
+    private ControleAdmissaoEscritas controle(double taxa, int rajada, int inicial, int minimo, int maximo,
+                                              Duration latenciaAlvo) {
+        return new ControleAdmissaoEscritas(registry, true, taxa, rajada, inicial, minimo, maximo, latenciaAlvo, 1);
+    }
+
+    private double rejeicoes(String motivo) {
+        return registry.get(MetricasConfig.CONTADOR_ADMISSAO).tag("motivo", motivo).counter().count();
+    }
+
+    private double gauge(String tipo) {
+        return registry.get(MetricasConfig.GAUGE_CONCORRENCIA_ESCRITAS).tag("tipo", tipo).gauge().value();
+    }
+}
@@ -0,0 +1,92 @@
+package org.example.unit;
+
+import org.example.repository.evento.ProdutoAlteradoEvent;
+import org.example.repository.evento.TipoAlteracao;
+import org.example.service.alteracoes.AlteracaoCatalogo;
+import org.example.service.alteracoes.FluxoAlteracoes;
+import org.example.service.alteracoes.LoteAlteracoes;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("FluxoAlteracoes — sequência e buffer de replay")
+class FluxoAlteracoesTest {
+
+    private final FluxoAlteracoes fluxo = new FluxoAlteracoes(3);
+
+    @Test
+    @DisplayName("Alterações recebem sequências crescentes e são relidas a partir de qualquer ponto do buffer")
+    void sequencia_replayDesdePonto() throws InterruptedException {
+        publicar(TipoAlteracao.CRIADO, 10L);
+        publicar(TipoAlteracao.ATUALIZADO, 10L);
+        publicar(TipoAlteracao.REMOVIDO, 10L);
+
+        LoteAlteracoes lote = fluxo.ler(1, 100, Duration.ZERO);
+
+        assertThat(lote.ressincronizar()).isFalse();
+        assertThat(lote.ultimaSequencia()).isEqualTo(3);
+        assertThat(lote.alteracoes()).extracting(AlteracaoCatalogo::sequencia).containsExactly(2L, 3L);
+        assertThat(lote.alteracoes()).extracting(AlteracaoCatalogo::tipo)
+                .containsExactly(TipoAlteracao.ATUALIZADO, TipoAlteracao.REMOVIDO);
+        assertThat(fluxo.ler(0, 2, Duration.ZERO).alteracoes()).extracting(AlteracaoCatalogo::sequencia)
+                .containsExactly(1L, 2L);
+    }
+
+    @Test
+    @DisplayName("Sequência que já saiu do buffer, ou maior que a atual, pede ressincronização")
+    void foraDoBuffer_ressincronizar() throws InterruptedException {
+        for (long id = 1; id <= 5; id++) {
+            publicar(TipoAlteracao.CRIADO, id);
+        }
+
+        assertThat(fluxo.ler(1, 100, Duration.ZERO).ressincronizar()).isTrue();
+        assertThat(fluxo.ler(2, 100, Duration.ZERO).alteracoes()).extracting(AlteracaoCatalogo::id)
+                .containsExactly(3L, 4L, 5L);
+        assertThat(fluxo.ler(9, 100, Duration.ZERO))
+                .satisfies(l -> assertThat(l.ressincronizar()).isTrue())
+                .satisfies(l -> assertThat(l.ultimaSequencia()).isEqualTo(5));
+    }
+
+    @Test
+    @DisplayName("Cada instância (subida da aplicação) tem época própria")
+    void epoca_distintaPorInstancia() {
+        assertThat(fluxo.epoca()).isNotBlank().isNotEqualTo(new FluxoAlteracoes(3).epoca());
+    }
+
+    @Test
+    @DisplayName("Leitor sem novidades espera e é acordado pela próxima publicação")
+    void leitorEmEspera_acordaComPublicacao() throws Exception {
+        CompletableFuture<LoteAlteracoes> leitura = CompletableFuture.supplyAsync(() -> {
+            try {
+                return fluxo.ler(0, 100, Duration.ofSeconds(10));
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        Thread.sleep(100);
+        assertThat(leitura).isNotDone();
+        publicar(TipoAlteracao.CRIADO, 7L);
+
+        assertThat(leitura.get(5, TimeUnit.SECONDS).alteracoes()).extracting(AlteracaoCatalogo::id).containsExactly(7L);
+    }
+
+    @Test
+    @DisplayName("Sem publicações, a leitura devolve vazio ao fim da espera")
+    void semPublicacoes_vazioAposEspera() throws InterruptedException {
+        LoteAlteracoes lote = fluxo.ler(0, 100, Duration.ofMillis(20));
+
+        assertThat(lote.alteracoes()).isEmpty();
+        assertThat(lote.ressincronizar()).isFalse();
+    }
+
+    private void publicar(TipoAlteracao tipo, Long id) {
+        fluxo.aoAlterar(new ProdutoAlteradoEvent(tipo, id, "Produto " + id, null, BigDecimal.ONE, 1, null, 0L));
+    }
+}
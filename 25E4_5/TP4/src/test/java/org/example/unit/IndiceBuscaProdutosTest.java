@@ -0,0 +1,84 @@
+package org.example.unit;
+
+import org.example.model.Produto;
+import org.example.model.ProdutoResumo;
+import org.example.repository.ProdutoRepository;
+import org.example.repository.evento.ProdutoAlteradoEvent;
+import org.example.repository.evento.TipoAlteracao;
+import org.example.service.busca.IndiceBuscaProdutos;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("IndiceBuscaProdutos — índice invertido em memória")
+class IndiceBuscaProdutosTest {
+
+    private IndiceBuscaProdutos indice;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        ProdutoRepository repository = mock(ProdutoRepository.class);
+        doAnswer(inv -> {
+            Consumer<ProdutoResumo> consumidor = inv.getArgument(0);
+            consumidor.accept(resumo(1L, "Teclado Mecânico", "Switch azul"));
+            consumidor.accept(resumo(2L, "Mouse", "Acompanha teclado"));
+            consumidor.accept(resumo(3L, "Mini teclado", null));
+            return null;
+        }).when(repository).percorrerResumosEmOrdemDeId(any(Consumer.class));
+
+        indice = new IndiceBuscaProdutos(repository);
+        indice.reconstruir();
+    }
+
+    @Test
+    @DisplayName("Ordena por relevância: início do nome, palavra do nome, descrição")
+    void ordenaPorRelevancia() {
+        assertThat(indice.buscar("teclado")).containsExactly(1L, 3L, 2L);
+    }
+
+    @Test
+    @DisplayName("Ignora caixa e acentos")
+    void ignoraCaixaEAcentos() {
+        assertThat(indice.buscar("MECANICO")).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("Termos curtos usam varredura dos documentos")
+    void termoCurto() {
+        assertThat(indice.buscar("mo")).containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("Eventos de alteração mantêm o índice sincronizado")
+    void sincronizaComEventos() {
+        indice.aoAlterar(evento(TipoAlteracao.ATUALIZADO, produto(2L, "Mousepad", "Tecido")));
+        indice.aoAlterar(evento(TipoAlteracao.REMOVIDO, produto(3L, "Mini teclado", null)));
+        indice.aoAlterar(evento(TipoAlteracao.CRIADO, produto(4L, "Webcam", "Com teclado de atalhos")));
+
+        assertThat(indice.buscar("teclado")).containsExactly(1L, 4L);
+        assertThat(indice.buscar("pad")).containsExactly(2L);
+    }
+
+    private static ProdutoAlteradoEvent evento(TipoAlteracao tipo, Produto produto) {
+        return ProdutoAlteradoEvent.of(tipo, produto);
+    }
+
+    private static ProdutoResumo resumo(Long id, String nome, String descricao) {
+        return new ProdutoResumo(id, nome, descricao, new BigDecimal("10.00"), 1);
+    }
+
+    private static Produto produto(Long id, String nome, String descricao) {
+        Produto p = new Produto(nome, descricao, new BigDecimal("10.00"), 1);
+        p.setId(id);
+        return p;
+    }
+}
@@ -0,0 +1,119 @@
+package org.example.unit;
+
+import org.example.exception.NegocioException;
+import org.example.model.ProdutoResumo;
+import org.example.repository.ProdutoRepository;
+import org.example.repository.evento.ProdutoAlteradoEvent;
+import org.example.repository.evento.TipoAlteracao;
+import org.example.service.busca.IndiceFaixasProdutos;
+import org.example.service.support.FiltroFaixas;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("IndiceFaixasProdutos — faixas de preço e estoque em memória")
+class IndiceFaixasProdutosTest {
+
+    private IndiceFaixasProdutos indice;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        ProdutoRepository repository = mock(ProdutoRepository.class);
+        doAnswer(inv -> {
+            Consumer<ProdutoResumo> consumidor = inv.getArgument(0);
+            consumidor.accept(new ProdutoResumo(1L, "Cabo", null, new BigDecimal("9.90"), 10));
+            consumidor.accept(new ProdutoResumo(2L, "Mouse", null, new BigDecimal("50.00"), 0));
+            consumidor.accept(new ProdutoResumo(3L, "Monitor", null, new BigDecimal("1200.00"), 2));
+            consumidor.accept(new ProdutoResumo(4L, "Teclado", null, new BigDecimal("50.00"), 7));
+            return null;
+        }).when(repository).percorrerResumosEmOrdemDeId(any(Consumer.class));
+
+        indice = new IndiceFaixasProdutos(repository);
+        indice.reconstruir();
+    }
+
+    @Test
+    @DisplayName("Faixa de preço inclui os limites e devolve ids em ordem crescente")
+    void faixaDePreco() {
+        assertThat(indice.buscar(FiltroFaixas.of(new BigDecimal("9.90"), new BigDecimal("50"), null)))
+                .containsExactly(1L, 2L, 4L);
+        assertThat(indice.buscar(FiltroFaixas.of(new BigDecimal("50.01"), null, null))).containsExactly(3L);
+    }
+
+    @Test
+    @DisplayName("Preço e estoque combinados devolvem só a interseção")
+    void filtrosCombinados() {
+        assertThat(indice.buscar(FiltroFaixas.of(null, new BigDecimal("100"), 1))).containsExactly(1L, 4L);
+        assertThat(indice.buscar(FiltroFaixas.of(new BigDecimal("10"), null, 5))).containsExactly(4L);
+    }
+
+    @Test
+    @DisplayName("Eventos de gravação movem, incluem e retiram produtos das faixas")
+    void acompanhaEventos() {
+        indice.aoAlterar(evento(TipoAlteracao.ATUALIZADO, 2L, "5.00", 3));
+        indice.aoAlterar(evento(TipoAlteracao.CRIADO, 5L, "7.00", 1));
+        indice.aoAlterar(evento(TipoAlteracao.REMOVIDO, 1L, "9.90", 10));
+
+        assertThat(indice.buscar(FiltroFaixas.of(null, new BigDecimal("10"), null))).containsExactly(2L, 5L);
+        assertThat(indice.atende(1L, FiltroFaixas.of(null, null, 0))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Muitas gravações seguidas (com fusão dos pendentes) batem com a filtragem direta")
+    void muitasGravacoes_conferemComForcaBruta() {
+        Random aleatorio = new Random(42);
+        Map<Long, long[]> esperado = new TreeMap<>(Map.of(
+                1L, new long[]{990, 10}, 2L, new long[]{5000, 0}, 3L, new long[]{120000, 2}, 4L, new long[]{5000, 7}));
+        for (int i = 0; i < 20_000; i++) {
+            long id = 1 + aleatorio.nextInt(3000);
+            if (aleatorio.nextInt(5) == 0) {
+                esperado.remove(id);
+                indice.aoAlterar(evento(TipoAlteracao.REMOVIDO, id, "1.00", 0));
+            } else {
+                long centavos = 1 + aleatorio.nextInt(100_000);
+                int estoque = aleatorio.nextInt(50);
+                esperado.put(id, new long[]{centavos, estoque});
+                indice.aoAlterar(evento(TipoAlteracao.ATUALIZADO, id, BigDecimal.valueOf(centavos, 2).toPlainString(), estoque));
+            }
+        }
+
+        for (FiltroFaixas filtro : List.of(
+                FiltroFaixas.of(new BigDecimal("100"), new BigDecimal("200"), null),
+                FiltroFaixas.of(null, new BigDecimal("10"), 40),
+                FiltroFaixas.of(new BigDecimal("999"), null, 1),
+                FiltroFaixas.of(null, null, 49))) {
+            List<Long> forcaBruta = esperado.entrySet().stream()
+                    .filter(e -> filtro.atende(e.getValue()[0], (int) e.getValue()[1]))
+                    .map(Map.Entry::getKey)
+                    .toList();
+            assertThat(indice.buscar(filtro)).isEqualTo(forcaBruta);
+        }
+    }
+
+    @Test
+    @DisplayName("Faixa invertida ou limites negativos são rejeitados")
+    void filtrosInvalidos() {
+        assertThatThrownBy(() -> FiltroFaixas.of(new BigDecimal("10"), new BigDecimal("5"), null))
+                .isInstanceOf(NegocioException.class);
+        assertThatThrownBy(() -> FiltroFaixas.of(null, null, -1))
+                .isInstanceOf(NegocioException.class);
+    }
+
+    private static ProdutoAlteradoEvent evento(TipoAlteracao tipo, Long id, String preco, int estoque) {
+        return new ProdutoAlteradoEvent(tipo, id, "Produto " + id, null, new BigDecimal(preco), estoque, null, 0L);
+    }
+}
@@ -0,0 +1,119 @@
+package org.example.unit;
+
+import org.example.service.auditoria.LogAuditoria;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("LogAuditoria — log segmentado mapeado em memória")
+class LogAuditoriaTest {
+
+    @TempDir
+    Path diretorio;
+
+    @Test
+    @DisplayName("Entradas gravadas são lidas na mesma ordem")
+    void idaEVolta() throws IOException {
+        try (LogAuditoria log = LogAuditoria.abrir(diretorio, 4096)) {
+            log.anexar(bytes("um"));
+            log.anexar(bytes("dois"));
+            log.anexar(bytes("três"));
+        }
+
+        assertThat(lerTodas()).containsExactly("um", "dois", "três");
+    }
+
+    @Test
+    @DisplayName("Segmento cheio abre o próximo sem perder entradas")
+    void trocaDeSegmento() throws IOException {
+        try (LogAuditoria log = LogAuditoria.abrir(diretorio, 64)) {
+            for (int i = 0; i < 10; i++) {
+                log.anexar(bytes("entrada-" + i));
+            }
+        }
+
+        try (Stream<Path> arquivos = Files.list(diretorio)) {
+            assertThat(arquivos.count()).isGreaterThan(1);
+        }
+        assertThat(lerTodas()).hasSize(10).startsWith("entrada-0").endsWith("entrada-9");
+    }
+
+    @Test
+    @DisplayName("Marca ausente vale 0; gravada, substitui a anterior sem virar entrada do log")
+    void marca() throws IOException {
+        assertThat(LogAuditoria.lerMarca(diretorio)).isZero();
+        try (LogAuditoria log = LogAuditoria.abrir(diretorio, 4096)) {
+            log.anexar(bytes("um"));
+        }
+
+        LogAuditoria.gravarMarca(diretorio, 7);
+        LogAuditoria.gravarMarca(diretorio, 9);
+
+        assertThat(LogAuditoria.lerMarca(diretorio)).isEqualTo(9);
+        assertThat(lerTodas()).containsExactly("um");
+    }
+
+    @Test
+    @DisplayName("Reabertura continua após a última entrada e a expõe para retomar a numeração")
+    void reabertura() throws IOException {
+        try (LogAuditoria log = LogAuditoria.abrir(diretorio, 4096)) {
+            log.anexar(bytes("antes"));
+        }
+        try (LogAuditoria log = LogAuditoria.abrir(diretorio, 4096)) {
+            assertThat(texto(log.ultimaEntrada())).isEqualTo("antes");
+            log.anexar(bytes("depois"));
+        }
+
+        assertThat(lerTodas()).containsExactly("antes", "depois");
+    }
+
+    @Test
+    @DisplayName("Entrada corrompida no fim é ignorada e sobrescrita pela próxima gravação")
+    void caudaCorrompida() throws IOException {
+        try (LogAuditoria log = LogAuditoria.abrir(diretorio, 4096)) {
+            log.anexar(bytes("inteira"));
+            log.anexar(bytes("cortada"));
+        }
+        Path segmento;
+        try (Stream<Path> arquivos = Files.list(diretorio)) {
+            segmento = arquivos.findFirst().orElseThrow();
+        }
+        try (RandomAccessFile arquivo = new RandomAccessFile(segmento.toFile(), "rw")) {
+            long inicioSegunda = 8 + "inteira".length();
+            arquivo.seek(inicioSegunda + 8);
+            arquivo.write('X');
+        }
+
+        assertThat(lerTodas()).containsExactly("inteira");
+        try (LogAuditoria log = LogAuditoria.abrir(diretorio, 4096)) {
+            assertThat(texto(log.ultimaEntrada())).isEqualTo("inteira");
+            log.anexar(bytes("nova"));
+        }
+        assertThat(lerTodas()).containsExactly("inteira", "nova");
+    }
+
+    private List<String> lerTodas() throws IOException {
+        List<String> entradas = new ArrayList<>();
+        LogAuditoria.ler(diretorio, entrada -> entradas.add(texto(entrada)));
+        return entradas;
+    }
+
+    private static byte[] bytes(String valor) {
+        return valor.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String texto(byte[] entrada) {
+        return new String(entrada, StandardCharsets.UTF_8);
+    }
+}
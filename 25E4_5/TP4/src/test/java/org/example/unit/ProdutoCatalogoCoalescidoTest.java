@@ -0,0 +1,161 @@
+package org.example.unit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.config.MetricasConfig;
+import org.example.exception.ProdutoNotFoundException;
+import org.example.model.Produto;
+import org.example.model.ProdutoResumo;
+import org.example.repository.evento.ProdutoAlteradoEvent;
+import org.example.repository.evento.TipoAlteracao;
+import org.example.service.ProdutoService;
+import org.example.service.catalogo.ProdutoCatalogoCoalescido;
+import org.example.service.support.FiltroFaixas;
+import org.example.service.support.TermoBusca;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("ProdutoCatalogoCoalescido — leituras idênticas simultâneas")
+class ProdutoCatalogoCoalescidoTest {
+
+    private static final int CHAMADORES = 8;
+
+    private ProdutoService service;
+    private MeterRegistry registry;
+    private ProdutoCatalogoCoalescido catalogo;
+    private final CountDownLatch liberar = new CountDownLatch(1);
+    private final AtomicInteger execucoes = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        service = mock(ProdutoService.class);
+        registry = new SimpleMeterRegistry();
+        catalogo = new ProdutoCatalogoCoalescido(service, registry);
+    }
+
+    @Test
+    @DisplayName("Buscas iguais em andamento viram uma chamada só e compartilham o resultado")
+    void buscasIguais_umaChamada() throws Exception {
+        List<ProdutoResumo> resultado = List.of(new ProdutoResumo(1L, "Cabo", null, BigDecimal.ONE, 1));
+        when(service.listarResumos(any(), any())).thenAnswer(inv -> {
+            execucoes.incrementAndGet();
+            liberar.await(5, TimeUnit.SECONDS);
+            return resultado;
+        });
+
+        List<List<ProdutoResumo>> recebidos = emParalelo(
+                () -> catalogo.listarResumos(TermoBusca.of("cabo"), FiltroFaixas.vazio()), "listarResumos");
+
+        assertThat(execucoes).hasValue(1);
+        assertThat(recebidos).hasSize(CHAMADORES).allSatisfy(r -> assertThat(r).isSameAs(resultado));
+        assertThat(contador("listarResumos", "compartilhada")).isEqualTo(CHAMADORES - 1);
+        assertThat(registry.get(MetricasConfig.GAUGE_TAXA_COALESCENCIA).tag("operacao", "listarResumos").gauge().value())
+                .isEqualTo((CHAMADORES - 1) / (double) CHAMADORES);
+    }
+
+    @Test
+    @DisplayName("Busca por id compartilhada devolve uma cópia para cada chamador")
+    void buscaPorId_copiaPorChamador() throws Exception {
+        Produto produto = new Produto("Cabo", null, BigDecimal.ONE, 1);
+        produto.setId(7L);
+        when(service.buscarPorId(7L)).thenAnswer(inv -> {
+            execucoes.incrementAndGet();
+            liberar.await(5, TimeUnit.SECONDS);
+            return produto;
+        });
+
+        List<Produto> recebidos = emParalelo(() -> catalogo.buscarPorId(7L), "buscarPorId");
+
+        assertThat(execucoes).hasValue(1);
+        assertThat(recebidos).extracting(Produto::getNome).containsOnly("Cabo");
+        assertThat(recebidos.stream().distinct()).hasSize(CHAMADORES);
+    }
+
+    @Test
+    @DisplayName("Falha da leitura em andamento chega a todos que esperavam por ela")
+    void falha_compartilhada() {
+        when(service.buscarPorId(9L)).thenThrow(new ProdutoNotFoundException(9L));
+
+        assertThatThrownBy(() -> catalogo.buscarPorId(9L)).isInstanceOf(ProdutoNotFoundException.class);
+        assertThatThrownBy(() -> catalogo.buscarPorId(9L)).isInstanceOf(ProdutoNotFoundException.class);
+        verify(service, times(2)).buscarPorId(9L);
+    }
+
+    @Test
+    @DisplayName("Gravação confirmada faz a próxima leitura ir ao serviço em vez de esperar a antiga")
+    void gravacao_descartaLeituraEmAndamento() throws Exception {
+        Produto antigo = new Produto("Antigo", null, BigDecimal.ONE, 1);
+        antigo.setId(3L);
+        Produto novo = new Produto("Novo", null, BigDecimal.ONE, 1);
+        novo.setId(3L);
+        CountDownLatch primeiraComecou = new CountDownLatch(1);
+        when(service.buscarPorId(3L))
+                .thenAnswer(inv -> {
+                    primeiraComecou.countDown();
+                    liberar.await(5, TimeUnit.SECONDS);
+                    return antigo;
+                })
+                .thenReturn(novo);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Produto> lenta = executor.submit(() -> catalogo.buscarPorId(3L));
+            assertThat(primeiraComecou.await(5, TimeUnit.SECONDS)).isTrue();
+            catalogo.aoAlterar(new ProdutoAlteradoEvent(TipoAlteracao.ATUALIZADO, 3L, "Novo", null, BigDecimal.ONE, 1, null, 0L));
+
+            assertThat(catalogo.buscarPorId(3L).getNome()).isEqualTo("Novo");
+            liberar.countDown();
+            assertThat(lenta.get(5, TimeUnit.SECONDS).getNome()).isEqualTo("Antigo");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /** Dispara os chamadores e so libera a leitura quando todos ja estao esperando por ela. */
+    private <T> List<T> emParalelo(Callable<T> chamada, String operacao) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(CHAMADORES);
+        try {
+            List<Future<T>> futuros = new ArrayList<>();
+            for (int i = 0; i < CHAMADORES; i++) {
+                futuros.add(executor.submit(chamada));
+            }
+            long prazo = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (contador(operacao, "compartilhada") < CHAMADORES - 1 && System.nanoTime() < prazo) {
+                Thread.sleep(5);
+            }
+            liberar.countDown();
+            List<T> resultados = new ArrayList<>();
+            for (Future<T> futuro : futuros) {
+                resultados.add(futuro.get(5, TimeUnit.SECONDS));
+            }
+            return resultados;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private double contador(String operacao, String resultado) {
+        return registry.get(MetricasConfig.CONTADOR_COALESCENCIA)
+                .tag("operacao", operacao).tag("resultado", resultado).counter().count();
+    }
+}
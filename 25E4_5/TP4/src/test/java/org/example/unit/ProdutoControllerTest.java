@@ -5,10 +5,16 @@ import org.example.exception.ProdutoNotFoundException;
 import org.example.model.Produto;
 import org.example.service.ProdutoService;
 import org.example.controller.ProdutoController;
+import org.example.controller.view.CacheLinhasProduto;
+import org.example.service.support.CampoOrdenacao;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.*;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.ui.ConcurrentModel;
 import org.springframework.ui.Model;
 import org.springframework.validation.BeanPropertyBindingResult;
@@ -31,6 +37,9 @@ class ProdutoControllerTest {
     @Mock
     private ProdutoService service;
 
+    @Mock
+    private CacheLinhasProduto cacheLinhas;
+
     @InjectMocks
     private ProdutoController controller;
 
@@ -47,36 +56,61 @@ class ProdutoControllerTest {
     // ── listar ────────────────────────────────────────────────────────────────
 
     @Test
-    @DisplayName("GET /produtos sem busca retorna view lista com todos os produtos")
+    @DisplayName("GET /produtos sem busca retorna view lista com a primeira página ordenada por id")
     void listar_semBusca() {
-        when(service.listarTodosComoLista()).thenReturn(List.of(produto()));
-        String view = controller.listar(null, model);
+        when(service.listarPaginado(any())).thenReturn(new PageImpl<>(List.of(produto())));
+        String view = listar(null, null, null);
 
         assertThat(view).isEqualTo("produtos/lista");
-        assertThat(model.asMap()).containsKey("produtos");
+        assertThat(model.asMap()).containsKeys("produtos", "pagina", "consulta").doesNotContainKey("linhasHtml");
+        verify(service).listarPaginado(argThat(c -> c.pagina() == 1 && c.ordem() == CampoOrdenacao.ID));
     }
 
     @Test
-    @DisplayName("GET /produtos com busca chama buscarPorNome")
+    @DisplayName("GET /produtos com busca ordena por relevância")
     void listar_comBusca() {
-        when(service.buscarPorNome("teclado")).thenReturn(List.of());
-        String view = controller.listar("teclado", model);
+        when(service.listarPaginado(any())).thenReturn(new PageImpl<>(List.of()));
+        String view = listar("teclado", null, null);
 
         assertThat(view).isEqualTo("produtos/lista");
-        verify(service).buscarPorNome("teclado");
+        verify(service).listarPaginado(argThat(c ->
+                c.termoBusca().valorNormalizado().equals("teclado") && c.porRelevancia()));
     }
 
     @Test
     @DisplayName("GET /produtos busca com NegocioException adiciona mensagem de erro")
     void listar_negocioException() {
-        when(service.buscarPorNome(anyString()))
-                .thenThrow(new NegocioException("Termo muito longo."));
+        String view = listar("x".repeat(300), null, null);
+        assertThat(view).isEqualTo("produtos/lista");
+        assertThat(model.asMap()).containsKey("erroMensagem");
+        verify(service, never()).listarPaginado(any());
+    }
 
-        String view = controller.listar("x".repeat(300), model);
+    @ParameterizedTest(name = "[{index}] pagina={0}, ordem={1}")
+    @CsvSource({"0, nome", "1, descricao"})
+    @DisplayName("GET /produtos com página ou ordenação inválida adiciona mensagem de erro")
+    void listar_parametrosInvalidos(int pagina, String ordem) {
+        String view = listar(null, pagina, ordem);
         assertThat(view).isEqualTo("produtos/lista");
         assertThat(model.asMap()).containsKey("erroMensagem");
     }
 
+    @Test
+    @DisplayName("GET /produtos com cache de linhas ligado entrega o HTML das linhas")
+    void listar_comCacheDeLinhas() {
+        when(service.listarPaginado(any())).thenReturn(new PageImpl<>(List.of(produto())));
+        when(cacheLinhas.estaHabilitado()).thenReturn(true);
+        when(cacheLinhas.renderizar(anyList(), any(), any())).thenReturn(List.of("<tr></tr>"));
+
+        listar(null, null, null);
+        assertThat(model.asMap().get("linhasHtml")).isEqualTo(List.of("<tr></tr>"));
+    }
+
+    private String listar(String busca, Integer pagina, String ordem) {
+        return controller.listar(busca, pagina, null, ordem, null, model,
+                new MockHttpServletRequest(), new MockHttpServletResponse());
+    }
+
     // ── novoForm ──────────────────────────────────────────────────────────────
 
     @Test
@@ -2,19 +2,38 @@ package org.example.unit;
 
 import org.example.exception.NegocioException;
 import org.example.exception.ProdutoNotFoundException;
+import org.example.exception.ValidacaoException;
 import org.example.model.Produto;
+import org.example.model.ProdutoResumo;
 import org.example.repository.ProdutoRepository;
 import org.example.service.ProdutoService;
+import org.example.service.auditoria.AuditoriaProdutos;
+import org.example.service.busca.IndiceBuscaProdutos;
+import org.example.service.busca.IndiceFaixasProdutos;
+import org.example.service.cache.CacheProdutos;
 import org.example.service.mutation.ProdutoMutator;
+import org.example.service.sanitization.ModoSanitizacao;
 import org.example.service.sanitization.ProdutoSanitizador;
+import org.example.service.support.ConsultaListagem;
+import org.example.service.support.CursorPagina;
+import org.example.service.support.FiltroFaixas;
+import org.example.service.support.ProdutoPagina;
+import org.example.service.support.TermoBusca;
 import org.example.service.validation.ProdutoValidador;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.*;
 import org.mockito.*;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -30,12 +49,15 @@ class ProdutoServiceTest {
     @Mock
     private ProdutoRepository repository;
 
+    @Mock
+    private AuditoriaProdutos auditoria;
+
     private ProdutoService service;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        service = new ProdutoService(repository, new ProdutoValidador(), new ProdutoSanitizador(), new ProdutoMutator());
+        service = novoService(new IndiceBuscaProdutos(repository));
     }
 
     // ── listarTodos ───────────────────────────────────────────────────────────
@@ -98,6 +120,63 @@ class ProdutoServiceTest {
                 .isInstanceOf(NegocioException.class);
     }
 
+    @Test
+    @DisplayName("buscarPorIds carrega num único IN só os ids fora do cache")
+    @SuppressWarnings("unchecked")
+    void buscarPorIds_umaConsultaParaOsFaltantes() {
+        Produto a = novoProduto("A", "5.00", 1);
+        a.setId(1L);
+        Produto b = novoProduto("B", "6.00", 2);
+        b.setId(2L);
+        when(repository.findById(1L)).thenReturn(Optional.of(a));
+        service.buscarPorId(1L);
+        when(repository.findAllById(any())).thenReturn(List.of(b));
+
+        Map<Long, Produto> encontrados = service.buscarPorIds(List.of(2L, 1L, 99L, 2L));
+
+        assertThat(encontrados).containsOnlyKeys(1L, 2L);
+        ArgumentCaptor<Iterable<Long>> consultados = ArgumentCaptor.forClass(Iterable.class);
+        verify(repository).findAllById(consultados.capture());
+        assertThat(consultados.getValue()).containsExactlyInAnyOrder(2L, 99L);
+    }
+
+    @Test
+    @DisplayName("buscarPorIds rejeita a lista inteira se algum id for inválido")
+    void buscarPorIds_idInvalido() {
+        assertThatThrownBy(() -> service.buscarPorIds(Arrays.asList(1L, null)))
+                .isInstanceOf(NegocioException.class);
+        assertThatThrownBy(() -> service.buscarPorIds(LongStream.rangeClosed(1, 101).boxed().toList()))
+                .isInstanceOf(NegocioException.class)
+                .hasMessageContaining("100");
+        verify(repository, never()).findAllById(any());
+    }
+
+    @Test
+    @DisplayName("buscarPorId repetido é servido pelo cache e devolve cópias")
+    void buscarPorId_usaCache() {
+        Produto p = novoProduto("X", "5.00", 10);
+        p.setId(1L);
+        when(repository.findById(1L)).thenReturn(Optional.of(p));
+
+        Produto primeiro = service.buscarPorId(1L);
+        primeiro.setNome("Alterado pelo chamador");
+        assertThat(service.buscarPorId(1L).getNome()).isEqualTo("X");
+        verify(repository, times(1)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("atualizar usa a entidade gerenciada, não a cópia em cache")
+    void atualizar_ignoraCache() {
+        Produto existente = novoProduto("Antigo", "10.00", 5);
+        existente.setId(1L);
+        when(repository.findById(1L)).thenReturn(Optional.of(existente));
+        when(repository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+
+        service.buscarPorId(1L);
+        Produto atualizado = service.atualizar(1L, novoProduto("Novo", "20.00", 8));
+        assertThat(atualizado).isSameAs(existente);
+    }
+
     // ── buscarPorNome ─────────────────────────────────────────────────────────
 
     @Test
@@ -108,6 +187,201 @@ class ProdutoServiceTest {
         assertThat(service.buscarPorNome("teclado")).hasSize(1);
     }
 
+    @Test
+    @DisplayName("buscarPorNome com índice pronto carrega os ids na ordem de relevância")
+    void buscarPorNome_indicePronto() {
+        Produto mouse = novoProduto("Mouse", "30.00", 1);
+        mouse.setId(1L);
+        mouse.setDescricao("Acompanha teclado");
+        Produto teclado = novoProduto("Teclado", "150.00", 5);
+        teclado.setId(2L);
+        IndiceBuscaProdutos indice = indiceCom(resumo(mouse), resumo(teclado));
+        when(repository.findAllById(List.of(2L, 1L))).thenReturn(List.of(mouse, teclado));
+
+        service = novoService(indice);
+
+        assertThat(service.buscarPorNome("teclado")).extracting(Produto::getNome).containsExactly("Teclado", "Mouse");
+        verify(repository, never()).findByNomeContainingIgnoreCase(anyString());
+    }
+
+    @Test
+    @DisplayName("buscarPorNome com muitos resultados no índice carrega em INs de até 1000 ids")
+    @SuppressWarnings("unchecked")
+    void buscarPorNome_indicePronto_emLotes() {
+        ProdutoResumo[] resumos = IntStream.rangeClosed(1, 2500)
+                .mapToObj(i -> new ProdutoResumo((long) i, "Cabo " + i, null, BigDecimal.ONE, 1))
+                .toArray(ProdutoResumo[]::new);
+        service = novoService(indiceCom(resumos));
+        when(repository.findAllById(any())).thenAnswer(inv -> {
+            List<Produto> produtos = new ArrayList<>();
+            for (Long id : (Iterable<Long>) inv.getArgument(0)) {
+                Produto p = novoProduto("Cabo " + id, "1.00", 1);
+                p.setId(id);
+                produtos.add(p);
+            }
+            return produtos;
+        });
+
+        assertThat(service.buscarPorNome("cabo")).hasSize(2500);
+        ArgumentCaptor<Iterable<Long>> consultados = ArgumentCaptor.forClass(Iterable.class);
+        verify(repository, times(3)).findAllById(consultados.capture());
+        assertThat(consultados.getAllValues()).extracting(ids -> ((List<Long>) ids).size())
+                .containsExactly(1000, 1000, 500);
+    }
+
+    @Test
+    @DisplayName("listarPaginado por relevância carrega só os ids da página pedida")
+    void listarPaginado_relevancia() {
+        ProdutoResumo[] resumos = IntStream.rangeClosed(1, 5)
+                .mapToObj(i -> new ProdutoResumo((long) i, "Cabo " + i, null, BigDecimal.ONE, 1))
+                .toArray(ProdutoResumo[]::new);
+        service = novoService(indiceCom(resumos));
+        Produto quarto = novoProduto("Cabo 4", "1.00", 1);
+        quarto.setId(4L);
+        when(repository.findAllById(List.of(3L, 4L))).thenReturn(List.of(quarto));
+
+        Page<Produto> pagina = service.listarPaginado(ConsultaListagem.of("cabo", 2, 2, null, null));
+
+        assertThat(pagina.getTotalElements()).isEqualTo(5);
+        assertThat(pagina.getTotalPages()).isEqualTo(3);
+        assertThat(pagina.getContent()).containsExactly(quarto);
+        verify(repository, never()).findByNomeContainingIgnoreCase(anyString(), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("listarPaginado com termo e ordem por coluna usa os mesmos ids do índice que a relevância")
+    void listarPaginado_porColunaComIndice() {
+        ProdutoResumo cafe = new ProdutoResumo(1L, "Café", null, new BigDecimal("12.00"), 1);
+        ProdutoResumo bolo = new ProdutoResumo(2L, "Bolo", "Sabor cafe", new BigDecimal("30.00"), 1);
+        ProdutoResumo xicara = new ProdutoResumo(3L, "Xícara para cafe", null, new BigDecimal("8.00"), 1);
+        ProdutoResumo mouse = new ProdutoResumo(4L, "Mouse", null, new BigDecimal("50.00"), 1);
+        service = novoService(indiceCom(cafe, bolo, xicara, mouse));
+        when(repository.listarValoresPorIds(any(), eq("preco"))).thenReturn(List.of(
+                new Object[]{1L, cafe.preco()}, new Object[]{2L, bolo.preco()}, new Object[]{3L, xicara.preco()}));
+        Produto produtoBolo = novoProduto("Bolo", "30.00", 1);
+        produtoBolo.setId(2L);
+        Produto produtoCafe = novoProduto("Café", "12.00", 1);
+        produtoCafe.setId(1L);
+        when(repository.findAllById(List.of(2L, 1L))).thenReturn(List.of(produtoCafe, produtoBolo));
+
+        Page<Produto> pagina = service.listarPaginado(ConsultaListagem.of("cafe", 1, 2, "preco", "desc"));
+
+        assertThat(pagina.getTotalElements()).isEqualTo(3);
+        assertThat(pagina.getContent()).extracting(Produto::getNome).containsExactly("Bolo", "Café");
+        verify(repository, never()).findByNomeContainingIgnoreCase(anyString(), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("listarPaginado ordenado por coluna delega LIMIT/OFFSET ao banco")
+    void listarPaginado_porColuna() {
+        when(repository.findAll(any(Pageable.class))).thenReturn(Page.empty());
+
+        service.listarPaginado(ConsultaListagem.of(null, 3, 10, "preco", "desc"));
+
+        verify(repository).findAll(argThat((Pageable p) -> p.getOffset() == 20
+                && p.getSort().toString().equals("preco: DESC,id: DESC")));
+    }
+
+    @Test
+    @DisplayName("listarResumos com índice pronto projeta os ids sem carregar entidades")
+    void listarResumos_indicePronto() {
+        ProdutoResumo mouse = new ProdutoResumo(1L, "Mouse", "Acompanha teclado", new BigDecimal("30.00"), 1);
+        ProdutoResumo teclado = new ProdutoResumo(2L, "Teclado", null, new BigDecimal("150.00"), 5);
+        service = novoService(indiceCom(mouse, teclado));
+        when(repository.listarResumosPorIds(List.of(2L, 1L))).thenReturn(List.of(mouse, teclado));
+
+        assertThat(service.listarResumos(TermoBusca.of("teclado"), FiltroFaixas.vazio())).containsExactly(teclado, mouse);
+        verify(repository, never()).findAllById(any());
+    }
+
+    @Test
+    @DisplayName("listarPagina com termo e índice pronto pagina por id os mesmos ids de listarResumos")
+    void listarPagina_termoComIndice() {
+        ProdutoResumo mouse = new ProdutoResumo(1L, "Mouse", "Acompanha teclado", new BigDecimal("30.00"), 1);
+        ProdutoResumo teclado = new ProdutoResumo(2L, "Teclado", null, new BigDecimal("150.00"), 5);
+        service = novoService(indiceCom(mouse, teclado));
+        when(repository.listarResumosPorIds(List.of(1L))).thenReturn(List.of(mouse));
+        when(repository.listarResumosPorIds(List.of(2L))).thenReturn(List.of(teclado));
+
+        ProdutoPagina primeira = service.listarPagina(TermoBusca.of("teclado"), FiltroFaixas.vazio(), CursorPagina.of(null, 1));
+        ProdutoPagina segunda = service.listarPagina(TermoBusca.of("teclado"), FiltroFaixas.vazio(),
+                CursorPagina.of(primeira.proximoCursor(), 1));
+
+        assertThat(primeira.asList()).containsExactly(mouse);
+        assertThat(segunda.asList()).containsExactly(teclado);
+        verify(repository, never()).listarResumosPorNomeApos(anyString(), anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("listarResumos sem termo nem faixas devolve lista imutável, não a do repositório")
+    void listarResumos_semFiltro_imutavel() {
+        List<ProdutoResumo> doRepositorio = new ArrayList<>(List.of(
+                new ProdutoResumo(1L, "Mouse", null, new BigDecimal("30.00"), 1)));
+        when(repository.listarResumos()).thenReturn(doRepositorio);
+
+        List<ProdutoResumo> resumos = service.listarResumos(TermoBusca.of(null), FiltroFaixas.vazio());
+
+        assertThat(resumos).containsExactlyElementsOf(doRepositorio);
+        assertThatThrownBy(() -> resumos.add(resumos.get(0))).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    @DisplayName("listarResumos com faixas e índice ainda não construído filtra no banco")
+    void listarResumos_faixasSemIndice() {
+        FiltroFaixas filtro = FiltroFaixas.of(new BigDecimal("10"), null, 2);
+        when(repository.listarResumosPorFaixasApos(any(), any(), any(), anyLong(), any())).thenReturn(List.of());
+
+        assertThat(service.listarResumos(TermoBusca.of(null), filtro)).isEmpty();
+        verify(repository).listarResumosPorFaixasApos(
+                eq(new BigDecimal("10.00")), isNull(), eq(2), eq(0L), eq(Limit.unlimited()));
+    }
+
+    @Test
+    @DisplayName("listarResumos sem termo projeta o catálogo inteiro")
+    void listarResumos_semTermo() {
+        when(repository.listarResumos()).thenReturn(List.of());
+        assertThat(service.listarResumos(TermoBusca.of(null), FiltroFaixas.vazio())).isEmpty();
+        verify(repository, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("percorrer com termo e índice ainda não construído percorre o cursor filtrado no banco")
+    void percorrer_semIndice_filtraNoBanco() {
+        service.percorrer(TermoBusca.of("  Cabo "), resumo -> { });
+
+        verify(repository).percorrerResumosPorNomeEmOrdemDeId(eq("Cabo"), any());
+        verify(repository, never()).percorrerResumosEmOrdemDeId(any());
+    }
+
+    @Test
+    @DisplayName("percorrer com termo e índice pronto entrega os ids do índice na ordem de relevância")
+    void percorrer_indicePronto() {
+        ProdutoResumo mouse = new ProdutoResumo(1L, "Mouse", "Acompanha teclado", new BigDecimal("30.00"), 1);
+        ProdutoResumo teclado = new ProdutoResumo(2L, "Teclado", null, new BigDecimal("150.00"), 5);
+        service = novoService(indiceCom(mouse, teclado));
+        when(repository.listarResumosPorIds(List.of(2L, 1L))).thenReturn(List.of(mouse, teclado));
+
+        List<ProdutoResumo> entregues = new ArrayList<>();
+        service.percorrer(TermoBusca.of("teclado"), entregues::add);
+
+        assertThat(entregues).containsExactly(teclado, mouse);
+        verify(repository, never()).percorrerResumosPorNomeEmOrdemDeId(anyString(), any());
+    }
+
+    private IndiceBuscaProdutos indiceCom(ProdutoResumo... resumos) {
+        IndiceBuscaProdutos indice = new IndiceBuscaProdutos(repository);
+        doAnswer(inv -> {
+            Arrays.stream(resumos).forEach(inv.<Consumer<ProdutoResumo>>getArgument(0));
+            return null;
+        }).when(repository).percorrerResumosEmOrdemDeId(any());
+        indice.reconstruir();
+        return indice;
+    }
+
+    private static ProdutoResumo resumo(Produto p) {
+        return new ProdutoResumo(p.getId(), p.getNome(), p.getDescricao(), p.getPreco(), p.getEstoque());
+    }
+
     @Test
     @DisplayName("buscarPorNome com nome em branco retorna todos")
     void buscarPorNome_vazio_retornaTodos() {
@@ -185,6 +459,46 @@ class ProdutoServiceTest {
         assertThat(salvo.getDescricao()).doesNotContain("<", ">", "\"", "'");
     }
 
+    @Test
+    @DisplayName("salvar valida o nome já sanitizado: '<b>' vira 'b' e fica curto demais")
+    void salvar_validaDepoisDeSanitizar() {
+        Produto p = novoProduto("<b>", "10.00", 1);
+
+        assertThatThrownBy(() -> service.salvar(p))
+                .isInstanceOf(ValidacaoException.class)
+                .hasMessage("O nome deve ter entre 2 e 100 caracteres.");
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Com ESCAPAR_HTML, texto que passa do limite depois de escapado é violação, não erro de banco")
+    void salvar_escapeAlemDoLimite() {
+        service = novoService(new IndiceBuscaProdutos(repository), new ProdutoSanitizador(ModoSanitizacao.ESCAPAR_HTML));
+        Produto p = novoProduto("A&&B " + "x".repeat(92), "10.00", 1);
+        p.setDescricao("<".repeat(200));
+
+        assertThatThrownBy(() -> service.salvar(p))
+                .isInstanceOf(ValidacaoException.class)
+                .extracting(e -> ((ValidacaoException) e).getViolacoes())
+                .asList()
+                .extracting("campo")
+                .containsExactly("nome", "descricao");
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("atualizar valida os dados novos já sanitizados")
+    void atualizar_validaDepoisDeSanitizar() {
+        Produto existente = novoProduto("Antigo", "10.00", 5);
+        existente.setId(1L);
+        when(repository.findById(1L)).thenReturn(Optional.of(existente));
+
+        assertThatThrownBy(() -> service.atualizar(1L, novoProduto(" '' ", "10.00", 1)))
+                .isInstanceOf(ValidacaoException.class)
+                .hasMessage("O nome é obrigatório.");
+        assertThat(existente.getNome()).isEqualTo("Antigo");
+    }
+
     @Test
     @DisplayName("salvar com estoque negativo lança NegocioException")
     void salvar_estoqueNegativo() {
@@ -194,6 +508,23 @@ class ProdutoServiceTest {
                 .hasMessageContaining("negativo");
     }
 
+    @Test
+    @DisplayName("salvar reporta todas as violações juntas, por campo e na ordem do formulário")
+    void salvar_todasAsViolacoes() {
+        Produto p = novoProduto("X", "1000000.00", 100_001);
+        p.setDescricao("d".repeat(501));
+
+        assertThatThrownBy(() -> service.salvar(p))
+                .isInstanceOf(ValidacaoException.class)
+                .hasMessage("O nome deve ter entre 2 e 100 caracteres. A descrição deve ter no máximo 500 caracteres."
+                        + " O preço não pode exceder 999.999,99. O estoque não pode exceder 100.000 unidades.")
+                .extracting(e -> ((ValidacaoException) e).getViolacoes())
+                .asList()
+                .extracting("campo")
+                .containsExactly("nome", "descricao", "preco", "estoque");
+        verify(repository, never()).save(any());
+    }
+
     // ── atualizar ─────────────────────────────────────────────────────────────
 
     @Test
@@ -271,6 +602,15 @@ class ProdutoServiceTest {
 
     // ── Helpers ───────────────────────────────────────────────────────────────
 
+    private ProdutoService novoService(IndiceBuscaProdutos indice) {
+        return novoService(indice, new ProdutoSanitizador());
+    }
+
+    private ProdutoService novoService(IndiceBuscaProdutos indice, ProdutoSanitizador sanitizador) {
+        return new ProdutoService(repository, new ProdutoValidador(), sanitizador, new ProdutoMutator(),
+                indice, new IndiceFaixasProdutos(repository), new CacheProdutos(100, Duration.ofMinutes(1)), auditoria);
+    }
+
     private static Produto novoProduto(String nome, String preco, int estoque) {
         return new Produto(nome, "Descrição", new BigDecimal(preco), estoque);
     }
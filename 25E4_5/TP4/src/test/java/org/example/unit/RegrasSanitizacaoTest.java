@@ -0,0 +1,53 @@
+package org.example.unit;
+
+import org.example.service.sanitization.RegrasSanitizacao;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("RegrasSanitizacao — motor de passada única")
+class RegrasSanitizacaoTest {
+
+    @ParameterizedTest(name = "[{index}] {0}")
+    @ValueSource(strings = {
+            "<script>alert('xss')</script>",
+            "'\"><script>alert(1)</script>",
+            "' OR '1'='1",
+            "  <b>negrito</b>  ",
+            "\t\n\r",
+            "Teclado Mecânico ABNT2",
+            "  espaços nas pontas  ",
+            "<> sobra espaço",
+            "中文测试"
+    })
+    @DisplayName("REMOVER_MARCACAO equivale ao antigo trim().replaceAll(\"[<>\\\"']\", \"\")")
+    void equivaleAoLegado(String entrada) {
+        String legado = entrada.trim().replaceAll("[<>\"']", "");
+        assertThat(RegrasSanitizacao.REMOVER_MARCACAO.aplicar(entrada)).isEqualTo(legado);
+    }
+
+    @Test
+    @DisplayName("Entrada limpa devolve a mesma instância, sem cópia")
+    void entradaLimpa_mesmaInstancia() {
+        String limpo = "Monitor 27 polegadas";
+        assertThat(RegrasSanitizacao.REMOVER_MARCACAO.aplicar(limpo)).isSameAs(limpo);
+    }
+
+    @Test
+    @DisplayName("ESCAPAR_HTML preserva o texto trocando por entidades")
+    void escaparHtml() {
+        assertThat(RegrasSanitizacao.ESCAPAR_HTML.aplicar(" <a href=\"x\">P&D</a> "))
+                .isEqualTo("&lt;a href=&quot;x&quot;&gt;P&amp;D&lt;/a&gt;");
+    }
+
+    @Test
+    @DisplayName("Regras aceitam apenas caracteres ASCII")
+    void apenasAscii() {
+        assertThatThrownBy(() -> RegrasSanitizacao.builder().remover('é'))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}